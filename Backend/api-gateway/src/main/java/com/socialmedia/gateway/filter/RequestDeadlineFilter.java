@@ -0,0 +1,88 @@
+package com.socialmedia.gateway.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Stamps every routed request with the deadline by which it must be answered.
+ *
+ * <p>The deadline is {@code gateway.request-timeout} from now, or the
+ * client's own {@value #DEADLINE_HEADER} if that is sooner. It is passed
+ * downstream in the same header as epoch milliseconds; services stop work
+ * on a request once its deadline has passed, and feed-service bounds its
+ * upstream fan-out by it. A request whose deadline has already passed is
+ * answered with 504 without being routed.</p>
+ */
+@Component
+public class RequestDeadlineFilter implements GlobalFilter, Ordered {
+
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+    private final Duration requestTimeout;
+
+    public RequestDeadlineFilter(@Value("${gateway.request-timeout:PT10S}") Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long now = System.currentTimeMillis();
+        long deadline = now + requestTimeout.toMillis();
+        String clientDeadline = exchange.getRequest().getHeaders().getFirst(DEADLINE_HEADER);
+        if (clientDeadline != null) {
+            try {
+                deadline = Math.min(deadline, Long.parseLong(clientDeadline.trim()));
+            } catch (NumberFormatException e) {
+                // A malformed client deadline is ignored; the gateway's own still applies
+            }
+        }
+        if (deadline <= now) {
+            return onExpired(exchange);
+        }
+
+        String stamped = String.valueOf(deadline);
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> headers.set(DEADLINE_HEADER, stamped))
+                .build();
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    /**
+     * Runs before the route filters, so requests that are already too late
+     * are turned away before authentication.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private Mono<Void> onExpired(ServerWebExchange exchange) {
+        HttpStatus status = HttpStatus.GATEWAY_TIMEOUT;
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+
+        String errorResponse = String.format(
+                "{\"timestamp\":\"%s\",\"status\":%d,\"error\":\"%s\",\"message\":\"%s\",\"path\":\"%s\"}",
+                Instant.now().toString(),
+                status.value(),
+                status.getReasonPhrase(),
+                "Request deadline has already passed",
+                exchange.getRequest().getPath()
+        );
+
+        return exchange.getResponse().writeWith(
+                Mono.just(exchange.getResponse().bufferFactory().wrap(errorResponse.getBytes()))
+        );
+    }
+}
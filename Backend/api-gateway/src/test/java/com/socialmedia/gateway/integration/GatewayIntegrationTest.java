@@ -217,6 +217,33 @@ class GatewayIntegrationTest {
                 "Missing Authorization header should result in 401 Unauthorized");
     }
 
+    /**
+     * Test that gateway answers requests whose deadline has already passed
+     * with 504, without routing them.
+     */
+    @Test
+    void testGatewayRejectsExpiredRequestDeadline() {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .build();
+
+        String token = generateValidToken("1", "test@example.com", List.of("USER"));
+        long deadline = Instant.now().minus(1, ChronoUnit.SECONDS).toEpochMilli();
+
+        Mono<org.springframework.web.reactive.function.client.ClientResponse> responseMono = webClient
+                .get()
+                .uri("/api/feed")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header("X-Request-Deadline", String.valueOf(deadline))
+                .exchange();
+
+        org.springframework.web.reactive.function.client.ClientResponse response = responseMono.block();
+        assertNotNull(response);
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.statusCode(),
+                "A request past its deadline should result in 504 Gateway Timeout");
+    }
+
     // ==================== Helper Methods ====================
 
     private String generateValidToken(String userId, String email, List<String> roles) {
@@ -0,0 +1,18 @@
+package com.socialmedia.comment.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EngagementEvent {
+
+    private Long postId;
+    private Long userId;
+    private long likeDelta;
+    private long commentDelta;
+}
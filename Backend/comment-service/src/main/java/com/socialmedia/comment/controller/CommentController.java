@@ -1,5 +1,7 @@
 package com.socialmedia.comment.controller;
 
+import com.socialmedia.comment.dto.BatchCommentCountRequest;
+import com.socialmedia.comment.dto.BatchCommentCountResponse;
 import com.socialmedia.comment.dto.CommentListResponse;
 import com.socialmedia.comment.dto.CommentResponse;
 import com.socialmedia.comment.dto.CreateCommentRequest;
@@ -74,6 +76,17 @@ public class CommentController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/batch/counts")
+    @Operation(summary = "Get comment counts for multiple posts", description = "Get comment counts for a batch of posts in one request")
+    @ApiResponse(responseCode = "200", description = "Comment counts retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid request data")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    public ResponseEntity<BatchCommentCountResponse> getBatchCommentCounts(
+            @Valid @RequestBody BatchCommentCountRequest request) {
+        BatchCommentCountResponse response = commentService.getBatchCommentCounts(request.getPostIds());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get comment by ID", description = "Get a specific comment by its ID")
     @ApiResponse(responseCode = "200", description = "Comment retrieved successfully")
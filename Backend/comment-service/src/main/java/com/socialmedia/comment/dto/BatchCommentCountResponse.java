@@ -0,0 +1,17 @@
+package com.socialmedia.comment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCommentCountResponse {
+
+    private Map<Long, Long> commentCounts;
+}
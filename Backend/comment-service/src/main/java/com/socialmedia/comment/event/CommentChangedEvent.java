@@ -0,0 +1,17 @@
+package com.socialmedia.comment.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by CommentService when a comment is created (+1) or deleted (-1).
+ * Delivered to listeners only after the surrounding transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class CommentChangedEvent {
+
+    private final Long postId;
+    private final Long userId;
+    private final long delta;
+}
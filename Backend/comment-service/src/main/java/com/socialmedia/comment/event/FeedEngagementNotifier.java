@@ -0,0 +1,39 @@
+package com.socialmedia.comment.event;
+
+import com.socialmedia.comment.client.EngagementEvent;
+import com.socialmedia.comment.client.FeedServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards committed comment changes to feed-service so cached feed pages
+ * showing the post are refreshed, and the acting user's interest in the
+ * post's author counts towards their ranked feed. Delivery is best-effort:
+ * cached pages expire on their own, so a missed event only delays the new
+ * count.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeedEngagementNotifier {
+
+    private final FeedServiceClient feedServiceClient;
+
+    @Async
+    @TransactionalEventListener
+    public void onCommentChanged(CommentChangedEvent event) {
+        try {
+            feedServiceClient.countsChanged(EngagementEvent.builder()
+                    .postId(event.getPostId())
+                    .userId(event.getUserId())
+                    .commentDelta(event.getDelta())
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to notify feed-service of comment change on post {}: {}",
+                    event.getPostId(), e.getMessage());
+        }
+    }
+}
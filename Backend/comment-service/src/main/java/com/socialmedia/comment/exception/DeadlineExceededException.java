@@ -0,0 +1,7 @@
+package com.socialmedia.comment.exception;
+
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
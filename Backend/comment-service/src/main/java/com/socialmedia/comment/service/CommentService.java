@@ -1,23 +1,28 @@
 package com.socialmedia.comment.service;
 
+import com.socialmedia.comment.dto.BatchCommentCountResponse;
 import com.socialmedia.comment.dto.CommentListResponse;
 import com.socialmedia.comment.dto.CommentResponse;
 import com.socialmedia.comment.dto.CreateCommentRequest;
 import com.socialmedia.comment.dto.UpdateCommentRequest;
 import com.socialmedia.comment.entity.Comment;
+import com.socialmedia.comment.event.CommentChangedEvent;
 import com.socialmedia.comment.exception.AuthorizationException;
 import com.socialmedia.comment.exception.BadRequestException;
 import com.socialmedia.comment.exception.ResourceNotFoundException;
 import com.socialmedia.comment.mapper.CommentMapper;
 import com.socialmedia.comment.repository.CommentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +31,7 @@ public class CommentService {
 
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CommentResponse createComment(CreateCommentRequest request, Long userId) {
@@ -46,6 +52,7 @@ public class CommentService {
                 .build();
 
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new CommentChangedEvent(savedComment.getPostId(), userId, 1));
         return commentMapper.toResponse(savedComment);
     }
 
@@ -75,6 +82,7 @@ public class CommentService {
         }
 
         commentRepository.delete(comment);
+        eventPublisher.publishEvent(new CommentChangedEvent(comment.getPostId(), userId, -1));
     }
 
     @Transactional(readOnly = true)
@@ -94,6 +102,26 @@ public class CommentService {
                 .build();
     }
 
+    /**
+     * Get comment counts for multiple posts with a single grouped query.
+     * Posts without comments are reported with a count of 0.
+     */
+    @Transactional(readOnly = true)
+    public BatchCommentCountResponse getBatchCommentCounts(List<Long> postIds) {
+        Map<Long, Long> commentCounts = new HashMap<>();
+        for (Long postId : postIds) {
+            commentCounts.put(postId, 0L);
+        }
+
+        for (Object[] result : commentRepository.countByPostIds(postIds)) {
+            commentCounts.put((Long) result[0], (Long) result[1]);
+        }
+
+        return BatchCommentCountResponse.builder()
+                .commentCounts(commentCounts)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public CommentResponse getCommentById(Long commentId) {
         Comment comment = commentRepository.findById(commentId)
@@ -1,5 +1,6 @@
 package com.socialmedia.comment.integration;
 
+import com.socialmedia.comment.dto.BatchCommentCountResponse;
 import com.socialmedia.comment.dto.CommentListResponse;
 import com.socialmedia.comment.dto.CommentResponse;
 import com.socialmedia.comment.dto.CreateCommentRequest;
@@ -18,6 +19,8 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 @SpringBootTest
@@ -205,6 +208,32 @@ class CommentServiceIntegrationTest {
         assertThat(response.getTotalElements()).isEqualTo(0);
     }
 
+    @Test
+    void shouldGetBatchCommentCounts() {
+        // Given
+        Long userId = 1L;
+        for (int i = 1; i <= 3; i++) {
+            commentService.createComment(CreateCommentRequest.builder()
+                    .postId(100L)
+                    .content("Comment " + i)
+                    .build(), userId);
+        }
+        commentService.createComment(CreateCommentRequest.builder()
+                .postId(200L)
+                .content("Only comment")
+                .build(), userId);
+
+        // When
+        BatchCommentCountResponse response = commentService.getBatchCommentCounts(List.of(100L, 200L, 300L));
+
+        // Then
+        assertThat(response.getCommentCounts())
+                .containsEntry(100L, 3L)
+                .containsEntry(200L, 1L)
+                .containsEntry(300L, 0L)
+                .hasSize(3);
+    }
+
     @Test
     void shouldGetCommentById() {
         // Given
@@ -0,0 +1,71 @@
+package com.socialmedia.feed.benchmark;
+
+import com.socialmedia.feed.dto.FeedResponse;
+import com.socialmedia.feed.service.FeedService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds feed pages through {@link FeedService} against
+ * {@link SyntheticUpstreams}, with the timeline and page cache off.
+ *
+ * <ul>
+ *   <li>{@link #firstPage()}: the pull path, which reads every followed
+ *       account's posts, merges, sorts and paginates them, then enriches
+ *       the page</li>
+ *   <li>{@link #nextPage()}: the cursor path, which reads one pre-merged
+ *       page, so its cost is mostly enrichment</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedAssemblyBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int followees;
+
+    @Param({"10", "50"})
+    private int postsPerAuthor;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private FeedService feedService;
+    private String nextCursor;
+
+    @Setup
+    public void setUp() {
+        feedService = new SyntheticUpstreams(followees, postsPerAuthor).feedService();
+        nextCursor = feedService.generateFeed(SyntheticUpstreams.VIEWER_ID, 0, pageSize, SyntheticUpstreams.TOKEN)
+                .getNextCursor();
+        if (nextCursor == null) {
+            throw new IllegalStateException("Synthetic feed has a single page");
+        }
+    }
+
+    @Benchmark
+    public FeedResponse firstPage() {
+        return feedService.generateFeed(SyntheticUpstreams.VIEWER_ID, 0, pageSize, SyntheticUpstreams.TOKEN);
+    }
+
+    @Benchmark
+    public FeedResponse nextPage() {
+        return feedService.generateFeedAfter(SyntheticUpstreams.VIEWER_ID, nextCursor, pageSize,
+                SyntheticUpstreams.TOKEN);
+    }
+}
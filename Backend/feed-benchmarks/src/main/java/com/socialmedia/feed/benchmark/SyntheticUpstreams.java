@@ -0,0 +1,221 @@
+package com.socialmedia.feed.benchmark;
+
+import com.socialmedia.feed.cache.FeedPageCache;
+import com.socialmedia.feed.client.CommentServiceClient;
+import com.socialmedia.feed.client.FollowServiceClient;
+import com.socialmedia.feed.client.LikeServiceClient;
+import com.socialmedia.feed.client.PostServiceClient;
+import com.socialmedia.feed.client.UserServiceClient;
+import com.socialmedia.feed.dto.PostCursorResponse;
+import com.socialmedia.feed.dto.PostListResponse;
+import com.socialmedia.feed.dto.PostResponse;
+import com.socialmedia.feed.dto.UserProfileResponse;
+import com.socialmedia.feed.metrics.FeedMetrics;
+import com.socialmedia.feed.ranking.AuthorAffinity;
+import com.socialmedia.feed.ranking.RankedFeedStore;
+import com.socialmedia.feed.ranking.WeightedFeedScorer;
+import com.socialmedia.feed.service.FeedService;
+import com.socialmedia.feed.service.RankingService;
+import com.socialmedia.feed.service.TimelineService;
+import com.socialmedia.feed.timeline.FanoutPolicy;
+import com.socialmedia.feed.timeline.TimelineStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.ReflectionUtils;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * In-process stand-ins for the upstream services of feed-service, serving
+ * a synthetic follow graph from memory so that benchmarks measure feed
+ * assembly rather than HTTP and JSON.
+ *
+ * <p>The viewer follows {@code followees} authors with
+ * {@code postsPerAuthor} posts each, spread over the week before a fixed
+ * instant. Data comes from a fixed seed, so every run sees the same
+ * feed. Engagement counts and liked flags are derived from the post ID, the
+ * way a batch endpoint would return them.</p>
+ */
+final class SyntheticUpstreams {
+
+    static final Long VIEWER_ID = 1L;
+    static final String TOKEN = "benchmark";
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final Comparator<PostResponse> NEWEST_FIRST = Comparator
+            .comparing(PostResponse::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(PostResponse::getId, Comparator.reverseOrder());
+
+    private final List<Long> followeeIds = new ArrayList<>();
+    private final Map<Long, List<PostResponse>> postsByAuthor = new HashMap<>();
+    private final Map<Long, UserProfileResponse> profiles = new HashMap<>();
+    private final List<PostResponse> allPostsNewestFirst = new ArrayList<>();
+
+    SyntheticUpstreams(int followees, int postsPerAuthor) {
+        Random random = new Random(42);
+        long postId = 1;
+        for (int i = 0; i < followees; i++) {
+            Long authorId = 1_000L + i;
+            followeeIds.add(authorId);
+            profiles.put(authorId, UserProfileResponse.builder()
+                    .id(authorId)
+                    .userId(authorId)
+                    .name("Author " + authorId)
+                    .avatarUrl("https://cdn.example.com/avatars/" + authorId + ".png")
+                    .build());
+            List<PostResponse> posts = new ArrayList<>(postsPerAuthor);
+            for (int j = 0; j < postsPerAuthor; j++) {
+                LocalDateTime createdAt = NOW.minusSeconds(random.nextInt((int) Duration.ofDays(7).toSeconds()));
+                posts.add(PostResponse.builder()
+                        .id(postId++)
+                        .userId(authorId)
+                        .content("Post " + postId + " by author " + authorId)
+                        .createdAt(createdAt)
+                        .updatedAt(createdAt)
+                        .build());
+            }
+            posts.sort(NEWEST_FIRST);
+            postsByAuthor.put(authorId, List.copyOf(posts));
+            allPostsNewestFirst.addAll(posts);
+        }
+        allPostsNewestFirst.sort(NEWEST_FIRST);
+    }
+
+    /**
+     * A feed service wired to these upstreams, with the precomputed
+     * timeline and the page cache turned off so every call assembles its
+     * page from upstream data.
+     */
+    FeedService feedService() {
+        FollowServiceClient followClient = followServiceClient();
+        PostServiceClient postClient = postServiceClient();
+        LikeServiceClient likeClient = likeServiceClient();
+        CommentServiceClient commentClient = commentServiceClient();
+        FeedPageCache pageCache = new FeedPageCache(1000, 4, Duration.ofSeconds(30), 10, new SimpleMeterRegistry());
+        TimelineService timelineService = new TimelineService(new TimelineStore(500, 1000, Duration.ofHours(1)),
+                new FanoutPolicy(followClient, 10_000, Duration.ofMinutes(10)), followClient, postClient, pageCache);
+        RankingService rankingService = new RankingService(
+                new RankedFeedStore(1000, Duration.ofMinutes(1), Duration.ofMinutes(30)),
+                new AuthorAffinity(1000, 100, 10_000),
+                new WeightedFeedScorer(1.0, 2.0, 1.5, Duration.ofHours(12)),
+                followClient, postClient, likeClient, commentClient);
+        FeedService feedService = new FeedService(followClient, postClient, likeClient, commentClient,
+                userServiceClient(), timelineService, pageCache, rankingService,
+                new FeedMetrics(new SimpleMeterRegistry()));
+        setField(feedService, "timelineEnabled", false);
+        setField(feedService, "cacheEnabled", false);
+        return feedService;
+    }
+
+    FollowServiceClient followServiceClient() {
+        return new FollowServiceClient(null, null) {
+            @Override
+            public Mono<List<Long>> getFollowingIds(Long userId, String token) {
+                return Mono.just(followeeIds);
+            }
+        };
+    }
+
+    PostServiceClient postServiceClient() {
+        return new PostServiceClient(null, null, null) {
+            @Override
+            public Mono<PostListResponse> getPostsByUser(Long userId, int page, int size, String token) {
+                List<PostResponse> posts = postsByAuthor.getOrDefault(userId, List.of());
+                int from = Math.min(posts.size(), page * size);
+                int to = Math.min(posts.size(), from + size);
+                return Mono.just(PostListResponse.builder()
+                        .posts(posts.subList(from, to))
+                        .page(page)
+                        .size(size)
+                        .totalElements(posts.size())
+                        .totalPages((posts.size() + size - 1) / size)
+                        .build());
+            }
+
+            @Override
+            public Mono<PostCursorResponse> getRecentPostsByAuthors(List<Long> authorIds, int size,
+                                                                    LocalDateTime beforeCreatedAt, Long beforeId,
+                                                                    String token) {
+                // The viewer follows every author, so filtering on authorIds is a no-op
+                int from = 0;
+                if (beforeCreatedAt != null) {
+                    PostResponse cursor = PostResponse.builder().id(beforeId).createdAt(beforeCreatedAt).build();
+                    while (from < allPostsNewestFirst.size()
+                            && NEWEST_FIRST.compare(allPostsNewestFirst.get(from), cursor) <= 0) {
+                        from++;
+                    }
+                }
+                int to = Math.min(allPostsNewestFirst.size(), from + size);
+                List<PostResponse> posts = allPostsNewestFirst.subList(from, to);
+                PostResponse last = posts.isEmpty() ? null : posts.get(posts.size() - 1);
+                return Mono.just(PostCursorResponse.builder()
+                        .posts(posts)
+                        .nextCreatedAt(last != null ? last.getCreatedAt() : null)
+                        .nextId(last != null ? last.getId() : null)
+                        .hasMore(to < allPostsNewestFirst.size())
+                        .build());
+            }
+        };
+    }
+
+    LikeServiceClient likeServiceClient() {
+        return new LikeServiceClient(null, null) {
+            @Override
+            public Mono<Map<Long, Long>> getBatchLikeCounts(List<Long> postIds, String token) {
+                Map<Long, Long> counts = new HashMap<>();
+                postIds.forEach(id -> counts.put(id, id % 97));
+                return Mono.just(counts);
+            }
+
+            @Override
+            public Mono<Set<Long>> getLikedPostIds(Long userId, List<Long> postIds, String token) {
+                Set<Long> liked = new HashSet<>();
+                postIds.stream().filter(id -> id % 7 == 0).forEach(liked::add);
+                return Mono.just(liked);
+            }
+        };
+    }
+
+    CommentServiceClient commentServiceClient() {
+        return new CommentServiceClient(null, null) {
+            @Override
+            public Mono<Map<Long, Long>> getBatchCommentCounts(List<Long> postIds, String token) {
+                Map<Long, Long> counts = new HashMap<>();
+                postIds.forEach(id -> counts.put(id, id % 13));
+                return Mono.just(counts);
+            }
+        };
+    }
+
+    UserServiceClient userServiceClient() {
+        return new UserServiceClient(null, null, null) {
+            @Override
+            public Mono<Map<Long, UserProfileResponse>> getUserProfiles(List<Long> userIds, String token) {
+                Map<Long, UserProfileResponse> result = new HashMap<>();
+                userIds.forEach(id -> {
+                    UserProfileResponse profile = profiles.get(id);
+                    if (profile != null) {
+                        result.put(id, profile);
+                    }
+                });
+                return Mono.just(result);
+            }
+        };
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,72 @@
+package com.socialmedia.feed.benchmark;
+
+import com.socialmedia.feed.timeline.TimelineEntry;
+import com.socialmedia.feed.timeline.TimelineMerger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges per-author timelines into one page with {@link TimelineMerger},
+ * as timeline reads do for authors above the fan-out threshold, without
+ * any upstream calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimelineMergeBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int followees;
+
+    @Param({"10", "50"})
+    private int postsPerAuthor;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    /** Pages skipped before the merged page, to show the cost of deep offsets. */
+    @Param({"0", "5"})
+    private int pagesSkipped;
+
+    private List<List<TimelineEntry>> sources;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        long postId = 1;
+        sources = new ArrayList<>(followees);
+        for (int i = 0; i < followees; i++) {
+            Long authorId = 1_000L + i;
+            List<TimelineEntry> entries = new ArrayList<>(postsPerAuthor);
+            for (int j = 0; j < postsPerAuthor; j++) {
+                entries.add(new TimelineEntry(postId++, authorId, now.minusSeconds(random.nextInt(7 * 24 * 3600))));
+            }
+            entries.sort(TimelineEntry.NEWEST_FIRST);
+            sources.add(List.copyOf(entries));
+        }
+    }
+
+    @Benchmark
+    public List<TimelineEntry> merge() {
+        return TimelineMerger.merge(sources, TimelineEntry.NEWEST_FIRST, pagesSkipped * pageSize, pageSize);
+    }
+}
@@ -0,0 +1,46 @@
+package com.socialmedia.feed.loadtest;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Response delays and failures injected by one stub service.
+ *
+ * <p>Delays are log-normal, the usual shape of service latency: most
+ * responses take about {@code median} and one in a hundred takes
+ * {@code p99} or longer. A fraction {@code errorRate} of requests fails
+ * with {@code 503 Service Unavailable} after its delay.</p>
+ */
+record LatencyModel(Duration median, Duration p99, double errorRate) {
+
+    /** Standard normal quantile at 0.99. */
+    private static final double Z_99 = 2.3263;
+
+    LatencyModel {
+        if (p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("p99 latency " + p99 + " is below median " + median);
+        }
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("error rate must be between 0 and 1: " + errorRate);
+        }
+    }
+
+    long nextDelayNanos() {
+        if (median.isZero()) {
+            return 0;
+        }
+        double sigma = Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+        return (long) (median.toNanos() * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    boolean nextFails() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "median %.1f ms, p99 %.1f ms, %.1f%% errors",
+                median.toNanos() / 1e6, p99.toNanos() / 1e6, errorRate * 100);
+    }
+}
@@ -0,0 +1,108 @@
+package com.socialmedia.feed.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends {@code GET /api/feed} requests for random users to feed-service.
+ *
+ * <ul>
+ *   <li>Closed loop: {@code concurrency} clients each send a request as
+ *       soon as their previous one completes, so load falls when the
+ *       service slows down. Measures capacity.</li>
+ *   <li>Open loop: requests start at a fixed rate however long earlier
+ *       ones take, as independent users would. Measures latency at a given
+ *       load.</li>
+ * </ul>
+ *
+ * Every request runs on its own virtual thread.
+ */
+final class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final URI feedUri;
+    private final int users;
+
+    LoadGenerator(URI baseUri, int users, int pageSize, String feedMode) {
+        this.feedUri = baseUri.resolve("/api/feed?page=0&size=" + pageSize + "&mode=" + feedMode);
+        this.users = users;
+    }
+
+    LoadReport closedLoop(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        long begin = System.nanoTime();
+        long measureFrom = begin + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        LoadReport report = new LoadReport(measureFrom, end);
+        List<Thread> clients = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            clients.add(Thread.ofVirtual().start(() -> {
+                for (long start = System.nanoTime(); start < end; start = System.nanoTime()) {
+                    send(start, report);
+                }
+            }));
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        return report;
+    }
+
+    LoadReport openLoop(double rate, Duration warmup, Duration duration) {
+        long begin = System.nanoTime();
+        long measureFrom = begin + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        LoadReport report = new LoadReport(measureFrom, end);
+        double interval = 1e9 / rate;
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = begin + (long) (i * interval);
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                requests.execute(() -> send(scheduled, report));
+            }
+        }
+        return report;
+    }
+
+    private void send(long start, LoadReport report) {
+        HttpRequest request = HttpRequest.newBuilder(feedUri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("X-User-Id", String.valueOf(ThreadLocalRandom.current().nextInt(users) + 1))
+                .header("Authorization", "Bearer load-test")
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long end = System.nanoTime();
+            if (response.statusCode() / 100 == 2) {
+                report.recordSuccess(start, end, !response.body().contains("\"unavailable\":[]"));
+            } else {
+                report.recordStatus(start, end);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            report.recordFailure(start, System.nanoTime());
+        }
+    }
+}
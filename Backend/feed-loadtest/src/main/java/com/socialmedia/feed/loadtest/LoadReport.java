@@ -0,0 +1,115 @@
+package com.socialmedia.feed.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes and latencies of the feed requests started in the measurement
+ * window; requests started during warm-up are not counted.
+ *
+ * <p>Latency is measured from when a request was meant to start. In a
+ * closed loop that is when it was sent; in an open loop it is its
+ * scheduled time, so time spent queued behind a slow server counts
+ * towards latency instead of being hidden (coordinated omission).</p>
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /** Microsecond latencies up to one minute, to three significant digits. */
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder complete = new LongAdder();
+    private final LongAdder degraded = new LongAdder();
+    private final LongAdder otherStatus = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final long measureFromNanos;
+    private final long measureUntilNanos;
+
+    LoadReport(long measureFromNanos, long measureUntilNanos) {
+        this.measureFromNanos = measureFromNanos;
+        this.measureUntilNanos = measureUntilNanos;
+    }
+
+    boolean measures(long startNanos) {
+        return startNanos >= measureFromNanos && startNanos < measureUntilNanos;
+    }
+
+    /**
+     * Records a 2xx response; {@code degraded} if some enrichment was
+     * unavailable (a non-empty {@code unavailable} list).
+     */
+    void recordSuccess(long startNanos, long endNanos, boolean degraded) {
+        if (measures(startNanos)) {
+            record(startNanos, endNanos);
+            (degraded ? this.degraded : complete).increment();
+        }
+    }
+
+    void recordStatus(long startNanos, long endNanos) {
+        if (measures(startNanos)) {
+            record(startNanos, endNanos);
+            otherStatus.increment();
+        }
+    }
+
+    void recordFailure(long startNanos, long endNanos) {
+        if (measures(startNanos)) {
+            record(startNanos, endNanos);
+            failed.increment();
+        }
+    }
+
+    private void record(long startNanos, long endNanos) {
+        latencies.recordValue(Math.min(latencies.getHighestTrackableValue(),
+                TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos)));
+    }
+
+    void print(PrintStream out, String load, List<StubService> stubs) {
+        long total = total();
+        out.println();
+        out.println("Feed load test: " + load);
+        out.printf(Locale.ROOT, "Requests     %d (complete %d, degraded %d, non-2xx %d, failed %d)%n",
+                total, complete.sum(), degraded.sum(), otherStatus.sum(), failed.sum());
+        out.printf(Locale.ROOT, "Throughput   %.1f req/s%n", throughput());
+        StringBuilder percentiles = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            percentiles.append(String.format(Locale.ROOT, "p%s %.2f  ",
+                    percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile),
+                    latencies.getValueAtPercentile(percentile) / 1000.0));
+        }
+        out.printf(Locale.ROOT, "Latency ms   %smax %.2f%n", percentiles, latencies.getMaxValue() / 1000.0);
+        out.println("Stub upstreams (requests include warm-up)");
+        for (StubService stub : stubs) {
+            out.printf(Locale.ROOT, "  %-16s %8d requests, %6d failed  (%s)%n",
+                    stub.name(), stub.requests(), stub.failures(), stub.latency());
+        }
+    }
+
+    /** One line with throughput and the main percentiles, to compare runs. */
+    String summary(String label) {
+        return String.format(Locale.ROOT, "%-10s %8.1f req/s  p50 %.2f  p99 %.2f  p99.9 %.2f  max %.2f ms"
+                        + "  (degraded %d, non-2xx %d, failed %d)",
+                label, throughput(), latencies.getValueAtPercentile(50) / 1000.0,
+                latencies.getValueAtPercentile(99) / 1000.0, latencies.getValueAtPercentile(99.9) / 1000.0,
+                latencies.getMaxValue() / 1000.0, degraded.sum(), otherStatus.sum(), failed.sum());
+    }
+
+    private long total() {
+        return complete.sum() + degraded.sum() + otherStatus.sum() + failed.sum();
+    }
+
+    private double throughput() {
+        return total() / ((measureUntilNanos - measureFromNanos) / 1e9);
+    }
+
+    static String describe(Duration duration) {
+        return duration.toMillis() % 1000 == 0 ? duration.toSeconds() + "s" : duration.toMillis() + "ms";
+    }
+}
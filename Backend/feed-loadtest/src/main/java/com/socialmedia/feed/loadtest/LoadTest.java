@@ -0,0 +1,98 @@
+package com.socialmedia.feed.loadtest;
+
+import com.socialmedia.feed.FeedServiceApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test of feed-service on one machine: starts stubs of its upstream
+ * services, starts feed-service in-process against them, applies load and
+ * prints throughput and latency percentiles. With {@code --threads=compare}
+ * it runs twice, with feed-service handling requests on platform and then
+ * virtual threads. Run with {@code --help} for the options.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            if (args.length == 1 && args[0].equals("--help")) {
+                System.out.println(LoadTestOptions.USAGE);
+                return;
+            }
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        SyntheticGraph graph = new SyntheticGraph(options.users(), options.followees(), options.postsPerAuthor());
+        String load = options.openLoop()
+                ? String.format(Locale.ROOT, "open loop at %.0f req/s", options.rate())
+                : "closed loop with " + options.concurrency() + " clients";
+        load += String.format(Locale.ROOT, " for %s after %s warm-up; %d users following %d accounts "
+                        + "of %d posts each, %s pages of %d",
+                LoadReport.describe(options.duration()), LoadReport.describe(options.warmup()),
+                options.users(), options.followees(), options.postsPerAuthor(), options.feedMode(),
+                options.pageSize());
+        Map<String, LoadReport> reports = new LinkedHashMap<>();
+        for (String threads : options.threadModes()) {
+            reports.put(threads, run(graph, options, threads, load + ", " + threads + " threads"));
+        }
+        if (reports.size() > 1) {
+            System.out.println();
+            System.out.println("Request threads compared");
+            reports.forEach((threads, report) -> System.out.println("  " + report.summary(threads)));
+        }
+    }
+
+    /** Runs the load test against a fresh feed-service and stubs, handling requests on the given threads. */
+    private static LoadReport run(SyntheticGraph graph, LoadTestOptions options, String threads, String load)
+            throws Exception {
+        try (StubUpstreams stubs = StubUpstreams.start(graph, options.latencies());
+             ConfigurableApplicationContext feedService = new SpringApplicationBuilder(FeedServiceApplication.class)
+                     .bannerMode(Banner.Mode.OFF)
+                     .run(feedServiceArgs(stubs, options, threads))) {
+            int port = ((WebServerApplicationContext) feedService).getWebServer().getPort();
+            LoadGenerator generator = new LoadGenerator(URI.create("http://127.0.0.1:" + port), options.users(),
+                    options.pageSize(), options.feedMode());
+            stubs.services().forEach(stub -> System.out.println("Stub " + stub.name() + " at " + stub.url()));
+            System.out.println("Running " + load);
+            LoadReport report = options.openLoop()
+                    ? generator.openLoop(options.rate(), options.warmup(), options.duration())
+                    : generator.closedLoop(options.concurrency(), options.warmup(), options.duration());
+            report.print(System.out, load, stubs.services());
+            return report;
+        }
+    }
+
+    /**
+     * Feed-service settings, as command-line arguments so that they take
+     * precedence over its application.yml.
+     */
+    private static String[] feedServiceArgs(StubUpstreams stubs, LoadTestOptions options, String threads) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.threads.virtual.enabled", threads.equals("virtual"));
+        // Per-request DEBUG logging would dominate the measurements
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.socialmedia.feed", "WARN");
+        properties.putAll(stubs.serviceUrls());
+        properties.putAll(options.feedServiceProperties());
+        return properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,185 @@
+package com.socialmedia.feed.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options of the load test, given as {@code --name=value}.
+ * Options starting with {@code feed.}, {@code server.}, {@code spring.} or
+ * {@code logging.} are passed on to the in-process feed-service, e.g.
+ * {@code --feed.cache.enabled=false}.
+ */
+final class LoadTestOptions {
+
+    static final String USAGE = """
+            Usage: java -jar loadtest.jar [--name=value ...]
+
+            Load
+              --load=closed|open          closed: fixed number of concurrent clients; open: fixed arrival rate (closed)
+              --concurrency=N             concurrent clients of a closed-loop test (32)
+              --rate=N                    requests per second of an open-loop test (200)
+              --warmup=DURATION           load applied before measuring, e.g. 10s (10s)
+              --duration=DURATION         measured load, e.g. 30s or 2m (30s)
+              --page-size=N               posts per feed page (20)
+              --feed-mode=latest|ranked   feed ordering requested (latest)
+              --threads=platform|virtual|compare
+                                          feed-service request threads; compare runs the test once with each (platform)
+
+            Synthetic data
+              --users=N                   users requesting feeds (10000)
+              --followees=N               accounts each user follows (100)
+              --posts-per-author=N        posts of each account (20)
+
+            Stub services: all, or one of follow, post, like, comment, user
+              --latency.median=DURATION   --<service>.latency.median=DURATION (2ms)
+              --latency.p99=DURATION      --<service>.latency.p99=DURATION (20ms)
+              --error-rate=FRACTION       --<service>.error-rate=FRACTION (0)
+
+            Feed service
+              --feed.*, --server.*, --spring.*, --logging.*   Spring properties, e.g. --feed.cache.enabled=false
+            """;
+
+    private static final List<String> PASSED_ON = List.of("feed.", "server.", "spring.", "logging.");
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+    private final Map<String, Object> feedServiceProperties = new LinkedHashMap<>();
+
+    private LoadTestOptions() {
+    }
+
+    static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            if (PASSED_ON.stream().anyMatch(name::startsWith)) {
+                options.feedServiceProperties.put(name, value);
+            } else if (options.isKnown(name)) {
+                options.values.put(name, value);
+            } else {
+                throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        options.validate();
+        return options;
+    }
+
+    boolean openLoop() {
+        return "open".equals(values.getOrDefault("load", "closed"));
+    }
+
+    int concurrency() {
+        return intValue("concurrency", 32);
+    }
+
+    double rate() {
+        return Double.parseDouble(values.getOrDefault("rate", "200"));
+    }
+
+    Duration warmup() {
+        return duration("warmup", "10s");
+    }
+
+    Duration duration() {
+        return duration("duration", "30s");
+    }
+
+    int pageSize() {
+        return intValue("page-size", 20);
+    }
+
+    String feedMode() {
+        return values.getOrDefault("feed-mode", "latest");
+    }
+
+    /** Request-thread modes to run the test with, in order: platform, virtual or both. */
+    List<String> threadModes() {
+        String threads = values.getOrDefault("threads", "platform");
+        return threads.equals("compare") ? List.of("platform", "virtual") : List.of(threads);
+    }
+
+    int users() {
+        return intValue("users", 10_000);
+    }
+
+    int followees() {
+        return intValue("followees", 100);
+    }
+
+    int postsPerAuthor() {
+        return intValue("posts-per-author", 20);
+    }
+
+    /** Latency model of each stub service, by service name. */
+    Map<String, LatencyModel> latencies() {
+        Map<String, LatencyModel> latencies = new LinkedHashMap<>();
+        for (String service : StubUpstreams.SERVICE_NAMES) {
+            String prefix = service.substring(0, service.indexOf('-')) + ".";
+            latencies.put(service, new LatencyModel(
+                    duration(prefix + "latency.median", duration("latency.median", "2ms")),
+                    duration(prefix + "latency.p99", duration("latency.p99", "20ms")),
+                    Double.parseDouble(values.getOrDefault(prefix + "error-rate",
+                            values.getOrDefault("error-rate", "0")))));
+        }
+        return latencies;
+    }
+
+    Map<String, Object> feedServiceProperties() {
+        return feedServiceProperties;
+    }
+
+    private boolean isKnown(String name) {
+        String option = name;
+        for (String service : StubUpstreams.SERVICE_NAMES) {
+            String prefix = service.substring(0, service.indexOf('-')) + ".";
+            if (name.startsWith(prefix)) {
+                option = name.substring(prefix.length());
+            }
+        }
+        return List.of("load", "concurrency", "rate", "warmup", "duration", "page-size", "feed-mode", "threads",
+                "users", "followees", "posts-per-author", "latency.median", "latency.p99", "error-rate")
+                .contains(option);
+    }
+
+    private void validate() {
+        if (!List.of("closed", "open").contains(values.getOrDefault("load", "closed"))) {
+            throw new IllegalArgumentException("--load must be closed or open");
+        }
+        if (!List.of("latest", "ranked").contains(feedMode())) {
+            throw new IllegalArgumentException("--feed-mode must be latest or ranked");
+        }
+        if (!List.of("platform", "virtual", "compare").contains(values.getOrDefault("threads", "platform"))) {
+            throw new IllegalArgumentException("--threads must be platform, virtual or compare");
+        }
+        if (concurrency() < 1 || rate() <= 0 || pageSize() < 1 || postsPerAuthor() < 1 || followees() < 1) {
+            throw new IllegalArgumentException("--concurrency, --rate, --page-size, --followees and "
+                    + "--posts-per-author must be positive");
+        }
+        if (followees() >= users()) {
+            throw new IllegalArgumentException("--followees must be less than --users");
+        }
+        latencies();
+    }
+
+    private int intValue(String name, int defaultValue) {
+        String value = values.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    private Duration duration(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(values.getOrDefault(name, defaultValue));
+    }
+
+    private Duration duration(String name, Duration defaultValue) {
+        String value = values.get(name);
+        return value != null ? DurationStyle.detectAndParse(value) : defaultValue;
+    }
+}
@@ -0,0 +1,162 @@
+package com.socialmedia.feed.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One stub upstream service: a JDK HTTP server on a loopback port that
+ * answers a fixed set of routes with JSON, after a delay and with failures
+ * drawn from its {@link LatencyModel}. Each request runs on its own virtual
+ * thread, so slow responses do not hold up others.
+ */
+final class StubService implements AutoCloseable {
+
+    /** Answers one route, given its path match, query parameters and JSON body (null for GET). */
+    @FunctionalInterface
+    interface Handler {
+        Object handle(Matcher path, Map<String, String> query, JsonNode body);
+    }
+
+    private record Route(String method, Pattern path, Handler handler) {
+    }
+
+    static {
+        // Without TCP_NODELAY, small POST responses wait out delayed ACKs (about 40 ms)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final String name;
+    private final LatencyModel latency;
+    private final ObjectMapper objectMapper;
+    private final List<Route> routes = new ArrayList<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private ExecutorService executor;
+    private HttpServer server;
+
+    StubService(String name, LatencyModel latency, ObjectMapper objectMapper) {
+        this.name = name;
+        this.latency = latency;
+        this.objectMapper = objectMapper;
+    }
+
+    StubService get(String path, Handler handler) {
+        return route("GET", path, handler);
+    }
+
+    StubService post(String path, Handler handler) {
+        return route("POST", path, handler);
+    }
+
+    /** Adds a route; {@code path} is a regular expression whose groups the handler reads. */
+    private StubService route(String method, String path, Handler handler) {
+        routes.add(new Route(method, Pattern.compile(path), handler));
+        return this;
+    }
+
+    StubService start() throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+        server.setExecutor(executor);
+        server.createContext("/", this::serve);
+        server.start();
+        return this;
+    }
+
+    String name() {
+        return name;
+    }
+
+    LatencyModel latency() {
+        return latency;
+    }
+
+    String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.increment();
+            byte[] requestBody;
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBody = in.readAllBytes();
+            }
+            TimeUnit.NANOSECONDS.sleep(latency.nextDelayNanos());
+            if (latency.nextFails()) {
+                failures.increment();
+                respond(exchange, 503, Map.of("error", name + " failure injected by the load test"));
+                return;
+            }
+            URI uri = exchange.getRequestURI();
+            for (Route route : routes) {
+                Matcher path = route.path().matcher(uri.getPath());
+                if (route.method().equals(exchange.getRequestMethod()) && path.matches()) {
+                    JsonNode body = requestBody.length > 0 ? objectMapper.readTree(requestBody) : null;
+                    respond(exchange, 200, route.handler().handle(path, query(uri), body));
+                    return;
+                }
+            }
+            respond(exchange, 404, Map.of("error", "No stub route for " + exchange.getRequestMethod() + " " + uri));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        if (uri.getRawQuery() != null) {
+            for (String pair : uri.getRawQuery().split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    query.put(pair.substring(0, eq), pair.substring(eq + 1));
+                }
+            }
+        }
+        return query;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.socialmedia.feed.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.socialmedia.feed.client.CommentServiceClient.BatchCommentCountResponse;
+import com.socialmedia.feed.client.FollowServiceClient.FollowStatsResponse;
+import com.socialmedia.feed.client.FollowServiceClient.FollowerListResponse;
+import com.socialmedia.feed.client.FollowServiceClient.FollowingListResponse;
+import com.socialmedia.feed.client.LikeServiceClient.BatchLikeCheckResponse;
+import com.socialmedia.feed.dto.PostCursorResponse;
+import com.socialmedia.feed.dto.PostListResponse;
+import com.socialmedia.feed.dto.PostResponse;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stubs of the five services feed-service reads from, serving the
+ * {@link SyntheticGraph} with the same JSON the real services return. Like
+ * and comment counts and liked flags are derived from the post ID.
+ */
+final class StubUpstreams implements AutoCloseable {
+
+    static final List<String> SERVICE_NAMES =
+            List.of("follow-service", "post-service", "like-service", "comment-service", "user-service");
+
+    private final List<StubService> services = new ArrayList<>();
+
+    private StubUpstreams() {
+    }
+
+    /** Starts one stub per service, with the latency model configured for it. */
+    static StubUpstreams start(SyntheticGraph graph, Map<String, LatencyModel> latencies) throws IOException {
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        StubUpstreams stubs = new StubUpstreams();
+        try {
+            stubs.services.add(followService(graph, new StubService("follow-service",
+                    latencies.get("follow-service"), objectMapper)).start());
+            stubs.services.add(postService(graph, new StubService("post-service",
+                    latencies.get("post-service"), objectMapper)).start());
+            stubs.services.add(likeService(new StubService("like-service",
+                    latencies.get("like-service"), objectMapper)).start());
+            stubs.services.add(commentService(new StubService("comment-service",
+                    latencies.get("comment-service"), objectMapper)).start());
+            stubs.services.add(userService(graph, new StubService("user-service",
+                    latencies.get("user-service"), objectMapper)).start());
+        } catch (IOException | RuntimeException e) {
+            stubs.close();
+            throw e;
+        }
+        return stubs;
+    }
+
+    /** Properties pointing feed-service at the stubs. */
+    Map<String, Object> serviceUrls() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        services.forEach(service -> properties.put("services." + service.name() + ".url", service.url()));
+        return properties;
+    }
+
+    List<StubService> services() {
+        return services;
+    }
+
+    private static StubService followService(SyntheticGraph graph, StubService stub) {
+        return stub
+                .get("/api/follows/(\\d+)/following", (path, query, body) -> {
+                    List<Long> ids = graph.followingIds(Long.parseLong(path.group(1)));
+                    return new FollowingListResponse(ids, 0, ids.size(), ids.size(), 1);
+                })
+                .get("/api/follows/(\\d+)/followers", (path, query, body) -> {
+                    int page = Integer.parseInt(query.getOrDefault("page", "0"));
+                    int size = Integer.parseInt(query.getOrDefault("size", "20"));
+                    int total = graph.followerCount();
+                    return new FollowerListResponse(graph.followerIds(Long.parseLong(path.group(1)), page, size),
+                            page, size, total, (total + size - 1) / size);
+                })
+                .get("/api/follows/(\\d+)/stats", (path, query, body) -> new FollowStatsResponse(
+                        Long.parseLong(path.group(1)), graph.followerCount(), graph.followerCount()));
+    }
+
+    private static StubService postService(SyntheticGraph graph, StubService stub) {
+        return stub
+                .get("/api/posts/user/(\\d+)", (path, query, body) -> {
+                    int page = Integer.parseInt(query.getOrDefault("page", "0"));
+                    int size = Integer.parseInt(query.getOrDefault("size", "20"));
+                    int total = graph.postsPerAuthor();
+                    return new PostListResponse(graph.postsByAuthor(Long.parseLong(path.group(1)), page, size),
+                            page, size, total, (total + size - 1) / size);
+                })
+                .post("/api/posts/batch", (path, query, body) -> ids(body, "postIds").stream()
+                        .map(graph::post)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()))
+                .post("/api/posts/authors", (path, query, body) -> {
+                    int size = body.path("size").asInt(20);
+                    PostResponse cursor = null;
+                    if (body.hasNonNull("beforeCreatedAt")) {
+                        cursor = PostResponse.builder()
+                                .id(body.path("beforeId").asLong())
+                                .createdAt(LocalDateTime.parse(body.path("beforeCreatedAt").asText()))
+                                .build();
+                    }
+                    List<PostResponse> posts = graph.recentPostsByAuthors(ids(body, "authorIds"), size + 1, cursor);
+                    boolean hasMore = posts.size() > size;
+                    posts = posts.subList(0, Math.min(size, posts.size()));
+                    PostResponse last = posts.isEmpty() ? null : posts.get(posts.size() - 1);
+                    return new PostCursorResponse(posts, hasMore ? last.getCreatedAt() : null,
+                            hasMore ? last.getId() : null, hasMore);
+                });
+    }
+
+    private static StubService likeService(StubService stub) {
+        return stub
+                // like-service names this field likeCounts
+                .post("/api/likes/batch/counts", (path, query, body) -> Map.of("likeCounts",
+                        countsOf(ids(body, "postIds"), postId -> postId * 31 % 500)))
+                .post("/api/likes/batch/check", (path, query, body) -> new BatchLikeCheckResponse(null,
+                        ids(body, "postIds").stream().filter(postId -> postId % 7 == 0).collect(Collectors.toList())));
+    }
+
+    private static StubService commentService(StubService stub) {
+        return stub.post("/api/comments/batch/counts", (path, query, body) -> new BatchCommentCountResponse(
+                countsOf(ids(body, "postIds"), postId -> postId % 40)));
+    }
+
+    private static StubService userService(SyntheticGraph graph, StubService stub) {
+        return stub
+                .get("/api/users/user/(\\d+)", (path, query, body) -> graph.profile(Long.parseLong(path.group(1))))
+                .post("/api/users/batch", (path, query, body) -> ids(body, "userIds").stream()
+                        .map(graph::profile)
+                        .collect(Collectors.toList()));
+    }
+
+    private static List<Long> ids(JsonNode body, String field) {
+        List<Long> ids = new ArrayList<>();
+        if (body != null) {
+            body.path(field).forEach(id -> ids.add(id.asLong()));
+        }
+        return ids;
+    }
+
+    private static Map<Long, Long> countsOf(List<Long> postIds, Function<Long, Long> count) {
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        postIds.forEach(postId -> counts.put(postId, count.apply(postId)));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        services.forEach(StubService::close);
+    }
+}
@@ -0,0 +1,132 @@
+package com.socialmedia.feed.loadtest;
+
+import com.socialmedia.feed.dto.PostResponse;
+import com.socialmedia.feed.dto.UserProfileResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The social graph served by the stub services, computed from IDs rather
+ * than stored, so any number of users costs no memory.
+ *
+ * <p>Users are numbered {@code 1..users}. Each follows {@code followees}
+ * others, spread evenly around the ID space, and so has that many
+ * followers. Each user has authored {@code postsPerAuthor} posts, one an
+ * hour going back from a fixed instant; post {@code authorId * postsPerAuthor + n}
+ * is the author's {@code n}-th newest.</p>
+ */
+final class SyntheticGraph {
+
+    static final Comparator<PostResponse> NEWEST_FIRST = Comparator
+            .comparing(PostResponse::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(PostResponse::getId, Comparator.reverseOrder());
+
+    private static final LocalDateTime NEWEST = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final int users;
+    private final int followees;
+    private final int postsPerAuthor;
+    private final int stride;
+
+    SyntheticGraph(int users, int followees, int postsPerAuthor) {
+        if (followees >= users) {
+            throw new IllegalArgumentException("followees must be less than users");
+        }
+        this.users = users;
+        this.followees = followees;
+        this.postsPerAuthor = postsPerAuthor;
+        this.stride = Math.max(1, users / (followees + 1));
+    }
+
+    int users() {
+        return users;
+    }
+
+    List<Long> followingIds(long userId) {
+        List<Long> ids = new ArrayList<>(followees);
+        for (int i = 1; i <= followees; i++) {
+            ids.add(Math.floorMod(userId - 1 + (long) i * stride, (long) users) + 1);
+        }
+        return ids;
+    }
+
+    List<Long> followerIds(long userId, int page, int size) {
+        List<Long> ids = new ArrayList<>(size);
+        for (int i = page * size + 1; i <= Math.min(followees, (page + 1) * size); i++) {
+            ids.add(Math.floorMod(userId - 1 - (long) i * stride, (long) users) + 1);
+        }
+        return ids;
+    }
+
+    int followerCount() {
+        return followees;
+    }
+
+    int postsPerAuthor() {
+        return postsPerAuthor;
+    }
+
+    /** The post with this ID, or null if there is none. */
+    PostResponse post(long postId) {
+        long authorId = postId / postsPerAuthor;
+        if (authorId < 1 || authorId > users) {
+            return null;
+        }
+        return post(authorId, (int) (postId % postsPerAuthor));
+    }
+
+    List<PostResponse> postsByAuthor(long authorId, int page, int size) {
+        List<PostResponse> posts = new ArrayList<>(size);
+        for (int n = page * size; n < Math.min(postsPerAuthor, (page + 1) * size); n++) {
+            posts.add(post(authorId, n));
+        }
+        return posts;
+    }
+
+    /**
+     * Up to {@code limit} of the newest posts across the authors, older
+     * than the cursor post when one is given.
+     */
+    List<PostResponse> recentPostsByAuthors(List<Long> authorIds, int limit, PostResponse cursor) {
+        List<PostResponse> posts = new ArrayList<>();
+        for (Long authorId : authorIds) {
+            int taken = 0;
+            for (int n = 0; n < postsPerAuthor && taken < limit; n++) {
+                PostResponse post = post(authorId, n);
+                if (cursor == null || NEWEST_FIRST.compare(post, cursor) > 0) {
+                    posts.add(post);
+                    taken++;
+                }
+            }
+        }
+        posts.sort(NEWEST_FIRST);
+        return posts;
+    }
+
+    UserProfileResponse profile(long userId) {
+        return UserProfileResponse.builder()
+                .id(userId)
+                .userId(userId)
+                .name("User " + userId)
+                .bio("Synthetic load-test user")
+                .avatarUrl("https://cdn.example.com/avatars/" + userId + ".png")
+                .createdAt(NEWEST.minusDays(365))
+                .updatedAt(NEWEST.minusDays(365))
+                .build();
+    }
+
+    private PostResponse post(long authorId, int n) {
+        // Authors post at different minutes, so pages interleave authors
+        LocalDateTime createdAt = NEWEST.minusHours(n).minusSeconds(authorId * 37 % 3600);
+        return PostResponse.builder()
+                .id(authorId * postsPerAuthor + n)
+                .userId(authorId)
+                .content("Post " + n + " by user " + authorId)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+}
@@ -3,9 +3,13 @@ package com.socialmedia.feed;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableAsync
+@EnableScheduling
 public class FeedServiceApplication {
 
     public static void main(String[] args) {
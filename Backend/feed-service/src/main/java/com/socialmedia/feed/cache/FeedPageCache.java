@@ -0,0 +1,212 @@
+package com.socialmedia.feed.cache;
+
+import com.socialmedia.feed.dto.EnrichedPostResponse;
+import com.socialmedia.feed.dto.FeedResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived cache of rendered feed pages, so a user reloading the same
+ * page does not repeat the upstream fan-out.
+ *
+ * <p>Pages are kept per user for at most {@code ttl}; the number of users
+ * (LRU) and of pages per user are bounded. A user's pages are dropped when
+ * the contents may have changed: a followed author posted, the user
+ * followed or unfollowed someone, or the like and comment counts of a
+ * cached post have moved by {@code countChangeThreshold} in total since it
+ * was last invalidated. Smaller count changes are served stale until the
+ * TTL expires.</p>
+ *
+ * <p>Hits, misses, evictions (tagged by cause) and size are published as
+ * {@code cache.*} meters tagged {@code cache=feed-pages}.</p>
+ */
+@Component
+@Slf4j
+public class FeedPageCache {
+
+    private static final String CACHE_NAME = "feed-pages";
+
+    private final Duration ttl;
+    private final int maxPagesPerUser;
+    private final long countChangeThreshold;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<Long, Map<String, CachedPage>> pagesByUser;
+    private final Map<Long, Set<Long>> usersByPost = new HashMap<>();
+    private final Map<Long, Long> countChanges = new HashMap<>();
+
+    @Autowired
+    public FeedPageCache(
+            @Value("${feed.cache.max-users:10000}") int maxUsers,
+            @Value("${feed.cache.max-pages-per-user:4}") int maxPagesPerUser,
+            @Value("${feed.cache.ttl:PT30S}") Duration ttl,
+            @Value("${feed.cache.count-change-threshold:10}") long countChangeThreshold,
+            MeterRegistry meterRegistry) {
+        this(maxUsers, maxPagesPerUser, ttl, countChangeThreshold, meterRegistry, Clock.systemUTC());
+    }
+
+    FeedPageCache(int maxUsers, int maxPagesPerUser, Duration ttl, long countChangeThreshold,
+                  MeterRegistry meterRegistry, Clock clock) {
+        this.ttl = ttl;
+        this.maxPagesPerUser = maxPagesPerUser;
+        this.countChangeThreshold = countChangeThreshold;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.hits = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "miss");
+        this.pagesByUser = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<String, CachedPage>> eldest) {
+                if (size() <= maxUsers) {
+                    return false;
+                }
+                unindex(eldest.getKey(), eldest.getValue().values(), Map.of());
+                recordEvictions("size", eldest.getValue().size());
+                return true;
+            }
+        };
+        Gauge.builder("cache.size", this, FeedPageCache::size)
+                .tag("cache", CACHE_NAME)
+                .description("Number of cached feed pages")
+                .register(meterRegistry);
+    }
+
+    public static String pageKey(int page, int size) {
+        return page + ":" + size;
+    }
+
+    public synchronized Optional<FeedResponse> get(Long userId, String key) {
+        Map<String, CachedPage> pages = pagesByUser.get(userId);
+        CachedPage page = pages != null ? pages.get(key) : null;
+        if (page != null && page.cachedAt.plus(ttl).isBefore(clock.instant())) {
+            removePage(userId, pages, key);
+            recordEvictions("expired", 1);
+            page = null;
+        }
+        if (page == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(page.response);
+    }
+
+    public synchronized void put(Long userId, String key, FeedResponse response) {
+        Map<String, CachedPage> pages = pagesByUser.computeIfAbsent(userId, id -> new LinkedHashMap<>());
+        if (pages.containsKey(key)) {
+            removePage(userId, pages, key);
+        } else if (pages.size() >= maxPagesPerUser) {
+            removePage(userId, pages, pages.keySet().iterator().next());
+            recordEvictions("size", 1);
+        }
+        if (!pagesByUser.containsKey(userId)) {
+            // The user's (now empty) entry was dropped by removePage
+            pagesByUser.put(userId, pages);
+        }
+
+        Set<Long> postIds = response.getPosts() == null ? Set.of() : response.getPosts().stream()
+                .map(EnrichedPostResponse::getId)
+                .collect(Collectors.toSet());
+        pages.put(key, new CachedPage(response, postIds, clock.instant()));
+        postIds.forEach(postId -> usersByPost.computeIfAbsent(postId, id -> new HashSet<>()).add(userId));
+    }
+
+    /**
+     * Drops all cached pages of the user.
+     */
+    public synchronized void invalidate(Long userId) {
+        Map<String, CachedPage> pages = pagesByUser.remove(userId);
+        if (pages == null) {
+            return;
+        }
+        unindex(userId, pages.values(), Map.of());
+        recordEvictions("invalidated", pages.size());
+    }
+
+    /**
+     * Records a change in a post's like or comment count. Once the changes
+     * add up to the threshold, every user with a cached page showing the
+     * post is invalidated. Changes to posts in no cached page are ignored.
+     */
+    public synchronized void onCountChanged(Long postId, long delta) {
+        Set<Long> users = usersByPost.get(postId);
+        if (users == null) {
+            return;
+        }
+        long changed = countChanges.merge(postId, Math.abs(delta), Long::sum);
+        if (changed < countChangeThreshold) {
+            return;
+        }
+        log.debug("Counts of post {} changed by {}, invalidating {} cached feeds", postId, changed, users.size());
+        Set.copyOf(users).forEach(this::invalidate);
+    }
+
+    public synchronized int size() {
+        return pagesByUser.values().stream().mapToInt(Map::size).sum();
+    }
+
+    public synchronized boolean isEmpty() {
+        return pagesByUser.isEmpty();
+    }
+
+    private void removePage(Long userId, Map<String, CachedPage> pages, String key) {
+        CachedPage removed = pages.remove(key);
+        if (removed != null) {
+            unindex(userId, List.of(removed), pages);
+        }
+        if (pages.isEmpty()) {
+            pagesByUser.remove(userId);
+        }
+    }
+
+    /**
+     * Removes the user from the index of the removed pages' posts, except
+     * for posts that one of the user's {@code remaining} pages still shows.
+     */
+    private void unindex(Long userId, Collection<CachedPage> removed, Map<String, CachedPage> remaining) {
+        Set<Long> postIds = removed.stream()
+                .flatMap(page -> page.postIds.stream())
+                .collect(Collectors.toSet());
+        for (Long postId : postIds) {
+            boolean stillShown = remaining.values().stream()
+                    .anyMatch(page -> page.postIds.contains(postId));
+            if (stillShown) {
+                continue;
+            }
+            Set<Long> users = usersByPost.get(postId);
+            if (users != null && users.remove(userId) && users.isEmpty()) {
+                usersByPost.remove(postId);
+                countChanges.remove(postId);
+            }
+        }
+    }
+
+    private void recordEvictions(String cause, int count) {
+        if (count > 0) {
+            meterRegistry.counter("cache.evictions", "cache", CACHE_NAME, "cause", cause).increment(count);
+        }
+    }
+
+    private record CachedPage(FeedResponse response, Set<Long> postIds, Instant cachedAt) {
+    }
+}
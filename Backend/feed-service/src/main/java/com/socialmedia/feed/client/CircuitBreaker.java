@@ -0,0 +1,221 @@
+package com.socialmedia.feed.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Circuit breaker, bulkhead and call timeout for one upstream service.
+ *
+ * <p>The outcomes of the last {@code windowSize} calls are kept. Once at
+ * least {@code minimumCalls} are recorded and the share of failures reaches
+ * {@code failureRateThreshold}, the breaker opens: calls fail immediately
+ * with {@link CallNotPermittedException} for {@code openDuration}. Then up
+ * to {@code halfOpenCalls} trial calls are let through; if they all succeed
+ * the breaker closes, any failure opens it again. Errors, timeouts and 5xx
+ * responses count as failures; 4xx responses do not, the upstream answered.</p>
+ *
+ * <p>Independently of the state, at most {@code maxConcurrentCalls} calls
+ * may be in flight. Further calls are rejected rather than queued, so a
+ * slow upstream cannot tie up the connections the other upstreams need.</p>
+ *
+ * <p>The state is published as {@code feed.client.circuit.state{upstream}}
+ * (0 closed, 1 half-open, 2 open) and rejected calls as
+ * {@code feed.client.rejected{upstream, reason=open|bulkhead}}.</p>
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final String name;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Duration callTimeout;
+    private final Semaphore bulkhead;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    /** Ring buffer of the last outcomes, true for a failure. */
+    private final boolean[] outcomes;
+    private int recorded;
+    private int nextOutcome;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    @Builder
+    CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                   Duration openDuration, int halfOpenCalls, int maxConcurrentCalls, Duration callTimeout,
+                   MeterRegistry meterRegistry, Clock clock) {
+        this.name = name;
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.callTimeout = callTimeout;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.meterRegistry = meterRegistry;
+        this.clock = clock != null ? clock : Clock.systemUTC();
+        this.outcomes = new boolean[windowSize];
+        Gauge.builder("feed.client.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .tag("upstream", name)
+                .description("Circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code call} if the breaker and bulkhead permit it, limited to
+     * the call timeout, and records its outcome. Otherwise fails at once
+     * with {@link CallNotPermittedException}.
+     */
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                return reject("bulkhead");
+            }
+            if (!tryAcquirePermission()) {
+                bulkhead.release();
+                return reject("open");
+            }
+            AtomicBoolean failed = new AtomicBoolean();
+            return call.timeout(callTimeout)
+                    .doOnError(e -> failed.set(isFailure(e)))
+                    .doFinally(signal -> {
+                        bulkhead.release();
+                        if (signal == SignalType.CANCEL) {
+                            onCancelled();
+                        } else {
+                            onResult(failed.get());
+                        }
+                    });
+        });
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && openDurationElapsed()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private <T> Mono<T> reject(String reason) {
+        meterRegistry.counter("feed.client.rejected", "upstream", name, "reason", reason).increment();
+        return Mono.error(new CallNotPermittedException(name, reason));
+    }
+
+    private synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (!openDurationElapsed()) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= halfOpenCalls) {
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    private synchronized void onResult(boolean failure) {
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failure) {
+                    transitionTo(State.OPEN);
+                } else if (++trialsSucceeded >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                record(failure);
+                if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case OPEN -> {
+                // Late result of a call started before the breaker opened
+            }
+        }
+    }
+
+    private synchronized void onCancelled() {
+        if (state == State.HALF_OPEN && trialsStarted > trialsSucceeded) {
+            trialsStarted--;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (recorded == windowSize) {
+            if (outcomes[nextOutcome]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[nextOutcome] = failure;
+        if (failure) {
+            failures++;
+        }
+        nextOutcome = (nextOutcome + 1) % windowSize;
+    }
+
+    private void transitionTo(State target) {
+        log.info("Circuit breaker for {} changed from {} to {}", name, state, target);
+        state = target;
+        switch (target) {
+            case OPEN -> openedAt = clock.instant();
+            case HALF_OPEN -> {
+                trialsStarted = 0;
+                trialsSucceeded = 0;
+            }
+            case CLOSED -> {
+                recorded = 0;
+                nextOutcome = 0;
+                failures = 0;
+            }
+        }
+    }
+
+    private boolean openDurationElapsed() {
+        return !clock.instant().isBefore(openedAt.plus(openDuration));
+    }
+
+    private static boolean isFailure(Throwable e) {
+        return !(e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError());
+    }
+
+    /**
+     * Signals that a call was not made because the upstream's breaker is
+     * open or its bulkhead is full.
+     */
+    public static class CallNotPermittedException extends RuntimeException {
+
+        public CallNotPermittedException(String upstream, String reason) {
+            super("Call to " + upstream + " not permitted (" + reason + ")");
+        }
+    }
+}
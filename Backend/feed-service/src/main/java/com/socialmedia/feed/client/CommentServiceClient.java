@@ -2,35 +2,54 @@ package com.socialmedia.feed.client;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class CommentServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${services.comment-service.url:http://localhost:8085}")
-    private String commentServiceUrl;
-
-    public Long getCommentCount(Long postId, String token) {
-        try {
-            var response = webClientBuilder.build()
-                    .get()
-                    .uri(commentServiceUrl + "/api/comments/post/" + postId + "?page=0&size=1")
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(CommentListResponse.class)
-                    .block();
-            
-            return response != null ? response.getTotalElements() : 0L;
-        } catch (Exception e) {
-            log.error("Error fetching comment count for post {}: {}", postId, e.getMessage());
-            return 0L;
-        }
+    private final WebClient commentServiceWebClient;
+    private final CircuitBreaker commentServiceCircuitBreaker;
+
+    public Mono<Long> getCommentCount(Long postId, String token) {
+        return commentServiceCircuitBreaker.protect(commentServiceWebClient
+                        .get()
+                        .uri("/api/comments/post/{postId}?page=0&size=1", postId)
+                        .headers(UpstreamAuth.bearer(token))
+                        .retrieve()
+                        .bodyToMono(CommentListResponse.class))
+                .map(CommentListResponse::getTotalElements)
+                .defaultIfEmpty(0L)
+                .onErrorResume(e -> {
+                    log.error("Error fetching comment count for post {}: {}", postId, e.getMessage());
+                    return Mono.just(0L);
+                });
+    }
+
+    /**
+     * Emits the comment counts of the posts, or completes empty if they
+     * cannot be fetched, so callers can tell unavailable counts from zero.
+     */
+    public Mono<Map<Long, Long>> getBatchCommentCounts(List<Long> postIds, String token) {
+        return commentServiceCircuitBreaker.protect(commentServiceWebClient
+                        .post()
+                        .uri("/api/comments/batch/counts")
+                        .headers(UpstreamAuth.bearer(token))
+                        .bodyValue(new BatchCommentCountRequest(postIds))
+                        .retrieve()
+                        .bodyToMono(BatchCommentCountResponse.class))
+                .mapNotNull(BatchCommentCountResponse::getCommentCounts)
+                .defaultIfEmpty(Map.of())
+                .onErrorResume(e -> {
+                    log.error("Error fetching batch comment counts: {}", e.getMessage());
+                    return Mono.empty();
+                });
     }
 
     @lombok.Data
@@ -38,10 +57,25 @@ public class CommentServiceClient {
     @lombok.AllArgsConstructor
     @lombok.Builder
     public static class CommentListResponse {
-        private java.util.List<Object> comments;
+        private List<Object> comments;
         private int page;
         private int size;
         private long totalElements;
         private int totalPages;
     }
+
+    @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class BatchCommentCountRequest {
+        private List<Long> postIds;
+    }
+
+    @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    @lombok.Builder
+    public static class BatchCommentCountResponse {
+        private Map<Long, Long> commentCounts;
+    }
 }
@@ -2,9 +2,9 @@ package com.socialmedia.feed.client;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -13,26 +13,54 @@ import java.util.List;
 @Slf4j
 public class FollowServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${services.follow-service.url:http://localhost:8083}")
-    private String followServiceUrl;
-
-    public List<Long> getFollowingIds(Long userId, String token) {
-        try {
-            var response = webClientBuilder.build()
-                    .get()
-                    .uri(followServiceUrl + "/api/follows/" + userId + "/following?page=0&size=1000")
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(FollowingListResponse.class)
-                    .block();
-            
-            return response != null ? response.getFollowingIds() : List.of();
-        } catch (Exception e) {
-            log.error("Error fetching following list for user {}: {}", userId, e.getMessage());
-            return List.of();
-        }
+    private final WebClient followServiceWebClient;
+    private final CircuitBreaker followServiceCircuitBreaker;
+
+    public Mono<List<Long>> getFollowingIds(Long userId, String token) {
+        return followServiceCircuitBreaker.protect(followServiceWebClient
+                        .get()
+                        .uri("/api/follows/{userId}/following?page=0&size=1000", userId)
+                        .headers(UpstreamAuth.bearer(token))
+                        .retrieve()
+                        .bodyToMono(FollowingListResponse.class))
+                .mapNotNull(FollowingListResponse::getFollowingIds)
+                .defaultIfEmpty(List.of())
+                .onErrorResume(e -> {
+                    log.error("Error fetching following list for user {}: {}", userId, e.getMessage());
+                    return Mono.just(List.of());
+                });
+    }
+
+    /**
+     * Emits one page of followers, or completes empty if it cannot be fetched.
+     */
+    public Mono<FollowerListResponse> getFollowers(Long userId, int page, int size, String token) {
+        return followServiceCircuitBreaker.protect(followServiceWebClient
+                        .get()
+                        .uri("/api/follows/{userId}/followers?page={page}&size={size}", userId, page, size)
+                        .headers(UpstreamAuth.bearer(token))
+                        .retrieve()
+                        .bodyToMono(FollowerListResponse.class))
+                .onErrorResume(e -> {
+                    log.error("Error fetching followers for user {}: {}", userId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Emits the user's follow stats, or completes empty if they cannot be fetched.
+     */
+    public Mono<FollowStatsResponse> getFollowStats(Long userId, String token) {
+        return followServiceCircuitBreaker.protect(followServiceWebClient
+                        .get()
+                        .uri("/api/follows/{userId}/stats", userId)
+                        .headers(UpstreamAuth.bearer(token))
+                        .retrieve()
+                        .bodyToMono(FollowStatsResponse.class))
+                .onErrorResume(e -> {
+                    log.error("Error fetching follow stats for user {}: {}", userId, e.getMessage());
+                    return Mono.empty();
+                });
     }
 
     @lombok.Data
@@ -46,4 +74,26 @@ public class FollowServiceClient {
         private long totalElements;
         private int totalPages;
     }
+
+    @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    @lombok.Builder
+    public static class FollowerListResponse {
+        private List<Long> followerIds;
+        private int page;
+        private int size;
+        private long totalElements;
+        private int totalPages;
+    }
+
+    @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    @lombok.Builder
+    public static class FollowStatsResponse {
+        private Long userId;
+        private long followerCount;
+        private long followingCount;
+    }
 }
@@ -1,76 +1,96 @@
 package com.socialmedia.feed.client;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class LikeServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient likeServiceWebClient;
+    private final CircuitBreaker likeServiceCircuitBreaker;
 
-    @Value("${services.like-service.url:http://localhost:8086}")
-    private String likeServiceUrl;
+    public Mono<Long> getLikeCount(Long postId, String token) {
+        return likeServiceCircuitBreaker.protect(likeServiceWebClient
+                        .get()
+                        .uri("/api/likes/{postId}/count", postId)
+                        .headers(UpstreamAuth.bearer(token))
+                        .retrieve()
+                        .bodyToMono(LikeCountResponse.class))
+                .mapNotNull(LikeCountResponse::getCount)
+                .defaultIfEmpty(0L)
+                .onErrorResume(e -> {
+                    log.error("Error fetching like count for post {}: {}", postId, e.getMessage());
+                    return Mono.just(0L);
+                });
+    }
 
-    public Long getLikeCount(Long postId, String token) {
-        try {
-            var response = webClientBuilder.build()
-                    .get()
-                    .uri(likeServiceUrl + "/api/likes/" + postId + "/count")
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(LikeCountResponse.class)
-                    .block();
-            
-            return response != null ? response.getCount() : 0L;
-        } catch (Exception e) {
-            log.error("Error fetching like count for post {}: {}", postId, e.getMessage());
-            return 0L;
-        }
+    public Mono<Boolean> checkIfUserLiked(Long postId, String token) {
+        return likeServiceCircuitBreaker.protect(likeServiceWebClient
+                        .get()
+                        .uri("/api/likes/{postId}/check", postId)
+                        .headers(UpstreamAuth.bearer(token))
+                        .retrieve()
+                        .bodyToMono(LikeCheckResponse.class))
+                .mapNotNull(LikeCheckResponse::getLiked)
+                .defaultIfEmpty(false)
+                .onErrorResume(e -> {
+                    log.error("Error checking if user liked post {}: {}", postId, e.getMessage());
+                    return Mono.just(false);
+                });
     }
 
-    public Boolean checkIfUserLiked(Long postId, String token) {
-        try {
-            var response = webClientBuilder.build()
-                    .get()
-                    .uri(likeServiceUrl + "/api/likes/" + postId + "/check")
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(LikeCheckResponse.class)
-                    .block();
-            
-            return response != null ? response.getLiked() : false;
-        } catch (Exception e) {
-            log.error("Error checking if user liked post {}: {}", postId, e.getMessage());
-            return false;
-        }
+    /**
+     * Emits the like counts of the posts, or completes empty if they cannot
+     * be fetched, so callers can tell unavailable counts from zero.
+     */
+    public Mono<Map<Long, Long>> getBatchLikeCounts(List<Long> postIds, String token) {
+        var request = new BatchLikeCountRequest(postIds);
+        return likeServiceCircuitBreaker.protect(likeServiceWebClient
+                        .post()
+                        .uri("/api/likes/batch/counts")
+                        .headers(UpstreamAuth.bearer(token))
+                        .bodyValue(request)
+                        .retrieve()
+                        .bodyToMono(BatchLikeCountResponse.class))
+                .mapNotNull(BatchLikeCountResponse::getCounts)
+                .defaultIfEmpty(Map.of())
+                .onErrorResume(e -> {
+                    log.error("Error fetching batch like counts: {}", e.getMessage());
+                    return Mono.empty();
+                });
     }
 
-    public Map<Long, Long> getBatchLikeCounts(List<Long> postIds, String token) {
-        try {
-            var request = new BatchLikeCountRequest(postIds);
-            var response = webClientBuilder.build()
-                    .post()
-                    .uri(likeServiceUrl + "/api/likes/batch/counts")
-                    .header("Authorization", "Bearer " + token)
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(BatchLikeCountResponse.class)
-                    .block();
-            
-            return response != null ? response.getCounts() : Map.of();
-        } catch (Exception e) {
-            log.error("Error fetching batch like counts: {}", e.getMessage());
-            return postIds.stream().collect(Collectors.toMap(id -> id, id -> 0L));
-        }
+    /**
+     * Emits the subset of {@code postIds} that the user has liked, or
+     * completes empty if it cannot be determined.
+     */
+    public Mono<Set<Long>> getLikedPostIds(Long userId, List<Long> postIds, String token) {
+        return likeServiceCircuitBreaker.protect(likeServiceWebClient
+                        .post()
+                        .uri("/api/likes/batch/check")
+                        .headers(UpstreamAuth.bearer(token))
+                        .header("X-User-Id", String.valueOf(userId))
+                        .bodyValue(new BatchLikeCheckRequest(postIds))
+                        .retrieve()
+                        .bodyToMono(BatchLikeCheckResponse.class))
+                .mapNotNull(BatchLikeCheckResponse::getLikedPostIds)
+                .<Set<Long>>map(HashSet::new)
+                .defaultIfEmpty(Set.of())
+                .onErrorResume(e -> {
+                    log.error("Error checking liked posts for user {}: {}", userId, e.getMessage());
+                    return Mono.empty();
+                });
     }
 
     @lombok.Data
@@ -103,6 +123,24 @@ public class LikeServiceClient {
     @lombok.AllArgsConstructor
     @lombok.Builder
     public static class BatchLikeCountResponse {
+        // like-service names this field likeCounts
+        @JsonAlias("likeCounts")
         private Map<Long, Long> counts;
     }
+
+    @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class BatchLikeCheckRequest {
+        private List<Long> postIds;
+    }
+
+    @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    @lombok.Builder
+    public static class BatchLikeCheckResponse {
+        private Long userId;
+        private List<Long> likedPostIds;
+    }
 }
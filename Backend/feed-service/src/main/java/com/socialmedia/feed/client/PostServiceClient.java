@@ -1,40 +1,155 @@
 package com.socialmedia.feed.client;
 
+import com.socialmedia.feed.dto.PostCursorResponse;
 import com.socialmedia.feed.dto.PostListResponse;
+import com.socialmedia.feed.dto.PostResponse;
+import com.socialmedia.feed.timeline.TimelineMerger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class PostServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${services.post-service.url:http://localhost:8084}")
-    private String postServiceUrl;
-
-    public PostListResponse getPostsByUser(Long userId, int page, int size, String token) {
-        try {
-            return webClientBuilder.build()
-                    .get()
-                    .uri(postServiceUrl + "/api/posts/user/" + userId + "?page=" + page + "&size=" + size)
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(PostListResponse.class)
-                    .block();
-        } catch (Exception e) {
-            log.error("Error fetching posts for user {}: {}", userId, e.getMessage());
-            return PostListResponse.builder()
-                    .posts(java.util.List.of())
-                    .page(page)
-                    .size(size)
-                    .totalElements(0)
-                    .totalPages(0)
-                    .build();
+    private static final String UPSTREAM = "post-service";
+    /** Most authors post-service accepts in one /api/posts/authors request. */
+    static final int MAX_AUTHORS_PER_REQUEST = 5000;
+    /** Largest page post-service returns from /api/posts/authors. */
+    static final int MAX_POSTS_PER_REQUEST = 500;
+
+    private final WebClient postServiceWebClient;
+    private final CircuitBreaker postServiceCircuitBreaker;
+    private final SingleFlight singleFlight;
+
+    public Mono<PostListResponse> getPostsByUser(Long userId, int page, int size, String token) {
+        PostListResponse empty = PostListResponse.builder()
+                .posts(List.of())
+                .page(page)
+                .size(size)
+                .totalElements(0)
+                .totalPages(0)
+                .build();
+        String uri = "/api/posts/user/{userId}?page={page}&size={size}";
+        List<Object> uriVariables = List.of(userId, page, size);
+        return singleFlight.execute(UPSTREAM, "GET", uri, uriVariables, null, token,
+                () -> postServiceCircuitBreaker.protect(postServiceWebClient
+                                .get()
+                                .uri(uri, uriVariables.toArray())
+                                .headers(UpstreamAuth.bearer(token))
+                                .retrieve()
+                                .bodyToMono(PostListResponse.class))
+                        .defaultIfEmpty(empty)
+                        .onErrorResume(e -> {
+                            log.error("Error fetching posts for user {}: {}", userId, e.getMessage());
+                            return Mono.just(empty);
+                        }));
+    }
+
+    public Mono<List<PostResponse>> getPostsByIds(List<Long> postIds, String token) {
+        String uri = "/api/posts/batch";
+        Map<String, Object> body = Map.of("postIds", postIds);
+        return singleFlight.execute(UPSTREAM, "POST", uri, List.of(), body, token,
+                () -> postServiceCircuitBreaker.protect(postServiceWebClient
+                                .post()
+                                .uri(uri)
+                                .headers(UpstreamAuth.bearer(token))
+                                .bodyValue(body)
+                                .retrieve()
+                                .bodyToMono(new ParameterizedTypeReference<List<PostResponse>>() {}))
+                        .defaultIfEmpty(List.of())
+                        .onErrorResume(e -> {
+                            log.error("Error fetching {} posts by id: {}", postIds.size(), e.getMessage());
+                            return Mono.just(List.of());
+                        }));
+    }
+
+    /**
+     * Fetches the newest posts across several authors, strictly older than
+     * ({@code beforeCreatedAt}, {@code beforeId}) when those are given.
+     * More authors than post-service takes at once are split into
+     * concurrent requests whose pages are merged; {@code size} is capped at
+     * {@link #MAX_POSTS_PER_REQUEST}. A request that fails contributes an
+     * empty page.
+     */
+    public Mono<PostCursorResponse> getRecentPostsByAuthors(List<Long> authorIds, int size,
+                                                            LocalDateTime beforeCreatedAt, Long beforeId,
+                                                            String token) {
+        int pageSize = Math.min(size, MAX_POSTS_PER_REQUEST);
+        if (authorIds.size() <= MAX_AUTHORS_PER_REQUEST) {
+            return getRecentPostsByAuthorChunk(authorIds, pageSize, beforeCreatedAt, beforeId, token);
+        }
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < authorIds.size(); from += MAX_AUTHORS_PER_REQUEST) {
+            chunks.add(authorIds.subList(from, Math.min(from + MAX_AUTHORS_PER_REQUEST, authorIds.size())));
+        }
+        return Flux.fromIterable(chunks)
+                .flatMap(chunk -> getRecentPostsByAuthorChunk(chunk, pageSize, beforeCreatedAt, beforeId, token))
+                .collectList()
+                .map(pages -> mergePages(pages, pageSize));
+    }
+
+    /** Merges newest-first pages of disjoint authors into one page of at most {@code size} posts. */
+    private static PostCursorResponse mergePages(List<PostCursorResponse> pages, int size) {
+        List<List<PostResponse>> sources = new ArrayList<>(pages.size());
+        int fetched = 0;
+        boolean anyHasMore = false;
+        for (PostCursorResponse page : pages) {
+            List<PostResponse> posts = page.getPosts() != null ? page.getPosts() : List.of();
+            sources.add(posts);
+            fetched += posts.size();
+            anyHasMore |= page.isHasMore();
+        }
+        List<PostResponse> merged = TimelineMerger.merge(sources, PostResponse.NEWEST_FIRST, 0, size);
+        boolean hasMore = (anyHasMore || fetched > merged.size()) && !merged.isEmpty();
+        PostResponse last = hasMore ? merged.get(merged.size() - 1) : null;
+        return PostCursorResponse.builder()
+                .posts(merged)
+                .hasMore(hasMore)
+                .nextCreatedAt(last != null ? last.getCreatedAt() : null)
+                .nextId(last != null ? last.getId() : null)
+                .build();
+    }
+
+    private Mono<PostCursorResponse> getRecentPostsByAuthorChunk(List<Long> authorIds, int size,
+                                                                 LocalDateTime beforeCreatedAt, Long beforeId,
+                                                                 String token) {
+        PostCursorResponse empty = PostCursorResponse.builder()
+                .posts(List.of())
+                .hasMore(false)
+                .build();
+        Map<String, Object> body = new HashMap<>();
+        body.put("authorIds", authorIds);
+        body.put("size", size);
+        if (beforeCreatedAt != null) {
+            body.put("beforeCreatedAt", beforeCreatedAt.toString());
+            body.put("beforeId", beforeId);
         }
+        String uri = "/api/posts/authors";
+        return singleFlight.execute(UPSTREAM, "POST", uri, List.of(), body, token,
+                () -> postServiceCircuitBreaker.protect(postServiceWebClient
+                                .post()
+                                .uri(uri)
+                                .headers(UpstreamAuth.bearer(token))
+                                .bodyValue(body)
+                                .retrieve()
+                                .bodyToMono(PostCursorResponse.class))
+                        .defaultIfEmpty(empty)
+                        .onErrorResume(e -> {
+                            log.error("Error fetching recent posts for {} authors: {}",
+                                    authorIds.size(), e.getMessage());
+                            return Mono.just(empty);
+                        }));
     }
 }
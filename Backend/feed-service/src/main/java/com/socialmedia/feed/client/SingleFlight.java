@@ -0,0 +1,65 @@
+package com.socialmedia.feed.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical upstream calls that are in flight at the same time.
+ *
+ * <p>Calls are identified by upstream, method, URI template and variables,
+ * request body and the caller's token, so callers only ever share a result they could have
+ * fetched themselves. The first caller runs the call; callers arriving
+ * before it completes receive the same deserialized result (or fallback),
+ * which must therefore be treated as read-only. A caller that gives up
+ * early, e.g. at its deadline, does not cancel the call for the others.</p>
+ *
+ * <p>Executed and coalesced calls are counted in
+ * {@code feed.client.calls{upstream, result=executed|coalesced}}; the
+ * coalesced count is the number of upstream calls saved.</p>
+ */
+@Component
+public class SingleFlight {
+
+    private final ConcurrentMap<Key, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs {@code call} unless an identical call is already in flight, in
+     * which case its result is shared.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String upstream, String method, String uriTemplate, List<?> uriVariables,
+                               Object body, String scope, Supplier<Mono<T>> call) {
+        Key key = new Key(upstream, method, uriTemplate, uriVariables, body, scope);
+        return Mono.defer(() -> {
+            boolean[] executed = {false};
+            Mono<?> shared = inFlight.computeIfAbsent(key, k -> {
+                executed[0] = true;
+                return call.get()
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+            counter(upstream, executed[0] ? "executed" : "coalesced").increment();
+            return (Mono<T>) shared;
+        });
+    }
+
+    private Counter counter(String upstream, String result) {
+        return meterRegistry.counter("feed.client.calls", "upstream", upstream, "result", result);
+    }
+
+    private record Key(String upstream, String method, String uriTemplate, List<?> uriVariables,
+                       Object body, String scope) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.socialmedia.feed.client;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.function.Consumer;
+
+/**
+ * Forwards the caller's bearer token to upstream services. Background
+ * work (timeline fan-out, ranked feed refresh) acts for no user and passes
+ * a null token; it then sends no Authorization header, as other services
+ * do when calling feed-service's internal endpoints.
+ */
+final class UpstreamAuth {
+
+    private UpstreamAuth() {
+    }
+
+    static Consumer<HttpHeaders> bearer(String token) {
+        return headers -> {
+            if (token != null && !token.isBlank()) {
+                headers.setBearerAuth(token);
+            }
+        };
+    }
+}
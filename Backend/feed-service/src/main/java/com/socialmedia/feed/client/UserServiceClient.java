@@ -3,32 +3,68 @@ package com.socialmedia.feed.client;
 import com.socialmedia.feed.dto.UserProfileResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private static final String UPSTREAM = "user-service";
+
+    private final WebClient userServiceWebClient;
+    private final CircuitBreaker userServiceCircuitBreaker;
+    private final SingleFlight singleFlight;
 
-    @Value("${services.user-service.url:http://localhost:8081}")
-    private String userServiceUrl;
+    /**
+     * Emits the profile, or completes empty if it cannot be fetched.
+     */
+    public Mono<UserProfileResponse> getUserProfile(Long userId, String token) {
+        String uri = "/api/users/user/{userId}";
+        return singleFlight.execute(UPSTREAM, "GET", uri, List.of(userId), null, token,
+                () -> userServiceCircuitBreaker.protect(userServiceWebClient
+                                .get()
+                                .uri(uri, userId)
+                                .headers(UpstreamAuth.bearer(token))
+                                .retrieve()
+                                .bodyToMono(UserProfileResponse.class))
+                        .onErrorResume(e -> {
+                            log.error("Error fetching user profile for user {}: {}", userId, e.getMessage());
+                            return Mono.empty();
+                        }));
+    }
 
-    public UserProfileResponse getUserProfile(Long userId, String token) {
-        try {
-            return webClientBuilder.build()
-                    .get()
-                    .uri(userServiceUrl + "/api/users/user/" + userId)
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(UserProfileResponse.class)
-                    .block();
-        } catch (Exception e) {
-            log.error("Error fetching user profile for user {}: {}", userId, e.getMessage());
-            return null;
-        }
+    /**
+     * Fetches the profiles of several users in one request, keyed by user
+     * ID. Users without a profile are absent from the map; emits an empty
+     * map if the lookup fails.
+     */
+    public Mono<Map<Long, UserProfileResponse>> getUserProfiles(List<Long> userIds, String token) {
+        String uri = "/api/users/batch";
+        Map<String, Object> body = Map.of("userIds", userIds);
+        return singleFlight.execute(UPSTREAM, "POST", uri, List.of(), body, token,
+                () -> userServiceCircuitBreaker.protect(userServiceWebClient
+                                .post()
+                                .uri(uri)
+                                .headers(UpstreamAuth.bearer(token))
+                                .bodyValue(body)
+                                .retrieve()
+                                .bodyToMono(new ParameterizedTypeReference<List<UserProfileResponse>>() {}))
+                        .map(profiles -> profiles.stream()
+                                .collect(Collectors.toMap(UserProfileResponse::getUserId, Function.identity(),
+                                        (first, second) -> first)))
+                        .defaultIfEmpty(Map.of())
+                        .onErrorResume(e -> {
+                            log.error("Error fetching {} user profiles: {}", userIds.size(), e.getMessage());
+                            return Mono.just(Map.of());
+                        }));
     }
 }
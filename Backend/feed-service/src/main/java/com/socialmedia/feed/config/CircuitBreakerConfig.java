@@ -0,0 +1,81 @@
+package com.socialmedia.feed.config;
+
+import com.socialmedia.feed.client.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * One {@link CircuitBreaker} per upstream service. Like and comment counts
+ * only enrich a page, so those calls get a shorter timeout than the calls
+ * the page itself is built from.
+ */
+@Configuration
+public class CircuitBreakerConfig {
+
+    @Value("${feed.resilience.window-size:50}")
+    private int windowSize;
+
+    @Value("${feed.resilience.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${feed.resilience.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${feed.resilience.open-duration:PT10S}")
+    private Duration openDuration;
+
+    @Value("${feed.resilience.half-open-calls:5}")
+    private int halfOpenCalls;
+
+    @Value("${feed.resilience.max-concurrent-calls:100}")
+    private int maxConcurrentCalls;
+
+    @Value("${feed.resilience.call-timeout:PT1S}")
+    private Duration callTimeout;
+
+    @Value("${feed.resilience.enrichment-call-timeout:300ms}")
+    private Duration enrichmentCallTimeout;
+
+    @Bean
+    public CircuitBreaker userServiceCircuitBreaker(MeterRegistry meterRegistry) {
+        return circuitBreaker("user-service", callTimeout, meterRegistry);
+    }
+
+    @Bean
+    public CircuitBreaker followServiceCircuitBreaker(MeterRegistry meterRegistry) {
+        return circuitBreaker("follow-service", callTimeout, meterRegistry);
+    }
+
+    @Bean
+    public CircuitBreaker postServiceCircuitBreaker(MeterRegistry meterRegistry) {
+        return circuitBreaker("post-service", callTimeout, meterRegistry);
+    }
+
+    @Bean
+    public CircuitBreaker commentServiceCircuitBreaker(MeterRegistry meterRegistry) {
+        return circuitBreaker("comment-service", enrichmentCallTimeout, meterRegistry);
+    }
+
+    @Bean
+    public CircuitBreaker likeServiceCircuitBreaker(MeterRegistry meterRegistry) {
+        return circuitBreaker("like-service", enrichmentCallTimeout, meterRegistry);
+    }
+
+    private CircuitBreaker circuitBreaker(String upstream, Duration timeout, MeterRegistry meterRegistry) {
+        return CircuitBreaker.builder()
+                .name(upstream)
+                .windowSize(windowSize)
+                .minimumCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .openDuration(openDuration)
+                .halfOpenCalls(halfOpenCalls)
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .callTimeout(timeout)
+                .meterRegistry(meterRegistry)
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.socialmedia.feed.config;
+
+import com.socialmedia.feed.exception.DeadlineExceededException;
+import com.socialmedia.feed.service.Deadline;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Rejects requests that arrive after their caller's deadline.
+ *
+ * <p>api-gateway stamps each request with a {@value Deadline#HEADER}
+ * header. Nobody is waiting for the answer to a request received after
+ * it, so it is refused with 504 before any upstream is called. Requests
+ * still in time are bounded by the same deadline (see {@link Deadline}).</p>
+ */
+@Configuration
+public class RequestDeadlineConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                // Feed pages complete asynchronously; the dispatch that writes a page out is not checked again
+                if (request.getDispatcherType() != DispatcherType.REQUEST) {
+                    return true;
+                }
+                Optional<Instant> deadline = Deadline.parseHeader(request.getHeader(Deadline.HEADER));
+                if (deadline.isPresent() && !deadline.get().isAfter(Instant.now())) {
+                    throw new DeadlineExceededException("Request deadline passed before it was handled");
+                }
+                return true;
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.socialmedia.feed.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Diagnostics for the virtual-thread mode ({@code spring.threads.virtual.enabled}).
+ *
+ * <p>A virtual thread that blocks while inside a {@code synchronized} block
+ * or a native call stays pinned to its carrier thread, and with only as
+ * many carriers as CPUs a few such waits stall every request. Pins lasting
+ * at least {@code virtual-threads.pinned-threshold} are logged with the
+ * stack that caused them, from the JDK's {@code jdk.VirtualThreadPinned}
+ * flight-recorder event.</p>
+ *
+ * <p>Every service that offers the virtual-thread mode carries this same
+ * class, as each builds on its own (see its Dockerfile); change all the
+ * copies together.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    @Value("${virtual-threads.pinned-threshold:20ms}")
+    private Duration pinnedThreshold;
+
+    @Bean(destroyMethod = "close")
+    public RecordingStream virtualThreadPinningMonitor() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(pinnedThreshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, VirtualThreadConfig::logPinned);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for at least {} ms", pinnedThreshold.toMillis());
+        return stream;
+    }
+
+    private static void logPinned(RecordedEvent event) {
+        StringBuilder stack = new StringBuilder();
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        frames.stream().limit(LOGGED_FRAMES).forEach(frame -> stack.append("\n\tat ")
+                .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                .append(':').append(frame.getLineNumber()));
+        log.warn("Virtual thread {} pinned to its carrier for {} ms{}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(), stack);
+    }
+}
@@ -1,14 +1,126 @@
 package com.socialmedia.feed.config;
 
+import com.socialmedia.feed.metrics.FeedMetrics;
+import com.socialmedia.feed.service.Deadline;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * One WebClient per upstream service, each with its own connection pool.
+ *
+ * <p>Separate pools keep a slow upstream from holding the connections the
+ * others need during a feed fan-out. Connections are kept alive and reused;
+ * callers wait at most {@code pending-acquire-timeout} for a free one, and
+ * at most {@code pending-acquire-max-count} may wait at once. Upstreams
+ * listed in {@code h2c-upstreams} are spoken to over cleartext HTTP/2.</p>
+ *
+ * <p>Pool metrics are published as {@code reactor.netty.connection.provider.*}
+ * meters tagged with the upstream's name, including the time spent waiting
+ * for a connection ({@code pending.connections.time}). Each call is timed
+ * as {@code feed.client.requests} (see {@link FeedMetrics}). Calls made
+ * under a {@link Deadline} send it in the {@value Deadline#HEADER} header.</p>
+ */
 @Configuration
 public class WebClientConfig {
 
+    @Value("${feed.http.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${feed.http.pending-acquire-max-count:1000}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${feed.http.pending-acquire-timeout:PT1S}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${feed.http.max-idle-time:PT30S}")
+    private Duration maxIdleTime;
+
+    @Value("${feed.http.max-life-time:PT5M}")
+    private Duration maxLifeTime;
+
+    @Value("${feed.http.connect-timeout:PT1S}")
+    private Duration connectTimeout;
+
+    @Value("${feed.http.response-timeout:PT3S}")
+    private Duration responseTimeout;
+
+    @Value("${feed.http.h2c-upstreams:}")
+    private Set<String> h2cUpstreams;
+
+    @Bean
+    public WebClient userServiceWebClient(
+            @Value("${services.user-service.url:http://localhost:8082}") String url, FeedMetrics feedMetrics) {
+        return webClient("user-service", url, feedMetrics);
+    }
+
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClient followServiceWebClient(
+            @Value("${services.follow-service.url:http://localhost:8083}") String url, FeedMetrics feedMetrics) {
+        return webClient("follow-service", url, feedMetrics);
+    }
+
+    @Bean
+    public WebClient postServiceWebClient(
+            @Value("${services.post-service.url:http://localhost:8084}") String url, FeedMetrics feedMetrics) {
+        return webClient("post-service", url, feedMetrics);
+    }
+
+    @Bean
+    public WebClient commentServiceWebClient(
+            @Value("${services.comment-service.url:http://localhost:8085}") String url, FeedMetrics feedMetrics) {
+        return webClient("comment-service", url, feedMetrics);
+    }
+
+    @Bean
+    public WebClient likeServiceWebClient(
+            @Value("${services.like-service.url:http://localhost:8086}") String url, FeedMetrics feedMetrics) {
+        return webClient("like-service", url, feedMetrics);
+    }
+
+    private WebClient webClient(String upstream, String baseUrl, FeedMetrics feedMetrics) {
+        ConnectionProvider pool = ConnectionProvider.builder(upstream)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(maxIdleTime)
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(pool)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        if (h2cUpstreams.contains(upstream)) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(feedMetrics.upstreamTimer(upstream))
+                .filter(propagateDeadline())
+                .build();
+    }
+
+    /** Passes the feed request's deadline, if the call carries one, on to the upstream. */
+    private static ExchangeFilterFunction propagateDeadline() {
+        return (request, next) -> Mono.deferContextual(context -> context.<Deadline>getOrEmpty(Deadline.class)
+                .map(deadline -> next.exchange(ClientRequest.from(request)
+                        .header(Deadline.HEADER, deadline.toHeaderValue())
+                        .build()))
+                .orElseGet(() -> next.exchange(request)));
     }
 }
@@ -0,0 +1,40 @@
+package com.socialmedia.feed.controller;
+
+import com.socialmedia.feed.cache.FeedPageCache;
+import com.socialmedia.feed.dto.EngagementEvent;
+import com.socialmedia.feed.service.RankingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Internal endpoint through which like-service and comment-service report
+ * count changes, so cached feed pages showing outdated counts can be
+ * dropped and the acting user's author affinity updated. Not routed by
+ * the API gateway.
+ */
+@RestController
+@RequestMapping("/internal/engagement")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Engagement (internal)", description = "Service-to-service like and comment count updates")
+public class EngagementEventController {
+
+    private final FeedPageCache feedPageCache;
+    private final RankingService rankingService;
+
+    @PostMapping
+    @Operation(summary = "Counts changed", description = "Record a change in a post's like or comment count")
+    public ResponseEntity<Void> countsChanged(@Valid @RequestBody EngagementEvent event) {
+        log.debug("Post {} counts changed by {} likes, {} comments",
+                event.getPostId(), event.getLikeDelta(), event.getCommentDelta());
+        feedPageCache.onCountChanged(event.getPostId(),
+                Math.abs(event.getLikeDelta()) + Math.abs(event.getCommentDelta()));
+        rankingService.onEngagement(event);
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -1,6 +1,10 @@
 package com.socialmedia.feed.controller;
 
 import com.socialmedia.feed.dto.FeedResponse;
+import com.socialmedia.feed.dto.FeedStreamEvent;
+import com.socialmedia.feed.exception.BadRequestException;
+import com.socialmedia.feed.metrics.StageTimings;
+import com.socialmedia.feed.service.Deadline;
 import com.socialmedia.feed.service.FeedService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,8 +14,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
 
 @RestController
 @RequestMapping("/api/feed")
@@ -20,31 +30,113 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Feed", description = "Feed generation and retrieval endpoints")
 public class FeedController {
 
+    /** Time spent in each stage of the page, in milliseconds, for client-side diagnosis. */
+    private static final String SERVER_TIMING = "Server-Timing";
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final FeedService feedService;
 
     @GetMapping
-    @Operation(summary = "Get personalized feed", description = "Retrieve a paginated feed of posts from users the current user follows")
+    @Operation(summary = "Get personalized feed", description = "Retrieve a feed of posts from users the current user follows. "
+            + "Pass the nextCursor of a response as cursor to get the next page; page is ignored when a cursor is given. "
+            + "With mode=ranked, posts are ordered by a precomputed engagement score instead of by time")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Feed retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, mode or page size"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<FeedResponse> getFeed(
+    public Mono<ResponseEntity<FeedResponse>> getFeed(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Cursor from a previous response's nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Ordering: latest (default) or ranked; ranked pages have no cursor")
+            @RequestParam(defaultValue = "latest") String mode,
             @RequestHeader("X-User-Id") Long userId,
             HttpServletRequest request) {
         
-        log.info("Fetching feed for user {} - page: {}, size: {}", userId, page, size);
+        log.info("Fetching {} feed for user {} - page: {}, size: {}, cursor: {}", mode, userId, page, size, cursor);
+        validateSize(size);
 
-        // Extract token from request
+        // The page is built without holding this request thread; the response is written when it completes
+        String token = bearerToken(request);
+        Instant callerDeadline = callerDeadline(request);
+        boolean hasCursor = cursor != null && !cursor.isEmpty();
+        StageTimings timings = new StageTimings();
+        Mono<FeedResponse> feed;
+        switch (mode) {
+            case "latest" -> feed = hasCursor
+                    ? feedService.feedAfter(userId, cursor, size, token, timings, callerDeadline)
+                    : feedService.feed(userId, page, size, token, timings, callerDeadline);
+            case "ranked" -> {
+                if (hasCursor) {
+                    throw new BadRequestException("Ranked feeds are paged by page number, not cursor");
+                }
+                feed = feedService.rankedFeed(userId, page, size, token, timings, callerDeadline);
+            }
+            default -> throw new BadRequestException("Invalid feed mode: " + mode);
+        }
+        
+        return feed.map(response -> ResponseEntity.ok()
+                .header(SERVER_TIMING, timings.toHeaderValue())
+                .body(response));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream personalized feed", description = "Stream one feed page as newline-delimited JSON: "
+            + "a post event per post, then patch events adding enrichment fields as they resolve, then an end event "
+            + "with the paging fields. Takes the same parameters as GET /api/feed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Feed streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+    })
+    public Flux<FeedStreamEvent> streamFeed(
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Cursor from a previous response's nextCursor") @RequestParam(required = false) String cursor,
+            @RequestHeader("X-User-Id") Long userId,
+            HttpServletRequest request) {
+
+        log.info("Streaming feed for user {} - page: {}, size: {}, cursor: {}", userId, page, size, cursor);
+        validateSize(size);
+        String token = bearerToken(request);
+        Instant callerDeadline = callerDeadline(request);
+        return cursor != null && !cursor.isEmpty()
+                ? feedService.streamFeedAfter(userId, cursor, size, token, callerDeadline)
+                : feedService.streamFeed(userId, page, size, token, callerDeadline);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream personalized feed as server-sent events", description = "Same events as the "
+            + "NDJSON stream; each is sent with its type (post, patch, end) as the SSE event name")
+    public Flux<ServerSentEvent<FeedStreamEvent>> streamFeedEvents(
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Cursor from a previous response's nextCursor") @RequestParam(required = false) String cursor,
+            @RequestHeader("X-User-Id") Long userId,
+            HttpServletRequest request) {
+
+        return streamFeed(page, size, cursor, userId, request)
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.getType().name().toLowerCase())
+                        .build());
+    }
+
+    private static void validateSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static String bearerToken(HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
-        String token = authHeader != null && authHeader.startsWith("Bearer ") 
-                ? authHeader.substring(7) 
+        return authHeader != null && authHeader.startsWith("Bearer ")
+                ? authHeader.substring(7)
                 : "";
+    }
 
-        FeedResponse feed = feedService.generateFeed(userId, page, size, token);
-        
-        return ResponseEntity.ok(feed);
+    private static Instant callerDeadline(HttpServletRequest request) {
+        return Deadline.parseHeader(request.getHeader(Deadline.HEADER)).orElse(null);
     }
 }
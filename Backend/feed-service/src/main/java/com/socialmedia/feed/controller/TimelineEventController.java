@@ -0,0 +1,58 @@
+package com.socialmedia.feed.controller;
+
+import com.socialmedia.feed.dto.FollowTimelineEvent;
+import com.socialmedia.feed.dto.PostTimelineEvent;
+import com.socialmedia.feed.service.TimelineService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Internal endpoints through which post-service and follow-service report
+ * changes that affect precomputed timelines. Not routed by the API gateway.
+ */
+@RestController
+@RequestMapping("/internal/timeline")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Timeline (internal)", description = "Service-to-service timeline fan-out endpoints")
+public class TimelineEventController {
+
+    private final TimelineService timelineService;
+
+    @PostMapping("/posts")
+    @Operation(summary = "Post created", description = "Push a new post into the author's followers' timelines")
+    public ResponseEntity<Void> postCreated(@Valid @RequestBody PostTimelineEvent event) {
+        log.debug("Post {} created by user {}", event.getPostId(), event.getAuthorId());
+        timelineService.onPostCreated(event);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/posts/deleted")
+    @Operation(summary = "Post deleted", description = "Remove a post from the author's followers' timelines")
+    public ResponseEntity<Void> postDeleted(@Valid @RequestBody PostTimelineEvent event) {
+        log.debug("Post {} deleted by user {}", event.getPostId(), event.getAuthorId());
+        timelineService.onPostDeleted(event);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/follows")
+    @Operation(summary = "User followed", description = "Backfill the follower's timeline with the followed user's posts")
+    public ResponseEntity<Void> followed(@Valid @RequestBody FollowTimelineEvent event) {
+        log.debug("User {} followed user {}", event.getFollowerId(), event.getFollowingId());
+        timelineService.onFollowed(event);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/follows/removed")
+    @Operation(summary = "User unfollowed", description = "Remove the unfollowed user's posts from the follower's timeline")
+    public ResponseEntity<Void> unfollowed(@Valid @RequestBody FollowTimelineEvent event) {
+        log.debug("User {} unfollowed user {}", event.getFollowerId(), event.getFollowingId());
+        timelineService.onUnfollowed(event);
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.socialmedia.feed.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change in a post's like or comment count, reported by like-service and
+ * comment-service (for example +1 for a new like, -1 for an unlike),
+ * and the user who liked or commented.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EngagementEvent {
+
+    @NotNull(message = "Post ID is required")
+    private Long postId;
+
+    /** User who liked or commented; optional. */
+    private Long userId;
+
+    private long likeDelta;
+
+    private long commentDelta;
+}
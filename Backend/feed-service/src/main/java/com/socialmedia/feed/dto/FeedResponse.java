@@ -25,6 +25,20 @@ public class FeedResponse {
     
     @JsonProperty("last")
     private boolean last;
+
+    /**
+     * Opaque cursor for the next page ({@code GET /api/feed?cursor=...}),
+     * or null on the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Enrichment fields ({@code likeCount}, {@code likedByCurrentUser},
+     * {@code commentCount}) that could not be loaded and are null on every
+     * post of this page. Empty when the page is complete.
+     */
+    @Builder.Default
+    private List<String> unavailable = List.of();
     
     @Data
     @NoArgsConstructor
@@ -0,0 +1,66 @@
+package com.socialmedia.feed.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One event of a streamed feed page ({@code GET /api/feed/stream}).
+ *
+ * <p>A page is streamed as one {@code post} event per post, in feed order,
+ * with the post's core data; then {@code patch} events that add enrichment
+ * fields to a post ({@code postId}) as each upstream answers; then one
+ * {@code end} event with the paging fields of {@link FeedResponse}. Fields
+ * that do not apply to an event are omitted.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FeedStreamEvent {
+
+    public enum Type {
+        @JsonProperty("post") POST,
+        @JsonProperty("patch") PATCH,
+        @JsonProperty("end") END
+    }
+
+    private Type type;
+
+    // post
+    private PostResponse post;
+
+    // patch
+    private Long postId;
+    private String username;
+    private String userAvatarUrl;
+    private Long likeCount;
+    private Long commentCount;
+    private Boolean likedByCurrentUser;
+
+    // end
+    private Long totalElements;
+    private Integer totalPages;
+    private Boolean last;
+    private String nextCursor;
+    private List<String> unavailable;
+
+    public static FeedStreamEvent post(PostResponse post) {
+        return FeedStreamEvent.builder()
+                .type(Type.POST)
+                .post(post)
+                .build();
+    }
+
+    public static FeedStreamEventBuilder patch(Long postId) {
+        return FeedStreamEvent.builder()
+                .type(Type.PATCH)
+                .postId(postId);
+    }
+}
@@ -0,0 +1,20 @@
+package com.socialmedia.feed.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FollowTimelineEvent {
+
+    @NotNull(message = "Follower ID is required")
+    private Long followerId;
+
+    @NotNull(message = "Following ID is required")
+    private Long followingId;
+}
@@ -0,0 +1,21 @@
+package com.socialmedia.feed.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostCursorResponse {
+
+    private List<PostResponse> posts;
+    private LocalDateTime nextCreatedAt;
+    private Long nextId;
+    private boolean hasMore;
+}
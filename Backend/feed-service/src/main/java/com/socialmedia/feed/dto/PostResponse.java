@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 
 @Data
 @NoArgsConstructor
@@ -13,6 +14,11 @@ import java.time.LocalDateTime;
 @Builder
 public class PostResponse {
 
+    /** Feed order: newest first, ties broken by the higher ID. */
+    public static final Comparator<PostResponse> NEWEST_FIRST = Comparator
+            .comparing(PostResponse::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(PostResponse::getId, Comparator.reverseOrder());
+
     private Long id;
     private Long userId;
     private String content;
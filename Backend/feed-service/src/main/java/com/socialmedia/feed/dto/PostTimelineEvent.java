@@ -0,0 +1,24 @@
+package com.socialmedia.feed.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostTimelineEvent {
+
+    @NotNull(message = "Post ID is required")
+    private Long postId;
+
+    @NotNull(message = "Author ID is required")
+    private Long authorId;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,171 @@
+package com.socialmedia.feed.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Meters describing where feed generation time goes.
+ *
+ * <ul>
+ *   <li>{@code feed.generation.duration{mode}}: a whole feed page, by mode
+ *       ({@code page}, {@code cursor} or {@code ranked})</li>
+ *   <li>{@code feed.stage.duration{stage}}: one stage of a page, such as
+ *       {@code follow}, {@code posts}, {@code sort} or {@code likes}</li>
+ *   <li>{@code feed.client.requests{upstream, method, uri, outcome}}: one
+ *       HTTP call to an upstream service</li>
+ *   <li>{@code feed.fanout.width}: followed accounts whose posts one page
+ *       reads, and {@code feed.posts.fetched} / {@code feed.posts.returned}:
+ *       posts read for a page versus posts on it</li>
+ * </ul>
+ *
+ * <p>Stages timed inside a reactive chain that carries {@link StageTimings}
+ * in its context (see {@link #withTimings}) are also added to those
+ * timings, for the {@code Server-Timing} header.</p>
+ */
+@Component
+public class FeedMetrics {
+
+    /** Request attribute under which WebClient keeps the URI template of a call. */
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final DistributionSummary fanoutWidth;
+    private final DistributionSummary postsFetched;
+    private final DistributionSummary postsReturned;
+
+    public FeedMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.fanoutWidth = DistributionSummary.builder("feed.fanout.width")
+                .description("Followed accounts whose posts are read for one feed page")
+                .baseUnit("accounts")
+                .register(meterRegistry);
+        this.postsFetched = DistributionSummary.builder("feed.posts.fetched")
+                .description("Posts read to build one feed page")
+                .baseUnit("posts")
+                .register(meterRegistry);
+        this.postsReturned = DistributionSummary.builder("feed.posts.returned")
+                .description("Posts on one feed page")
+                .baseUnit("posts")
+                .register(meterRegistry);
+    }
+
+    public static Context withTimings(StageTimings timings) {
+        return Context.of(StageTimings.class, timings);
+    }
+
+    /**
+     * Times {@code call} from subscription until it emits, fails or is
+     * cancelled (for example at the request deadline). The time is recorded
+     * before the result is passed on, so it is in the timings by the time
+     * the page built from it is returned.
+     */
+    public <T> Mono<T> time(String stage, Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            long start = System.nanoTime();
+            Optional<StageTimings> timings = context.getOrEmpty(StageTimings.class);
+            AtomicBoolean recorded = new AtomicBoolean();
+            Runnable record = () -> {
+                if (recorded.compareAndSet(false, true)) {
+                    long elapsed = System.nanoTime() - start;
+                    stageTimer(stage).record(elapsed, TimeUnit.NANOSECONDS);
+                    timings.ifPresent(t -> t.add(stage, elapsed));
+                }
+            };
+            return call.doOnSuccess(value -> record.run())
+                    .doOnError(e -> record.run())
+                    .doOnCancel(record);
+        });
+    }
+
+    /**
+     * Times building a whole page with {@code generation}, from subscription
+     * until it emits, fails or is cancelled, and records it as
+     * {@link #recordGeneration} does before the page is passed on.
+     */
+    public <T> Mono<T> timeGeneration(String mode, StageTimings timings, Mono<T> generation) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            Runnable record = () -> {
+                if (recorded.compareAndSet(false, true)) {
+                    recordGeneration(mode, timings, start);
+                }
+            };
+            return generation.doOnSuccess(value -> record.run())
+                    .doOnError(e -> record.run())
+                    .doOnCancel(record);
+        });
+    }
+
+    /** Records a whole page, also as the {@code total} of its timings. */
+    public void recordGeneration(String mode, StageTimings timings, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        Timer.builder("feed.generation.duration")
+                .description("Time to build one feed page")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        timings.add("total", elapsed);
+    }
+
+    public void recordFanout(int accounts) {
+        fanoutWidth.record(accounts);
+    }
+
+    public void recordPage(int fetched, int returned) {
+        postsFetched.record(fetched);
+        postsReturned.record(returned);
+    }
+
+    /**
+     * Times every call made through a WebClient, tagged with the upstream,
+     * the URI template (not the expanded URI, to bound the number of
+     * series) and the outcome.
+     */
+    public ExchangeFilterFunction upstreamTimer(String upstream) {
+        return (request, next) -> Mono.defer(() -> {
+            String uri = request.attribute(URI_TEMPLATE_ATTRIBUTE).map(Object::toString).orElse("none");
+            AtomicReference<String> outcome = new AtomicReference<>("CANCELLED");
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnNext(response -> outcome.set(outcome(response)))
+                    .doOnError(e -> outcome.set("ERROR"))
+                    .doFinally(signal -> Timer.builder("feed.client.requests")
+                            .description("Calls from feed-service to upstream services")
+                            .tag("upstream", upstream)
+                            .tag("method", request.method().name())
+                            .tag("uri", uri)
+                            .tag("outcome", outcome.get())
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private Timer stageTimer(String stage) {
+        return stageTimers.computeIfAbsent(stage, name -> Timer.builder("feed.stage.duration")
+                .description("Time spent in one stage of building a feed page")
+                .tag("stage", name)
+                .register(meterRegistry));
+    }
+
+    private static String outcome(ClientResponse response) {
+        HttpStatus.Series series = HttpStatus.Series.resolve(response.statusCode().value());
+        return series != null ? series.name() : "UNKNOWN";
+    }
+}
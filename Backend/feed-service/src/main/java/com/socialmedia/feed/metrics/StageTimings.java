@@ -0,0 +1,63 @@
+package com.socialmedia.feed.metrics;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Time spent in each stage of one feed request, in the order the stages
+ * finished, for the {@code Server-Timing} response header.
+ *
+ * <p>A stage that runs more than once in a request (for example post
+ * lookups on both the timeline and the pull path) reports the sum. Stages
+ * are recorded from upstream callback threads, so the map is
+ * synchronized.</p>
+ */
+public class StageTimings {
+
+    private final Map<String, Long> nanos = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<String, String> descriptions = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public void add(String stage, long elapsedNanos) {
+        nanos.merge(stage, elapsedNanos, Long::sum);
+    }
+
+    /** Adds a metric without a duration, such as {@code cache;desc="hit"}. */
+    public void describe(String name, String description) {
+        descriptions.put(name, description);
+    }
+
+    public Map<String, Duration> getDurations() {
+        synchronized (nanos) {
+            return nanos.entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, e -> Duration.ofNanos(e.getValue()),
+                            (a, b) -> a, LinkedHashMap::new));
+        }
+    }
+
+    /**
+     * Renders the timings as a {@code Server-Timing} header value, e.g.
+     * {@code cache;desc="miss", follow;dur=12.4, posts;dur=48.0, total;dur=71.9}.
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder();
+        synchronized (descriptions) {
+            descriptions.forEach((name, description) -> append(header, name + ";desc=\"" + description + "\""));
+        }
+        synchronized (nanos) {
+            nanos.forEach((stage, elapsed) -> append(header,
+                    String.format(Locale.ROOT, "%s;dur=%.1f", stage, elapsed / 1_000_000.0)));
+        }
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String metric) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(metric);
+    }
+}
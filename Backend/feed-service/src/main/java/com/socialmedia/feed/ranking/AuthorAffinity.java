@@ -0,0 +1,78 @@
+package com.socialmedia.feed.ranking;
+
+import com.socialmedia.feed.dto.PostResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts how often each viewer has interacted with each author, from the
+ * likes and comments reported to feed-service.
+ *
+ * <p>Engagement events name only the post, so authors are learned from
+ * the candidate posts seen while ranking; interactions with posts that
+ * never were a candidate are not counted. All maps are LRU-bounded, so
+ * affinity is best effort and favours recent interactions.</p>
+ */
+@Component
+public class AuthorAffinity {
+
+    private final int maxAuthorsPerUser;
+    private final Map<Long, Long> postAuthors;
+    private final Map<Long, Map<Long, Long>> interactions;
+
+    @Autowired
+    public AuthorAffinity(
+            @Value("${feed.ranking.affinity.max-users:50000}") int maxUsers,
+            @Value("${feed.ranking.affinity.max-authors-per-user:200}") int maxAuthorsPerUser,
+            @Value("${feed.ranking.affinity.max-posts:200000}") int maxPosts) {
+        this.maxAuthorsPerUser = maxAuthorsPerUser;
+        this.postAuthors = lru(maxPosts);
+        this.interactions = lru(maxUsers);
+    }
+
+    public void rememberAuthors(Collection<PostResponse> posts) {
+        posts.forEach(post -> postAuthors.put(post.getId(), post.getUserId()));
+    }
+
+    /**
+     * Records one interaction of {@code viewerId} with the author of
+     * {@code postId}. Returns false if the author is unknown or the
+     * viewer is the author.
+     */
+    public boolean record(Long viewerId, Long postId) {
+        Long authorId = postAuthors.get(postId);
+        if (authorId == null || authorId.equals(viewerId)) {
+            return false;
+        }
+        Map<Long, Long> counts = interactions.computeIfAbsent(viewerId, id -> lru(maxAuthorsPerUser));
+        counts.merge(authorId, 1L, Long::sum);
+        return true;
+    }
+
+    /** Interaction count per author for {@code viewerId}; a snapshot. */
+    public Map<Long, Long> of(Long viewerId) {
+        Map<Long, Long> counts = interactions.get(viewerId);
+        if (counts == null) {
+            return Map.of();
+        }
+        synchronized (counts) {
+            return new HashMap<>(counts);
+        }
+    }
+
+    private static <K, V> Map<K, V> lru(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package com.socialmedia.feed.ranking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scores candidate posts for the ranked feed; higher scores rank first.
+ *
+ * <p>{@link WeightedFeedScorer} is used unless another scorer is declared as
+ * a {@code @Primary} bean. Scores are only compared with each other, so
+ * their scale is up to the implementation.</p>
+ */
+public interface FeedScorer {
+
+    double score(RankingCandidate candidate, LocalDateTime now);
+}
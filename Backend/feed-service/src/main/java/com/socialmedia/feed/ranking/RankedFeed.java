@@ -0,0 +1,76 @@
+package com.socialmedia.feed.ranking;
+
+import com.socialmedia.feed.dto.PostResponse;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * One user's top-K posts by score, best first, as of {@code rankedAt}.
+ * Immutable: a refresh replaces the whole feed, so pages are served
+ * without locking or rescoring.
+ */
+public class RankedFeed {
+
+    /** Best first; equal scores fall back to newest first. */
+    static final Comparator<ScoredPost> BEST_FIRST = Comparator
+            .comparingDouble(ScoredPost::score).reversed()
+            .thenComparing(scored -> scored.post().getId(), Comparator.reverseOrder());
+
+    private final List<ScoredPost> posts;
+    private final Instant rankedAt;
+
+    private RankedFeed(List<ScoredPost> posts, Instant rankedAt) {
+        this.posts = posts;
+        this.rankedAt = rankedAt;
+    }
+
+    /**
+     * Scores every candidate and keeps the best {@code capacity} in a
+     * min-heap of that size, so ranking costs O(n log K) time and O(K)
+     * memory however many candidates there are.
+     */
+    public static RankedFeed rank(Collection<RankingCandidate> candidates, FeedScorer scorer, int capacity,
+                                  LocalDateTime now, Instant rankedAt) {
+        PriorityQueue<ScoredPost> heap = new PriorityQueue<>(capacity + 1, BEST_FIRST.reversed());
+        for (RankingCandidate candidate : candidates) {
+            heap.offer(new ScoredPost(candidate.getPost(), scorer.score(candidate, now)));
+            if (heap.size() > capacity) {
+                heap.poll();
+            }
+        }
+        List<ScoredPost> ranked = new ArrayList<>(heap);
+        ranked.sort(BEST_FIRST);
+        return new RankedFeed(List.copyOf(ranked), rankedAt);
+    }
+
+    public Instant getRankedAt() {
+        return rankedAt;
+    }
+
+    public int size() {
+        return posts.size();
+    }
+
+    public List<PostResponse> page(int offset, int limit) {
+        if (offset >= posts.size()) {
+            return List.of();
+        }
+        return posts.subList(offset, Math.min(offset + limit, posts.size())).stream()
+                .map(ScoredPost::post)
+                .collect(Collectors.toList());
+    }
+
+    public List<ScoredPost> getPosts() {
+        return posts;
+    }
+
+    public record ScoredPost(PostResponse post, double score) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.socialmedia.feed.ranking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory store of precomputed ranked feeds.
+ *
+ * <p>Only users who read their ranked feed within {@code activeWindow} are
+ * kept and re-ranked in the background; the others are dropped and ranked
+ * again on their next read. The number of users is bounded with LRU
+ * eviction.</p>
+ */
+@Component
+public class RankedFeedStore {
+
+    private final Duration refreshInterval;
+    private final Duration activeWindow;
+    private final Clock clock;
+    private final Map<Long, Entry> feeds;
+
+    @Autowired
+    public RankedFeedStore(
+            @Value("${feed.ranking.max-users:20000}") int maxUsers,
+            @Value("${feed.ranking.refresh-interval:PT1M}") Duration refreshInterval,
+            @Value("${feed.ranking.active-window:PT30M}") Duration activeWindow) {
+        this(maxUsers, refreshInterval, activeWindow, Clock.systemUTC());
+    }
+
+    RankedFeedStore(int maxUsers, Duration refreshInterval, Duration activeWindow, Clock clock) {
+        this.refreshInterval = refreshInterval;
+        this.activeWindow = activeWindow;
+        this.clock = clock;
+        this.feeds = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /**
+     * Returns the user's ranked feed, however old, and records the read so
+     * it keeps being refreshed.
+     */
+    public Optional<RankedFeed> get(Long userId) {
+        Entry entry = feeds.get(userId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        entry.lastReadAt = clock.instant();
+        return Optional.of(entry.feed);
+    }
+
+    public void put(Long userId, RankedFeed feed) {
+        Entry previous = feeds.get(userId);
+        Entry entry = new Entry(feed);
+        entry.lastReadAt = previous != null ? previous.lastReadAt : clock.instant();
+        feeds.put(userId, entry);
+    }
+
+    /**
+     * Users due for a background re-rank: ranked longer than
+     * {@code refreshInterval} ago and read within {@code activeWindow}.
+     * Users inactive for longer are dropped.
+     */
+    public List<Long> usersToRefresh() {
+        Instant now = clock.instant();
+        Instant activeSince = now.minus(activeWindow);
+        Instant staleBefore = now.minus(refreshInterval);
+        List<Long> due = new ArrayList<>();
+        synchronized (feeds) {
+            feeds.entrySet().removeIf(e -> e.getValue().lastReadAt.isBefore(activeSince));
+            feeds.forEach((userId, entry) -> {
+                if (!entry.feed.getRankedAt().isAfter(staleBefore)) {
+                    due.add(userId);
+                }
+            });
+        }
+        return due;
+    }
+
+    public int size() {
+        return feeds.size();
+    }
+
+    public Instant now() {
+        return clock.instant();
+    }
+
+    private static final class Entry {
+
+        private final RankedFeed feed;
+        private volatile Instant lastReadAt;
+
+        private Entry(RankedFeed feed) {
+            this.feed = feed;
+        }
+    }
+}
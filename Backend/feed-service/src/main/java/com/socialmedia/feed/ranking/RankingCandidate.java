@@ -0,0 +1,23 @@
+package com.socialmedia.feed.ranking;
+
+import com.socialmedia.feed.dto.PostResponse;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A post considered for a user's ranked feed, with the signals a
+ * {@link FeedScorer} scores it on.
+ */
+@Value
+@Builder(toBuilder = true)
+public class RankingCandidate {
+
+    PostResponse post;
+
+    long likeCount;
+
+    long commentCount;
+
+    /** How often the viewer has interacted with the post's author. */
+    long authorAffinity;
+}
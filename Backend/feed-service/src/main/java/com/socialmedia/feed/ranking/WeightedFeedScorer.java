@@ -0,0 +1,55 @@
+package com.socialmedia.feed.ranking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Default scorer: a weighted sum of engagement and author affinity that
+ * decays with the post's age.
+ *
+ * <pre>
+ * score = (1 + likeWeight * ln(1 + likes) + commentWeight * ln(1 + comments)
+ *            + affinityWeight * ln(1 + affinity)) * 0.5 ^ (age / halfLife)
+ * </pre>
+ *
+ * <p>Counts are log-damped so a viral post cannot bury everything else, and
+ * a post with no engagement still ranks by recency alone.</p>
+ */
+@Component
+public class WeightedFeedScorer implements FeedScorer {
+
+    private final double likeWeight;
+    private final double commentWeight;
+    private final double affinityWeight;
+    private final double halfLifeSeconds;
+
+    @Autowired
+    public WeightedFeedScorer(
+            @Value("${feed.ranking.weights.likes:1.0}") double likeWeight,
+            @Value("${feed.ranking.weights.comments:2.0}") double commentWeight,
+            @Value("${feed.ranking.weights.affinity:1.5}") double affinityWeight,
+            @Value("${feed.ranking.half-life:PT12H}") Duration halfLife) {
+        if (halfLife.isNegative() || halfLife.isZero()) {
+            throw new IllegalArgumentException("Feed ranking half-life must be positive");
+        }
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.affinityWeight = affinityWeight;
+        this.halfLifeSeconds = halfLife.toNanos() / 1e9;
+    }
+
+    @Override
+    public double score(RankingCandidate candidate, LocalDateTime now) {
+        double engagement = 1
+                + likeWeight * Math.log1p(candidate.getLikeCount())
+                + commentWeight * Math.log1p(candidate.getCommentCount())
+                + affinityWeight * Math.log1p(candidate.getAuthorAffinity());
+        LocalDateTime createdAt = candidate.getPost().getCreatedAt();
+        long ageSeconds = createdAt != null ? Math.max(0, Duration.between(createdAt, now).toSeconds()) : 0;
+        return engagement * Math.pow(0.5, ageSeconds / halfLifeSeconds);
+    }
+}
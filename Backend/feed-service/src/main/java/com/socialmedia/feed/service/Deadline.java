@@ -0,0 +1,101 @@
+package com.socialmedia.feed.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Time budget for one feed request.
+ *
+ * <p>Upstream calls are bounded by the time left rather than a fixed
+ * per-call timeout, so a slow call early in the request leaves less room
+ * for later ones and the request as a whole finishes close to its budget.
+ * A call still running at the deadline is replaced by its fallback, which
+ * degrades the page instead of failing it.</p>
+ *
+ * <p>Callers pass their own deadline in the {@value #HEADER} header (epoch
+ * milliseconds, stamped by api-gateway), and a request never outlives it.
+ * Bounded calls carry the deadline in their Reactor context, so upstream
+ * requests pass it on in turn.</p>
+ */
+public final class Deadline {
+
+    /** Request header holding the caller's deadline, in epoch milliseconds. */
+    public static final String HEADER = "X-Request-Deadline";
+
+    private final Instant expiresAt;
+    private final Clock clock;
+
+    private Deadline(Instant expiresAt, Clock clock) {
+        this.expiresAt = expiresAt;
+        this.clock = clock;
+    }
+
+    public static Deadline after(Duration budget) {
+        return after(budget, Clock.systemUTC());
+    }
+
+    static Deadline after(Duration budget, Clock clock) {
+        return new Deadline(clock.instant().plus(budget), clock);
+    }
+
+    /**
+     * A deadline {@code budget} from now, or at {@code callerDeadline} if
+     * that is sooner. A null {@code callerDeadline} means no caller limit.
+     */
+    public static Deadline within(Duration budget, Instant callerDeadline) {
+        return within(budget, callerDeadline, Clock.systemUTC());
+    }
+
+    static Deadline within(Duration budget, Instant callerDeadline, Clock clock) {
+        Instant own = clock.instant().plus(budget);
+        return new Deadline(callerDeadline != null && callerDeadline.isBefore(own) ? callerDeadline : own, clock);
+    }
+
+    /**
+     * Parses a {@value #HEADER} value; empty if it is absent or malformed,
+     * in which case the request only has its own budget.
+     */
+    public static Optional<Instant> parseHeader(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Instant.ofEpochMilli(Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String toHeaderValue() {
+        return String.valueOf(expiresAt.toEpochMilli());
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Duration remaining() {
+        Duration left = Duration.between(clock.instant(), expiresAt);
+        return left.isNegative() ? Duration.ZERO : left;
+    }
+
+    public boolean isExpired() {
+        return remaining().isZero();
+    }
+
+    /**
+     * Limits the call to the time left, emitting {@code fallback} (or
+     * completing empty if it is null) when the deadline passes first. A
+     * call bounded after the deadline has passed is not made at all.
+     */
+    public <T> Mono<T> bound(Mono<T> call, T fallback) {
+        return Mono.defer(() -> isExpired()
+                ? Mono.justOrEmpty(fallback)
+                : call.timeout(remaining(), Mono.justOrEmpty(fallback))
+                        .contextWrite(context -> context.put(Deadline.class, this)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.socialmedia.feed.service;
+
+import com.socialmedia.feed.exception.BadRequestException;
+import com.socialmedia.feed.timeline.TimelineEntry;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a feed: the (createdAt, postId) of the last post a client
+ * has seen. Feed order is total on this pair (see
+ * {@link TimelineEntry#NEWEST_FIRST}), so resuming strictly after it never
+ * repeats or skips a post, however many posts arrive in the meantime.
+ *
+ * <p>Clients receive it as an opaque URL-safe token and must not rely on
+ * its contents.</p>
+ */
+@Value
+public class FeedCursor {
+
+    private static final char SEPARATOR = '|';
+
+    LocalDateTime createdAt;
+    Long postId;
+
+    public static FeedCursor of(TimelineEntry entry) {
+        return new FeedCursor(entry.getCreatedAt(), entry.getPostId());
+    }
+
+    public static FeedCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid feed cursor");
+            }
+            return new FeedCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid feed cursor");
+        }
+    }
+
+    public String encode() {
+        String value = createdAt.toString() + SEPARATOR + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Probe for ordered lookups in a timeline; only the ordering fields are set.
+     */
+    public TimelineEntry toEntry() {
+        return new TimelineEntry(postId, null, createdAt);
+    }
+}
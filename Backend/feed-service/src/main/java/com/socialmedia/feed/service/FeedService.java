@@ -1,5 +1,6 @@
 package com.socialmedia.feed.service;
 
+import com.socialmedia.feed.cache.FeedPageCache;
 import com.socialmedia.feed.client.CommentServiceClient;
 import com.socialmedia.feed.client.FollowServiceClient;
 import com.socialmedia.feed.client.LikeServiceClient;
@@ -7,16 +8,35 @@ import com.socialmedia.feed.client.PostServiceClient;
 import com.socialmedia.feed.client.UserServiceClient;
 import com.socialmedia.feed.dto.EnrichedPostResponse;
 import com.socialmedia.feed.dto.FeedResponse;
+import com.socialmedia.feed.dto.FeedStreamEvent;
+import com.socialmedia.feed.dto.PostCursorResponse;
+import com.socialmedia.feed.dto.PostListResponse;
 import com.socialmedia.feed.dto.PostResponse;
 import com.socialmedia.feed.dto.UserProfileResponse;
+import com.socialmedia.feed.metrics.FeedMetrics;
+import com.socialmedia.feed.metrics.StageTimings;
+import com.socialmedia.feed.ranking.RankedFeed;
+import com.socialmedia.feed.timeline.Timeline;
+import com.socialmedia.feed.timeline.TimelineEntry;
+import com.socialmedia.feed.timeline.TimelinePage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,134 +44,632 @@ import java.util.stream.Collectors;
 @Slf4j
 public class FeedService {
 
+    /** Enrichment fields that can be reported as unavailable, in response order. */
+    private static final List<String> ENRICHMENT_FIELDS = List.of("likeCount", "likedByCurrentUser", "commentCount");
+
+    private static final Mono<Boolean> NO_BACKGROUND_WORK = Mono.just(false);
+
     private final FollowServiceClient followServiceClient;
     private final PostServiceClient postServiceClient;
     private final LikeServiceClient likeServiceClient;
     private final CommentServiceClient commentServiceClient;
     private final UserServiceClient userServiceClient;
+    private final TimelineService timelineService;
+    private final FeedPageCache feedPageCache;
+    private final RankingService rankingService;
+    private final FeedMetrics feedMetrics;
+
+    @Value("${feed.timeline.enabled:true}")
+    private boolean timelineEnabled = true;
+
+    @Value("${feed.cache.enabled:true}")
+    private boolean cacheEnabled = true;
 
+    /** Maximum in-flight calls to each upstream service per feed request. */
+    @Value("${feed.fanout.concurrency:16}")
+    private int concurrency = 16;
+
+    /** Time budget for all upstream calls made for one feed request. */
+    @Value("${feed.fanout.deadline:PT2S}")
+    private Duration deadline = Duration.ofSeconds(2);
+
+    /**
+     * Builds one feed page. Upstream calls run concurrently (bounded by
+     * {@code feed.fanout.concurrency}) and share one deadline, so latency
+     * tracks the slowest call rather than the sum of all of them.
+     *
+     * <p>Pages are served from {@link FeedPageCache} when possible, so quick
+     * reloads skip the fan-out entirely.</p>
+     */
     public FeedResponse generateFeed(Long userId, int page, int size, String token) {
-        log.debug("Generating feed for user {} - page: {}, size: {}", userId, page, size);
+        return generateFeed(userId, page, size, token, new StageTimings(), null);
+    }
 
-        // Step 1: Get list of users that the current user follows
-        List<Long> followingIds = followServiceClient.getFollowingIds(userId, token);
-        log.debug("User {} follows {} users", userId, followingIds.size());
-
-        if (followingIds.isEmpty()) {
-            // Return empty feed if user doesn't follow anyone
-            return FeedResponse.builder()
-                    .posts(List.of())
-                    .pageable(FeedResponse.PageableInfo.builder()
-                            .pageNumber(page)
-                            .pageSize(size)
-                            .build())
-                    .totalElements(0)
-                    .totalPages(0)
-                    .last(true)
-                    .build();
-        }
+    /**
+     * Same as {@link #generateFeed(Long, int, int, String)}, also adding the
+     * time spent in each stage to {@code timings}, and finishing by
+     * {@code callerDeadline} (see {@link Deadline#within}) if that is sooner
+     * than {@code feed.fanout.deadline}.
+     */
+    public FeedResponse generateFeed(Long userId, int page, int size, String token, StageTimings timings,
+                                     Instant callerDeadline) {
+        return feed(userId, page, size, token, timings, callerDeadline).block();
+    }
 
-        // Step 2: Fetch posts from all followed users
-        List<PostResponse> allPosts = new ArrayList<>();
-        for (Long followedUserId : followingIds) {
-            var postList = postServiceClient.getPostsByUser(followedUserId, 0, 100, token);
-            if (postList != null && postList.getPosts() != null) {
-                allPosts.addAll(postList.getPosts());
+    /**
+     * Non-blocking form of {@link #generateFeed(Long, int, int, String, StageTimings, Instant)}:
+     * the page is built when subscribed to, and no thread waits on the
+     * upstream calls meanwhile.
+     */
+    public Mono<FeedResponse> feed(Long userId, int page, int size, String token, StageTimings timings,
+                                   Instant callerDeadline) {
+        return feedMetrics.timeGeneration("page", timings, Mono.defer(() -> {
+            String cacheKey = FeedPageCache.pageKey(page, size);
+            if (cacheEnabled) {
+                Optional<FeedResponse> cached = feedPageCache.get(userId, cacheKey);
+                timings.describe("cache", cached.isPresent() ? "hit" : "miss");
+                if (cached.isPresent()) {
+                    log.debug("Serving cached feed page {} (size {}) for user {}", page, size, userId);
+                    return Mono.just(cached.get());
+                }
+            }
+
+            log.debug("Generating feed for user {} - page: {}, size: {}", userId, page, size);
+            Deadline requestDeadline = Deadline.within(deadline, callerDeadline);
+            return resolvePage(userId, page, size, token, requestDeadline)
+                    .flatMap(feedPage -> enrichPage(feedPage, userId, token, requestDeadline))
+                    .doOnNext(response -> {
+                        // A page finished past the deadline or missing enrichment is served, but not kept
+                        if (cacheEnabled && !requestDeadline.isExpired() && response.getUnavailable().isEmpty()) {
+                            feedPageCache.put(userId, cacheKey, response);
+                        }
+                    });
+        })).contextWrite(FeedMetrics.withTimings(timings));
+    }
+
+    /**
+     * Builds the page that follows {@code cursor} (from a previous
+     * response's {@code nextCursor}). Only posts strictly older than the
+     * cursor are read, so the cost does not grow with scroll depth and
+     * posts published meanwhile never shift or repeat items.
+     */
+    public FeedResponse generateFeedAfter(Long userId, String cursor, int size, String token) {
+        return generateFeedAfter(userId, cursor, size, token, new StageTimings(), null);
+    }
+
+    public FeedResponse generateFeedAfter(Long userId, String cursor, int size, String token,
+                                          StageTimings timings, Instant callerDeadline) {
+        return feedAfter(userId, cursor, size, token, timings, callerDeadline).block();
+    }
+
+    /**
+     * Non-blocking form of {@link #generateFeedAfter(Long, String, int, String, StageTimings, Instant)}.
+     * The cursor is decoded up front, so a malformed one fails the call
+     * rather than the returned Mono.
+     */
+    public Mono<FeedResponse> feedAfter(Long userId, String cursor, int size, String token, StageTimings timings,
+                                        Instant callerDeadline) {
+        FeedCursor position = FeedCursor.decode(cursor);
+        return feedMetrics.timeGeneration("cursor", timings, Mono.defer(() -> {
+            log.debug("Generating feed for user {} after {} - size: {}", userId, position, size);
+            Deadline requestDeadline = Deadline.within(deadline, callerDeadline);
+            return resolvePageAfter(userId, position, size, token, requestDeadline)
+                    .flatMap(feedPage -> enrichPage(feedPage, userId, token, requestDeadline));
+        })).contextWrite(FeedMetrics.withTimings(timings));
+    }
+
+    /**
+     * Streams the same page as {@link #generateFeed}: every post as soon as
+     * the page's posts are known, then enrichment patches as each upstream
+     * answers, then the paging fields. Streamed pages bypass the page cache.
+     */
+    public Flux<FeedStreamEvent> streamFeed(Long userId, int page, int size, String token) {
+        return streamFeed(userId, page, size, token, null);
+    }
+
+    public Flux<FeedStreamEvent> streamFeed(Long userId, int page, int size, String token,
+                                            Instant callerDeadline) {
+        return Flux.defer(() -> {
+            log.debug("Streaming feed for user {} - page: {}, size: {}", userId, page, size);
+            Deadline requestDeadline = Deadline.within(deadline, callerDeadline);
+            return resolvePage(userId, page, size, token, requestDeadline)
+                    .flatMapMany(feedPage -> streamPage(feedPage, userId, token, requestDeadline));
+        });
+    }
+
+    /**
+     * Streams the same page as {@link #generateFeedAfter}. The cursor is
+     * decoded up front, so a malformed one fails the request before
+     * anything is streamed.
+     */
+    public Flux<FeedStreamEvent> streamFeedAfter(Long userId, String cursor, int size, String token) {
+        return streamFeedAfter(userId, cursor, size, token, null);
+    }
+
+    public Flux<FeedStreamEvent> streamFeedAfter(Long userId, String cursor, int size, String token,
+                                                 Instant callerDeadline) {
+        FeedCursor position = FeedCursor.decode(cursor);
+        return Flux.defer(() -> {
+            log.debug("Streaming feed for user {} after {} - size: {}", userId, position, size);
+            Deadline requestDeadline = Deadline.within(deadline, callerDeadline);
+            return resolvePageAfter(userId, position, size, token, requestDeadline)
+                    .flatMapMany(feedPage -> streamPage(feedPage, userId, token, requestDeadline));
+        });
+    }
+
+    /**
+     * Builds one page of the user's ranked feed (see {@link RankingService}).
+     * Pages are read from the precomputed ranking and only enriched here.
+     * Ranked pages have no cursor and are not cached, as the ranking itself
+     * changes on every refresh; if no ranking is ready before the deadline,
+     * the reverse-chronological page is served instead.
+     */
+    public FeedResponse generateRankedFeed(Long userId, int page, int size, String token) {
+        return generateRankedFeed(userId, page, size, token, new StageTimings(), null);
+    }
+
+    public FeedResponse generateRankedFeed(Long userId, int page, int size, String token, StageTimings timings,
+                                           Instant callerDeadline) {
+        return rankedFeed(userId, page, size, token, timings, callerDeadline).block();
+    }
+
+    /** Non-blocking form of {@link #generateRankedFeed(Long, int, int, String, StageTimings, Instant)}. */
+    public Mono<FeedResponse> rankedFeed(Long userId, int page, int size, String token, StageTimings timings,
+                                         Instant callerDeadline) {
+        return feedMetrics.timeGeneration("ranked", timings, Mono.defer(() -> {
+            log.debug("Generating ranked feed for user {} - page: {}, size: {}", userId, page, size);
+            Deadline requestDeadline = Deadline.within(deadline, callerDeadline);
+            return feedMetrics.time("ranking", rankingService.getRankedFeed(userId, token, requestDeadline))
+                    .filter(ranked -> ranked.size() > 0)
+                    .map(ranked -> rankedPage(ranked, page, size))
+                    .switchIfEmpty(Mono.defer(() -> resolvePage(userId, page, size, token, requestDeadline)))
+                    .flatMap(feedPage -> enrichPage(feedPage, userId, token, requestDeadline));
+        })).contextWrite(FeedMetrics.withTimings(timings));
+    }
+
+    private FeedPage rankedPage(RankedFeed ranked, int page, int size) {
+        List<PostResponse> posts = ranked.page(page * size, size);
+        return new FeedPage(posts, posts.size(),
+                enriched -> buildFeedResponse(enriched, page, size, ranked.size(), null),
+                NO_BACKGROUND_WORK);
+    }
+
+    private Mono<FeedPage> resolvePage(Long userId, int page, int size, String token, Deadline requestDeadline) {
+        Optional<Timeline> timeline = timelineEnabled ? timelineService.getTimeline(userId) : Optional.empty();
+        return timeline.isPresent()
+                ? pageFromTimeline(timeline.get(), page, size, token, requestDeadline)
+                : pageFromSources(userId, page, size, token, requestDeadline);
+    }
+
+    private Mono<FeedPage> resolvePageAfter(Long userId, FeedCursor position, int size, String token,
+                                            Deadline requestDeadline) {
+        Mono<FeedPage> fromSources = Mono.defer(() ->
+                pageAfterFromSources(userId, position, size, token, requestDeadline));
+        if (timelineEnabled) {
+            Optional<Timeline> timeline = timelineService.getTimeline(userId);
+            if (timeline.isPresent()) {
+                return feedMetrics.time("timeline", timelineService.readPageAfter(timeline.get(),
+                                position.toEntry(), size, token, requestDeadline))
+                        .flatMap(timelinePage -> timelinePosts(timelinePage, token, requestDeadline)
+                                .map(posts -> new FeedPage(posts, fetchedFor(timelinePage),
+                                        enriched -> buildCursorResponse(enriched, size,
+                                                FeedCursor.of(lastEntry(timelinePage.getEntries()))),
+                                        NO_BACKGROUND_WORK)))
+                        .switchIfEmpty(fromSources);
             }
         }
+        return fromSources;
+    }
+
+    /**
+     * Pull path: fetches every followed user's recent posts, merges them and
+     * keeps the result as the user's timeline for later pages.
+     */
+    private Mono<FeedPage> pageFromSources(Long userId, int page, int size, String token,
+                                           Deadline requestDeadline) {
+        // Step 1: Get list of users that the current user follows
+        return feedMetrics.time("follow",
+                        requestDeadline.bound(followServiceClient.getFollowingIds(userId, token), List.of()))
+                .flatMap(followingIds -> {
+                    log.debug("User {} follows {} users", userId, followingIds.size());
+                    feedMetrics.recordFanout(followingIds.size());
+
+                    // Step 2: Fetch posts from all followed users concurrently; a user
+                    // whose posts do not arrive before the deadline is left out.
+                    // Step 3: Sort in reverse chronological order, using the same
+                    // total order as timelines so pages line up once one is materialized
+                    return feedMetrics.time("posts", Flux.fromIterable(followingIds)
+                                    .flatMap(followedUserId -> requestDeadline.bound(
+                                            postServiceClient.getPostsByUser(followedUserId, 0, 100, token), null),
+                                            concurrency)
+                                    .filter(postList -> postList.getPosts() != null)
+                                    .flatMapIterable(PostListResponse::getPosts)
+                                    .collectList())
+                            .flatMap(fetched -> feedMetrics.time("sort", Mono.fromCallable(() -> {
+                                fetched.sort(PostResponse.NEWEST_FIRST);
+                                return fetched;
+                            })))
+                            .map(allPosts -> {
+                                log.debug("Fetched {} total posts from followed users", allPosts.size());
 
-        log.debug("Fetched {} total posts from followed users", allPosts.size());
-
-        // Step 3: Sort posts in reverse chronological order
-        allPosts.sort(Comparator.comparing(PostResponse::getCreatedAt).reversed());
-
-        // Step 4: Apply pagination
-        int start = page * size;
-        int end = Math.min(start + size, allPosts.size());
-        
-        if (start >= allPosts.size()) {
-            int totalPages = (int) Math.ceil((double) allPosts.size() / size);
-            return FeedResponse.builder()
-                    .posts(List.of())
-                    .pageable(FeedResponse.PageableInfo.builder()
-                            .pageNumber(page)
-                            .pageSize(size)
-                            .build())
-                    .totalElements(allPosts.size())
-                    .totalPages(totalPages)
-                    .last(page >= totalPages - 1)
-                    .build();
+                                // Step 4: Apply pagination
+                                int start = page * size;
+                                List<PostResponse> paginatedPosts = start < allPosts.size()
+                                        ? allPosts.subList(start, Math.min(start + size, allPosts.size()))
+                                        : List.of();
+                                FeedCursor next = start + size < allPosts.size()
+                                        ? cursorOf(paginatedPosts.get(paginatedPosts.size() - 1))
+                                        : null;
+
+                                // Step 5: Posts are enriched while the timeline is built
+                                return new FeedPage(paginatedPosts, allPosts.size(),
+                                        enriched -> buildFeedResponse(enriched, page, size, allPosts.size(), next),
+                                        materializeTimeline(userId, followingIds, allPosts, requestDeadline));
+                            });
+                });
+    }
+
+    /**
+     * Cursor path without a usable timeline: one post-service query for the
+     * followed users' posts older than the cursor.
+     */
+    private Mono<FeedPage> pageAfterFromSources(Long userId, FeedCursor position, int size, String token,
+                                                Deadline requestDeadline) {
+        PostCursorResponse none = PostCursorResponse.builder().posts(List.of()).build();
+        return feedMetrics.time("follow",
+                        requestDeadline.bound(followServiceClient.getFollowingIds(userId, token), List.of()))
+                .flatMap(followingIds -> {
+                    feedMetrics.recordFanout(followingIds.size());
+                    return followingIds.isEmpty()
+                            ? Mono.just(none)
+                            : feedMetrics.time("posts", requestDeadline.bound(postServiceClient
+                                    .getRecentPostsByAuthors(followingIds, size, position.getCreatedAt(),
+                                            position.getPostId(), token), none));
+                })
+                .map(result -> {
+                    List<PostResponse> posts = result.getPosts() != null ? result.getPosts() : List.of();
+                    FeedCursor next = result.isHasMore() && !posts.isEmpty()
+                            ? cursorOf(posts.get(posts.size() - 1))
+                            : null;
+                    return new FeedPage(posts, posts.size(), enriched -> buildCursorResponse(enriched, size, next),
+                            NO_BACKGROUND_WORK);
+                });
+    }
+
+    /**
+     * Keeps the pulled posts as this user's timeline so later pages and
+     * reloads are served from it instead of repeating the fan-out. Best
+     * effort: the page is returned even if this fails or runs out of time.
+     */
+    private Mono<Boolean> materializeTimeline(Long userId, List<Long> followingIds, List<PostResponse> posts,
+                                              Deadline requestDeadline) {
+        if (!timelineEnabled) {
+            return Mono.just(false);
         }
+        return requestDeadline.bound(timelineService.materialize(userId, followingIds, posts), null)
+                .map(timeline -> true)
+                .defaultIfEmpty(false)
+                .onErrorResume(e -> {
+                    log.warn("Could not materialize timeline for user {}: {}", userId, e.getMessage());
+                    return Mono.just(false);
+                });
+    }
 
-        List<PostResponse> paginatedPosts = allPosts.subList(start, end);
+    /**
+     * Serves a page from the user's precomputed timeline: a merge of pushed
+     * entries with pulled authors' recent posts.
+     */
+    private Mono<FeedPage> pageFromTimeline(Timeline timeline, int page, int size, String token,
+                                            Deadline requestDeadline) {
+        return feedMetrics.time("timeline", timelineService.readPage(timeline, page * size, size, token,
+                        requestDeadline))
+                .flatMap(timelinePage -> {
+                    List<TimelineEntry> entries = timelinePage.getEntries();
+                    long totalElements = timelinePage.getTotalElements();
+                    // The cursor follows the last entry, not the last post served, so
+                    // entries whose posts were deleted are not read again
+                    FeedCursor next = (long) (page + 1) * size < totalElements && !entries.isEmpty()
+                            ? FeedCursor.of(lastEntry(entries))
+                            : null;
+                    return timelinePosts(timelinePage, token, requestDeadline)
+                            .map(posts -> new FeedPage(posts, fetchedFor(timelinePage),
+                                    enriched -> buildFeedResponse(enriched, page, size, totalElements, next),
+                                    NO_BACKGROUND_WORK));
+                });
+    }
+
+    /**
+     * Resolves timeline entries to posts with one batch lookup for the
+     * pushed posts (pulled posts are already in the page).
+     */
+    private Mono<List<PostResponse>> timelinePosts(TimelinePage timelinePage, String token,
+                                                   Deadline requestDeadline) {
+        List<TimelineEntry> entries = timelinePage.getEntries();
+        if (entries.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        List<Long> postIds = entries.stream()
+                .map(TimelineEntry::getPostId)
+                .collect(Collectors.toList());
+        Map<Long, PostResponse> postsById = new HashMap<>(timelinePage.getPulledPosts());
+        List<Long> pushedIds = postIds.stream()
+                .filter(id -> !postsById.containsKey(id))
+                .collect(Collectors.toList());
+        Mono<List<PostResponse>> pushedPosts = pushedIds.isEmpty()
+                ? Mono.just(List.of())
+                : feedMetrics.time("posts",
+                        requestDeadline.bound(postServiceClient.getPostsByIds(pushedIds, token), List.of()));
 
-        // Step 5: Enrich posts with metadata
-        List<EnrichedPostResponse> enrichedPosts = enrichPostsWithMetadata(paginatedPosts, token);
+        return pushedPosts.map(posts -> {
+            posts.forEach(post -> postsById.putIfAbsent(post.getId(), post));
 
-        int totalPages = (int) Math.ceil((double) allPosts.size() / size);
+            // Preserve timeline order; posts deleted since fan-out are skipped
+            List<PostResponse> pagePosts = postIds.stream()
+                    .map(postsById::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            log.debug("Served {} posts from timeline ({} entries total)",
+                    pagePosts.size(), timelinePage.getTotalElements());
+            return pagePosts;
+        });
+    }
+
+    private FeedResponse buildFeedResponse(List<EnrichedPostResponse> posts, int page, int size, long totalElements,
+                                           FeedCursor next) {
+        int totalPages = (int) Math.ceil((double) totalElements / size);
         return FeedResponse.builder()
-                .posts(enrichedPosts)
+                .posts(posts)
                 .pageable(FeedResponse.PageableInfo.builder()
                         .pageNumber(page)
                         .pageSize(size)
                         .build())
-                .totalElements(allPosts.size())
+                .totalElements(totalElements)
                 .totalPages(totalPages)
                 .last(page >= totalPages - 1)
+                .nextCursor(next != null ? next.encode() : null)
+                .unavailable(unavailableFields(posts))
+                .build();
+    }
+
+    /**
+     * Cursor pages carry no totals: counting would cost as much as reading
+     * the whole feed, which is what cursors avoid.
+     */
+    private FeedResponse buildCursorResponse(List<EnrichedPostResponse> posts, int size, FeedCursor next) {
+        return FeedResponse.builder()
+                .posts(posts)
+                .pageable(FeedResponse.PageableInfo.builder()
+                        .pageSize(size)
+                        .build())
+                .last(next == null)
+                .nextCursor(next != null ? next.encode() : null)
+                .unavailable(unavailableFields(posts))
                 .build();
     }
 
-    private List<EnrichedPostResponse> enrichPostsWithMetadata(List<PostResponse> posts, String token) {
+    /**
+     * Names the enrichment fields left null because their upstream was
+     * unavailable; they are missing from every post of the page alike.
+     */
+    private static List<String> unavailableFields(List<EnrichedPostResponse> posts) {
         if (posts.isEmpty()) {
             return List.of();
         }
+        EnrichedPostResponse first = posts.get(0);
+        List<String> unavailable = new ArrayList<>();
+        if (first.getLikeCount() == null) {
+            unavailable.add("likeCount");
+        }
+        if (first.getLikedByCurrentUser() == null) {
+            unavailable.add("likedByCurrentUser");
+        }
+        if (first.getCommentCount() == null) {
+            unavailable.add("commentCount");
+        }
+        return unavailable;
+    }
 
-        // Get post IDs
-        List<Long> postIds = posts.stream()
-                .map(PostResponse::getId)
+    private static FeedCursor cursorOf(PostResponse post) {
+        return new FeedCursor(post.getCreatedAt(), post.getId());
+    }
+
+    /**
+     * Posts read for a timeline page: every post read from pulled authors,
+     * plus the pushed entries hydrated by id.
+     */
+    private static int fetchedFor(TimelinePage timelinePage) {
+        Map<Long, PostResponse> pulled = timelinePage.getPulledPosts();
+        long pushed = timelinePage.getEntries().stream()
+                .filter(entry -> !pulled.containsKey(entry.getPostId()))
+                .count();
+        return pulled.size() + (int) pushed;
+    }
+
+    private static TimelineEntry lastEntry(List<TimelineEntry> entries) {
+        return entries.get(entries.size() - 1);
+    }
+
+    private Mono<FeedResponse> enrichPage(FeedPage feedPage, Long userId, String token, Deadline requestDeadline) {
+        feedMetrics.recordPage(feedPage.fetched(), feedPage.posts().size());
+        return Mono.zip(enrichPostsWithMetadata(feedPage.posts(), userId, token, requestDeadline),
+                        feedPage.backgroundWork())
+                .map(result -> feedPage.respond().apply(result.getT1()));
+    }
+
+    /**
+     * Fetches like counts, author profiles, liked-by-me flags and comment
+     * counts concurrently, so the page degrades rather than fails. Counts
+     * and liked-by-me flags that are unavailable (failed, rejected by an
+     * open circuit breaker, or missing at the deadline) are left null;
+     * missing profiles fall back to "Unknown".
+     */
+    private Mono<List<EnrichedPostResponse>> enrichPostsWithMetadata(List<PostResponse> posts, Long userId,
+                                                                     String token, Deadline requestDeadline) {
+        if (posts.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        Enrichment enrichment = fetchEnrichment(posts, userId, token, requestDeadline);
+        return Mono.zip(enrichment.likeCounts(), enrichment.userProfiles(), enrichment.likedByMe(),
+                        enrichment.commentCounts())
+                .map(metadata -> {
+                    Optional<Map<Long, Long>> likeCounts = metadata.getT1();
+                    Map<Long, UserProfileResponse> userProfiles = metadata.getT2();
+                    Optional<Set<Long>> likedByMe = metadata.getT3();
+                    Optional<Map<Long, Long>> commentCounts = metadata.getT4();
+
+                    // Enrich each post
+                    return posts.stream()
+                            .map(post -> {
+                                Long likeCount = likeCounts
+                                        .map(counts -> counts.getOrDefault(post.getId(), 0L))
+                                        .orElse(null);
+                                Boolean likedByCurrentUser = likedByMe
+                                        .map(liked -> liked.contains(post.getId()))
+                                        .orElse(null);
+                                Long commentCount = commentCounts
+                                        .map(counts -> counts.getOrDefault(post.getId(), 0L))
+                                        .orElse(null);
+
+                                // Get user profile information
+                                UserProfileResponse userProfile = userProfiles.get(post.getUserId());
+                                String username = userProfile != null ? userProfile.getName() : "Unknown";
+                                String userAvatarUrl = userProfile != null ? userProfile.getAvatarUrl() : null;
+
+                                return EnrichedPostResponse.builder()
+                                        .id(post.getId())
+                                        .userId(post.getUserId())
+                                        .username(username)
+                                        .userAvatarUrl(userAvatarUrl)
+                                        .content(post.getContent())
+                                        .mediaUrl(post.getMediaUrl())
+                                        .createdAt(post.getCreatedAt())
+                                        .updatedAt(post.getUpdatedAt())
+                                        .likeCount(likeCount)
+                                        .commentCount(commentCount)
+                                        .likedByCurrentUser(likedByCurrentUser)
+                                        .build();
+                            })
+                            .collect(Collectors.toList());
+                });
+    }
+
+    /**
+     * Emits a post event per post, then one patch per post and enrichment
+     * source in the order the sources answer, then the end event. Sources
+     * that are unavailable send no patches and are listed in the end event.
+     */
+    private Flux<FeedStreamEvent> streamPage(FeedPage feedPage, Long userId, String token,
+                                             Deadline requestDeadline) {
+        List<PostResponse> posts = feedPage.posts();
+        feedMetrics.recordPage(feedPage.fetched(), posts.size());
+        Set<String> unavailable = ConcurrentHashMap.newKeySet();
+        Flux<FeedStreamEvent> patches = Flux.empty();
+        if (!posts.isEmpty()) {
+            Enrichment enrichment = fetchEnrichment(posts, userId, token, requestDeadline);
+            patches = Flux.merge(
+                    enrichment.userProfiles().flatMapIterable(profiles -> patches(posts, post -> {
+                        UserProfileResponse profile = profiles.get(post.getUserId());
+                        return FeedStreamEvent.patch(post.getId())
+                                .username(profile != null ? profile.getName() : "Unknown")
+                                .userAvatarUrl(profile != null ? profile.getAvatarUrl() : null);
+                    })),
+                    patchesOrUnavailable(enrichment.likeCounts(), "likeCount", unavailable, counts ->
+                            patches(posts, post -> FeedStreamEvent.patch(post.getId())
+                                    .likeCount(counts.getOrDefault(post.getId(), 0L)))),
+                    patchesOrUnavailable(enrichment.likedByMe(), "likedByCurrentUser", unavailable, liked ->
+                            patches(posts, post -> FeedStreamEvent.patch(post.getId())
+                                    .likedByCurrentUser(liked.contains(post.getId())))),
+                    patchesOrUnavailable(enrichment.commentCounts(), "commentCount", unavailable, counts ->
+                            patches(posts, post -> FeedStreamEvent.patch(post.getId())
+                                    .commentCount(counts.getOrDefault(post.getId(), 0L)))));
+        }
+
+        return Flux.fromIterable(posts)
+                .map(FeedStreamEvent::post)
+                .concatWith(Flux.merge(patches, feedPage.backgroundWork().then(Mono.empty())))
+                .concatWith(Mono.fromSupplier(() -> {
+                    FeedResponse summary = feedPage.respond().apply(List.of());
+                    return FeedStreamEvent.builder()
+                            .type(FeedStreamEvent.Type.END)
+                            .totalElements(summary.getTotalElements())
+                            .totalPages(summary.getTotalPages())
+                            .last(summary.isLast())
+                            .nextCursor(summary.getNextCursor())
+                            .unavailable(ENRICHMENT_FIELDS.stream()
+                                    .filter(unavailable::contains)
+                                    .collect(Collectors.toList()))
+                            .build();
+                }));
+    }
+
+    private static List<FeedStreamEvent> patches(List<PostResponse> posts,
+                                                 Function<PostResponse, FeedStreamEvent.FeedStreamEventBuilder> patch) {
+        return posts.stream()
+                .map(post -> patch.apply(post).build())
                 .collect(Collectors.toList());
+    }
 
-        // Batch fetch like counts
-        Map<Long, Long> likeCounts = likeServiceClient.getBatchLikeCounts(postIds, token);
+    private static <T> Flux<FeedStreamEvent> patchesOrUnavailable(Mono<Optional<T>> source, String field,
+                                                                  Set<String> unavailable,
+                                                                  Function<T, List<FeedStreamEvent>> toPatches) {
+        return source.flatMapIterable(value -> {
+            if (value.isEmpty()) {
+                unavailable.add(field);
+                return List.of();
+            }
+            return toPatches.apply(value.get());
+        });
+    }
 
-        // Get unique user IDs and fetch user profiles
+    /**
+     * Starts the batch lookups behind enrichment; each resolves on its own.
+     */
+    private Enrichment fetchEnrichment(List<PostResponse> posts, Long userId, String token,
+                                       Deadline requestDeadline) {
+        List<Long> postIds = posts.stream()
+                .map(PostResponse::getId)
+                .collect(Collectors.toList());
         List<Long> userIds = posts.stream()
                 .map(PostResponse::getUserId)
                 .distinct()
                 .collect(Collectors.toList());
-        
-        Map<Long, UserProfileResponse> userProfiles = userIds.stream()
-                .collect(Collectors.toMap(
-                        userId -> userId,
-                        userId -> userServiceClient.getUserProfile(userId, token)
-                ));
-
-        // Enrich each post
-        return posts.stream()
-                .map(post -> {
-                    Long likeCount = likeCounts.getOrDefault(post.getId(), 0L);
-                    Boolean likedByCurrentUser = likeServiceClient.checkIfUserLiked(post.getId(), token);
-                    Long commentCount = commentServiceClient.getCommentCount(post.getId(), token);
-                    
-                    // Get user profile information
-                    UserProfileResponse userProfile = userProfiles.get(post.getUserId());
-                    String username = userProfile != null ? userProfile.getName() : "Unknown";
-                    String userAvatarUrl = userProfile != null ? userProfile.getAvatarUrl() : null;
-
-                    return EnrichedPostResponse.builder()
-                            .id(post.getId())
-                            .userId(post.getUserId())
-                            .username(username)
-                            .userAvatarUrl(userAvatarUrl)
-                            .content(post.getContent())
-                            .mediaUrl(post.getMediaUrl())
-                            .createdAt(post.getCreatedAt())
-                            .updatedAt(post.getUpdatedAt())
-                            .likeCount(likeCount)
-                            .commentCount(commentCount)
-                            .likedByCurrentUser(likedByCurrentUser)
-                            .build();
-                })
-                .collect(Collectors.toList());
+
+        return new Enrichment(
+                feedMetrics.time("likes",
+                        orUnavailable(requestDeadline, likeServiceClient.getBatchLikeCounts(postIds, token))),
+                feedMetrics.time("profiles",
+                        requestDeadline.bound(userServiceClient.getUserProfiles(userIds, token), Map.of())),
+                feedMetrics.time("liked",
+                        orUnavailable(requestDeadline, likeServiceClient.getLikedPostIds(userId, postIds, token))),
+                feedMetrics.time("comments",
+                        orUnavailable(requestDeadline, commentServiceClient.getBatchCommentCounts(postIds, token))));
+    }
+
+    /**
+     * Emits the call's result, or an empty Optional if the call completes
+     * empty or misses the deadline.
+     */
+    private static <T> Mono<Optional<T>> orUnavailable(Deadline requestDeadline, Mono<T> call) {
+        return requestDeadline.bound(call.map(Optional::of), Optional.<T>empty())
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    /**
+     * A page's posts before enrichment, how many posts were read to find
+     * them, how to build its response once they are enriched, and work to
+     * finish alongside enrichment.
+     */
+    private record FeedPage(List<PostResponse> posts,
+                            int fetched,
+                            Function<List<EnrichedPostResponse>, FeedResponse> respond,
+                            Mono<Boolean> backgroundWork) {
+    }
+
+    private record Enrichment(Mono<Optional<Map<Long, Long>>> likeCounts,
+                              Mono<Map<Long, UserProfileResponse>> userProfiles,
+                              Mono<Optional<Set<Long>>> likedByMe,
+                              Mono<Optional<Map<Long, Long>>> commentCounts) {
     }
 }
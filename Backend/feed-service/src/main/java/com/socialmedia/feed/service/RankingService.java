@@ -0,0 +1,166 @@
+package com.socialmedia.feed.service;
+
+import com.socialmedia.feed.client.CommentServiceClient;
+import com.socialmedia.feed.client.FollowServiceClient;
+import com.socialmedia.feed.client.LikeServiceClient;
+import com.socialmedia.feed.client.PostServiceClient;
+import com.socialmedia.feed.dto.EngagementEvent;
+import com.socialmedia.feed.dto.PostCursorResponse;
+import com.socialmedia.feed.dto.PostResponse;
+import com.socialmedia.feed.ranking.AuthorAffinity;
+import com.socialmedia.feed.ranking.FeedScorer;
+import com.socialmedia.feed.ranking.RankedFeed;
+import com.socialmedia.feed.ranking.RankedFeedStore;
+import com.socialmedia.feed.ranking.RankingCandidate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains precomputed ranked feeds.
+ *
+ * <p>A user's candidates are the newest posts of the accounts they follow.
+ * Each is scored by the {@link FeedScorer} from its like and comment counts
+ * and the user's {@link AuthorAffinity} for its author, and the best
+ * {@code feed.ranking.capacity} are kept in the {@link RankedFeedStore}.
+ * The first ranked read of a user ranks synchronously; after that the feed
+ * is re-ranked in the background every {@code feed.ranking.refresh-interval}
+ * for as long as the user keeps reading it, so reads never rescore.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RankingService {
+
+
+    private final RankedFeedStore rankedFeedStore;
+    private final AuthorAffinity authorAffinity;
+    private final FeedScorer feedScorer;
+    private final FollowServiceClient followServiceClient;
+    private final PostServiceClient postServiceClient;
+    private final LikeServiceClient likeServiceClient;
+    private final CommentServiceClient commentServiceClient;
+
+    /** Newest posts of followed accounts considered per user (post-service allows at most 500). */
+    @Value("${feed.ranking.candidates:500}")
+    private int candidateLimit = 500;
+
+    /** Posts kept per ranked feed. */
+    @Value("${feed.ranking.capacity:200}")
+    private int capacity = 200;
+
+    @Value("${feed.fanout.concurrency:16}")
+    private int concurrency = 16;
+
+    /** Time budget for re-ranking one user in the background. */
+    @Value("${feed.ranking.refresh-timeout:PT5S}")
+    private Duration refreshTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Returns the user's stored ranked feed, ranking it now if there is
+     * none. Completes empty if ranking does not finish before the deadline.
+     */
+    public Mono<RankedFeed> getRankedFeed(Long userId, String token, Deadline deadline) {
+        return rankedFeedStore.get(userId)
+                .map(Mono::just)
+                .orElseGet(() -> deadline.bound(rank(userId, token, deadline), null));
+    }
+
+    /**
+     * Scores the user's candidates and stores the result. A user without
+     * candidates is not stored, so their next read tries again.
+     */
+    public Mono<RankedFeed> rank(Long userId, String token, Deadline deadline) {
+        PostCursorResponse none = PostCursorResponse.builder().posts(List.of()).build();
+        return deadline.bound(followServiceClient.getFollowingIds(userId, token), List.of())
+                .flatMap(followingIds -> followingIds.isEmpty()
+                        ? Mono.just(none)
+                        : deadline.bound(postServiceClient.getRecentPostsByAuthors(followingIds, candidateLimit,
+                                null, null, token), none))
+                .map(result -> result.getPosts() != null ? result.getPosts() : List.<PostResponse>of())
+                .flatMap(posts -> score(userId, posts, token, deadline))
+                .doOnNext(feed -> {
+                    if (feed.size() > 0) {
+                        rankedFeedStore.put(userId, feed);
+                    }
+                });
+    }
+
+    private Mono<RankedFeed> score(Long userId, List<PostResponse> posts, String token, Deadline deadline) {
+        if (posts.isEmpty()) {
+            return Mono.just(RankedFeed.rank(List.of(), feedScorer, capacity, LocalDateTime.now(),
+                    rankedFeedStore.now()));
+        }
+        authorAffinity.rememberAuthors(posts);
+        List<Long> postIds = posts.stream()
+                .map(PostResponse::getId)
+                .collect(Collectors.toList());
+
+        // Unavailable counts rank as zero until the next refresh
+        return Mono.zip(
+                        deadline.bound(likeServiceClient.getBatchLikeCounts(postIds, token), Map.<Long, Long>of())
+                                .defaultIfEmpty(Map.of()),
+                        deadline.bound(commentServiceClient.getBatchCommentCounts(postIds, token), Map.<Long, Long>of())
+                                .defaultIfEmpty(Map.of()))
+                .map(counts -> {
+                    Map<Long, Long> affinity = authorAffinity.of(userId);
+                    List<RankingCandidate> candidates = posts.stream()
+                            .map(post -> RankingCandidate.builder()
+                                    .post(post)
+                                    .likeCount(counts.getT1().getOrDefault(post.getId(), 0L))
+                                    .commentCount(counts.getT2().getOrDefault(post.getId(), 0L))
+                                    .authorAffinity(affinity.getOrDefault(post.getUserId(), 0L))
+                                    .build())
+                            .collect(Collectors.toList());
+                    RankedFeed feed = RankedFeed.rank(candidates, feedScorer, capacity, LocalDateTime.now(),
+                            rankedFeedStore.now());
+                    log.debug("Ranked {} candidates for user {}, kept {}", candidates.size(), userId, feed.size());
+                    return feed;
+                });
+    }
+
+    /**
+     * Re-ranks the feeds of users who read theirs recently. Runs without a
+     * user token, as timeline fan-out does.
+     */
+    @Scheduled(fixedDelayString = "${feed.ranking.refresh-interval:PT1M}")
+    public void refreshActiveFeeds() {
+        List<Long> userIds = rankedFeedStore.usersToRefresh();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Long refreshed = Flux.fromIterable(userIds)
+                .flatMap(userId -> rank(userId, null, Deadline.after(refreshTimeout))
+                        .onErrorResume(e -> {
+                            log.warn("Could not re-rank feed of user {}: {}", userId, e.getMessage());
+                            return Mono.empty();
+                        }), concurrency)
+                .count()
+                .block();
+        log.debug("Re-ranked {} of {} active ranked feeds", refreshed, userIds.size());
+    }
+
+    /**
+     * Counts a new like or comment towards the acting user's affinity for
+     * the post's author. Removals are ignored: the interaction happened.
+     */
+    public void onEngagement(EngagementEvent event) {
+        if (event.getUserId() == null || (event.getLikeDelta() <= 0 && event.getCommentDelta() <= 0)) {
+            return;
+        }
+        if (authorAffinity.record(event.getUserId(), event.getPostId())) {
+            log.debug("Recorded interaction of user {} with the author of post {}",
+                    event.getUserId(), event.getPostId());
+        }
+    }
+}
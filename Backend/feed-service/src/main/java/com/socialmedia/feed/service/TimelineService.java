@@ -0,0 +1,247 @@
+package com.socialmedia.feed.service;
+
+import com.socialmedia.feed.cache.FeedPageCache;
+import com.socialmedia.feed.client.FollowServiceClient;
+import com.socialmedia.feed.client.PostServiceClient;
+import com.socialmedia.feed.dto.FollowTimelineEvent;
+import com.socialmedia.feed.dto.PostCursorResponse;
+import com.socialmedia.feed.dto.PostListResponse;
+import com.socialmedia.feed.dto.PostResponse;
+import com.socialmedia.feed.dto.PostTimelineEvent;
+import com.socialmedia.feed.timeline.FanoutPolicy;
+import com.socialmedia.feed.timeline.Timeline;
+import com.socialmedia.feed.timeline.TimelineEntry;
+import com.socialmedia.feed.timeline.TimelineMerger;
+import com.socialmedia.feed.timeline.TimelinePage;
+import com.socialmedia.feed.timeline.TimelineStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains precomputed timelines (hybrid fan-out).
+ *
+ * <p>Post-service and follow-service report changes through the internal
+ * timeline endpoints; this service applies them to the timelines of users
+ * who currently have one. Event handlers run asynchronously so the
+ * reporting service is never held up by a large follower list.</p>
+ *
+ * <p>Posts by high-follower accounts (see {@link FanoutPolicy}) are not
+ * fanned out. Timelines list those accounts instead, and {@link #readPage}
+ * merges their recent posts with the pushed entries at read time.</p>
+ *
+ * <p>The same events invalidate affected users' {@link FeedPageCache}
+ * pages. Posts by pulled authors are not fanned out and so do not
+ * invalidate cached pages; those show them once the page expires.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimelineService {
+
+    private static final int FOLLOWER_PAGE_SIZE = 1000;
+
+    private final TimelineStore timelineStore;
+    private final FanoutPolicy fanoutPolicy;
+    private final FollowServiceClient followServiceClient;
+    private final PostServiceClient postServiceClient;
+    private final FeedPageCache feedPageCache;
+
+    @Value("${feed.fanout.concurrency:16}")
+    private int concurrency = 16;
+
+    public Optional<Timeline> getTimeline(Long userId) {
+        return timelineStore.get(userId);
+    }
+
+    /**
+     * Builds a user's timeline from posts fetched by the pull path. Posts by
+     * pulled authors are left out; the authors are recorded instead.
+     */
+    public Mono<Timeline> materialize(Long userId, Collection<Long> followingIds, Collection<PostResponse> posts) {
+        return Flux.fromIterable(followingIds)
+                .flatMap(authorId -> fanoutPolicy.isPulled(authorId)
+                        .filter(Boolean::booleanValue)
+                        .map(pulled -> authorId), concurrency)
+                .collect(Collectors.toSet())
+                .map(pulledAuthors -> {
+                    List<TimelineEntry> entries = posts.stream()
+                            .filter(post -> !pulledAuthors.contains(post.getUserId()))
+                            .map(TimelineService::toEntry)
+                            .collect(Collectors.toList());
+                    log.debug("Materialized timeline for user {} with {} posts and {} pulled authors",
+                            userId, entries.size(), pulledAuthors.size());
+                    return timelineStore.materialize(userId, entries, pulledAuthors);
+                });
+    }
+
+    /**
+     * Reads one page of a timeline, merging in the recent posts of pulled
+     * authors. Pulled authors are fetched concurrently, each only as deep as
+     * the requested page and never beyond the timeline capacity; an author
+     * that does not answer before the deadline is left out of the page.
+     */
+    public Mono<TimelinePage> readPage(Timeline timeline, int offset, int limit, String token, Deadline deadline) {
+        int depth = Math.min(offset + limit, timelineStore.getCapacity());
+        List<TimelineEntry> pushed = timeline.slice(0, depth);
+        long pushedTotal = timeline.size();
+
+        return Flux.fromIterable(timeline.getPulledAuthors())
+                .flatMap(authorId -> deadline.bound(
+                        postServiceClient.getPostsByUser(authorId, 0, depth, token), null), concurrency)
+                .filter(postList -> postList.getPosts() != null)
+                .collectList()
+                .map(postLists -> {
+                    List<List<TimelineEntry>> sources = new ArrayList<>(postLists.size() + 1);
+                    sources.add(pushed);
+                    Map<Long, PostResponse> pulledPosts = new HashMap<>();
+                    long totalElements = pushedTotal;
+                    for (PostListResponse postList : postLists) {
+                        postList.getPosts().forEach(post -> pulledPosts.put(post.getId(), post));
+                        sources.add(postList.getPosts().stream()
+                                .map(TimelineService::toEntry)
+                                .sorted(TimelineEntry.NEWEST_FIRST)
+                                .collect(Collectors.toList()));
+                        totalElements += Math.max(postList.getTotalElements(), postList.getPosts().size());
+                    }
+                    List<TimelineEntry> entries = offset < depth
+                            ? TimelineMerger.merge(sources, TimelineEntry.NEWEST_FIRST, offset, depth - offset)
+                            : List.of();
+                    return new TimelinePage(entries, pulledPosts, Math.min(totalElements, timelineStore.getCapacity()));
+                });
+    }
+
+    /**
+     * Reads the {@code limit} entries that follow {@code position}, merging
+     * in pulled authors' posts older than it with a single post-service
+     * query. Completes empty if the timeline holds too few entries past
+     * {@code position} to fill the page, since older posts may have been
+     * trimmed from it; the caller then reads from source instead.
+     */
+    public Mono<TimelinePage> readPageAfter(Timeline timeline, TimelineEntry position, int limit, String token,
+                                            Deadline deadline) {
+        List<TimelineEntry> pushed = timeline.sliceAfter(position, limit + 1);
+        if (pushed.size() <= limit) {
+            return Mono.empty();
+        }
+
+        List<Long> pulledAuthors = new ArrayList<>(timeline.getPulledAuthors());
+        PostCursorResponse none = PostCursorResponse.builder().posts(List.of()).build();
+        Mono<PostCursorResponse> pulled = pulledAuthors.isEmpty()
+                ? Mono.just(none)
+                : deadline.bound(postServiceClient.getRecentPostsByAuthors(pulledAuthors, limit,
+                        position.getCreatedAt(), position.getPostId(), token), none);
+
+        return pulled.map(response -> {
+            List<PostResponse> posts = response.getPosts() != null ? response.getPosts() : List.of();
+            Map<Long, PostResponse> pulledPosts = new HashMap<>();
+            posts.forEach(post -> pulledPosts.put(post.getId(), post));
+            List<TimelineEntry> pulledEntries = posts.stream()
+                    .map(TimelineService::toEntry)
+                    .sorted(TimelineEntry.NEWEST_FIRST)
+                    .collect(Collectors.toList());
+            List<TimelineEntry> entries = TimelineMerger.merge(
+                    List.of(pushed, pulledEntries), TimelineEntry.NEWEST_FIRST, 0, limit);
+            return new TimelinePage(entries, pulledPosts, timeline.size());
+        });
+    }
+
+    @Async
+    public void onPostCreated(PostTimelineEvent event) {
+        if (Boolean.TRUE.equals(fanoutPolicy.isPulled(event.getAuthorId()).block())) {
+            log.debug("Skipping fan-out of post {} by high-follower user {}", event.getPostId(), event.getAuthorId());
+            return;
+        }
+        LocalDateTime createdAt = event.getCreatedAt() != null ? event.getCreatedAt() : LocalDateTime.now();
+        TimelineEntry entry = new TimelineEntry(event.getPostId(), event.getAuthorId(), createdAt);
+        int updated = forEachFollowerTimeline(event.getAuthorId(), timeline -> timeline.add(entry));
+        log.debug("Fanned out post {} by user {} to {} timelines", event.getPostId(), event.getAuthorId(), updated);
+    }
+
+    @Async
+    public void onPostDeleted(PostTimelineEvent event) {
+        if (Boolean.TRUE.equals(fanoutPolicy.isPulled(event.getAuthorId()).block())) {
+            // Never fanned out; pulled reads and hydration skip deleted posts
+            return;
+        }
+        int updated = forEachFollowerTimeline(event.getAuthorId(), timeline -> timeline.removePost(event.getPostId()));
+        log.debug("Removed post {} from {} timelines", event.getPostId(), updated);
+    }
+
+    @Async
+    public void onFollowed(FollowTimelineEvent event) {
+        feedPageCache.invalidate(event.getFollowerId());
+        Optional<Timeline> timeline = timelineStore.get(event.getFollowerId());
+        if (timeline.isEmpty()) {
+            return;
+        }
+        if (Boolean.TRUE.equals(fanoutPolicy.isPulled(event.getFollowingId()).block())) {
+            timeline.get().addPulledAuthor(event.getFollowingId());
+            return;
+        }
+        PostListResponse postList = postServiceClient.getPostsByUser(
+                event.getFollowingId(), 0, timelineStore.getCapacity(), null).block();
+        if (postList == null || postList.getPosts() == null) {
+            return;
+        }
+        timeline.get().addAll(postList.getPosts().stream()
+                .map(TimelineService::toEntry)
+                .collect(Collectors.toList()));
+        log.debug("Backfilled {} posts from user {} into timeline of user {}",
+                postList.getPosts().size(), event.getFollowingId(), event.getFollowerId());
+    }
+
+    public void onUnfollowed(FollowTimelineEvent event) {
+        feedPageCache.invalidate(event.getFollowerId());
+        timelineStore.get(event.getFollowerId())
+                .ifPresent(timeline -> timeline.removeAuthor(event.getFollowingId()));
+    }
+
+    /**
+     * Applies an update to the timeline of every follower of the author
+     * that currently has one, and drops their cached feed pages. Returns
+     * the number of timelines touched.
+     */
+    private int forEachFollowerTimeline(Long authorId, Consumer<Timeline> update) {
+        if (timelineStore.size() == 0 && feedPageCache.isEmpty()) {
+            return 0;
+        }
+        int updated = 0;
+        int page = 0;
+        FollowServiceClient.FollowerListResponse followers;
+        do {
+            followers = followServiceClient.getFollowers(authorId, page, FOLLOWER_PAGE_SIZE, null).block();
+            if (followers == null || followers.getFollowerIds() == null) {
+                break;
+            }
+            for (Long followerId : followers.getFollowerIds()) {
+                feedPageCache.invalidate(followerId);
+                Optional<Timeline> timeline = timelineStore.get(followerId);
+                if (timeline.isPresent()) {
+                    update.accept(timeline.get());
+                    updated++;
+                }
+            }
+            page++;
+        } while (page < followers.getTotalPages());
+        return updated;
+    }
+
+    private static TimelineEntry toEntry(PostResponse post) {
+        return new TimelineEntry(post.getId(), post.getUserId(), post.getCreatedAt());
+    }
+}
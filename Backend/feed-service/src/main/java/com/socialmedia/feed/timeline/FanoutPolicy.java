@@ -0,0 +1,85 @@
+package com.socialmedia.feed.timeline;
+
+import com.socialmedia.feed.client.FollowServiceClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decides per author whether posts are pushed into follower timelines or
+ * pulled at read time.
+ *
+ * <p>Authors with at least {@code pullThreshold} followers are pulled:
+ * fanning their posts out would touch too many timelines per write. The
+ * follower count comes from follow-service and is cached for
+ * {@code statsTtl}. If the count is unavailable the author is pushed,
+ * which is always correct, only more expensive.</p>
+ */
+@Component
+@Slf4j
+public class FanoutPolicy {
+
+    private static final int MAX_CACHED_AUTHORS = 100_000;
+
+    private final FollowServiceClient followServiceClient;
+    private final long pullThreshold;
+    private final Duration statsTtl;
+    private final Clock clock;
+    private final Map<Long, CachedCount> followerCounts =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, CachedCount> eldest) {
+                    return size() > MAX_CACHED_AUTHORS;
+                }
+            });
+
+    @Autowired
+    public FanoutPolicy(
+            FollowServiceClient followServiceClient,
+            @Value("${feed.timeline.pull-threshold:10000}") long pullThreshold,
+            @Value("${feed.timeline.follower-stats-ttl:PT10M}") Duration statsTtl) {
+        this(followServiceClient, pullThreshold, statsTtl, Clock.systemUTC());
+    }
+
+    FanoutPolicy(FollowServiceClient followServiceClient, long pullThreshold, Duration statsTtl, Clock clock) {
+        this.followServiceClient = followServiceClient;
+        this.pullThreshold = pullThreshold;
+        this.statsTtl = statsTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * Emits true if the author's posts should be merged at read time
+     * rather than fanned out on write.
+     */
+    public Mono<Boolean> isPulled(Long authorId) {
+        Instant now = clock.instant();
+        CachedCount cached = followerCounts.get(authorId);
+        if (cached != null && !cached.fetchedAt.plus(statsTtl).isBefore(now)) {
+            return Mono.just(cached.followerCount >= pullThreshold);
+        }
+        return followServiceClient.getFollowStats(authorId, null)
+                .map(stats -> {
+                    followerCounts.put(authorId, new CachedCount(stats.getFollowerCount(), now));
+                    boolean pulled = stats.getFollowerCount() >= pullThreshold;
+                    if (pulled) {
+                        log.debug("User {} has {} followers, posts will be pulled at read time",
+                                authorId, stats.getFollowerCount());
+                    }
+                    return pulled;
+                })
+                .defaultIfEmpty(false);
+    }
+
+    private record CachedCount(long followerCount, Instant fetchedAt) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.socialmedia.feed.timeline;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Capped, time-ordered set of post references for one user.
+ * When the cap is exceeded the oldest entries are dropped.
+ *
+ * <p>Posts from high-follower accounts are not pushed here; the timeline
+ * only records which of those accounts the user follows so they can be
+ * merged in at read time.</p>
+ */
+public class Timeline {
+
+    private final int capacity;
+    private final Instant materializedAt;
+    private final NavigableSet<TimelineEntry> entries = new TreeSet<>(TimelineEntry.NEWEST_FIRST);
+    private final Set<Long> pulledAuthors = new HashSet<>();
+
+    public Timeline(int capacity, Instant materializedAt) {
+        this.capacity = capacity;
+        this.materializedAt = materializedAt;
+    }
+
+    public Instant getMaterializedAt() {
+        return materializedAt;
+    }
+
+    public synchronized void add(TimelineEntry entry) {
+        entries.add(entry);
+        trim();
+    }
+
+    public synchronized void addAll(Collection<TimelineEntry> newEntries) {
+        entries.addAll(newEntries);
+        trim();
+    }
+
+    public synchronized void removePost(Long postId) {
+        entries.removeIf(entry -> entry.getPostId().equals(postId));
+    }
+
+    public synchronized void removeAuthor(Long authorId) {
+        entries.removeIf(entry -> entry.getAuthorId().equals(authorId));
+        pulledAuthors.remove(authorId);
+    }
+
+    public synchronized void addPulledAuthor(Long authorId) {
+        pulledAuthors.add(authorId);
+    }
+
+    public synchronized void addPulledAuthors(Collection<Long> authorIds) {
+        pulledAuthors.addAll(authorIds);
+    }
+
+    /**
+     * Followed accounts whose posts are merged at read time.
+     */
+    public synchronized Set<Long> getPulledAuthors() {
+        return Set.copyOf(pulledAuthors);
+    }
+
+    /**
+     * Returns up to {@code limit} entries starting at {@code offset}, newest first.
+     */
+    public synchronized List<TimelineEntry> slice(int offset, int limit) {
+        List<TimelineEntry> result = new ArrayList<>(Math.min(limit, entries.size()));
+        Iterator<TimelineEntry> it = entries.iterator();
+        for (int skipped = 0; skipped < offset && it.hasNext(); skipped++) {
+            it.next();
+        }
+        while (result.size() < limit && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    /**
+     * Returns up to {@code limit} entries strictly after {@code position}
+     * in timeline order. Cost depends on {@code limit}, not on how deep
+     * {@code position} is.
+     */
+    public synchronized List<TimelineEntry> sliceAfter(TimelineEntry position, int limit) {
+        List<TimelineEntry> result = new ArrayList<>(Math.min(limit, entries.size()));
+        Iterator<TimelineEntry> it = entries.tailSet(position, false).iterator();
+        while (result.size() < limit && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void trim() {
+        while (entries.size() > capacity) {
+            entries.pollLast();
+        }
+    }
+}
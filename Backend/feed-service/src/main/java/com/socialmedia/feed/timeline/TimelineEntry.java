@@ -0,0 +1,26 @@
+package com.socialmedia.feed.timeline;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * A single post reference in a user's timeline. Only identifiers and the
+ * creation timestamp are kept; post bodies are hydrated from post-service
+ * at read time.
+ */
+@Value
+public class TimelineEntry {
+
+    /**
+     * Newest first, ties broken by descending post ID so ordering is total.
+     */
+    public static final Comparator<TimelineEntry> NEWEST_FIRST = Comparator
+            .comparing(TimelineEntry::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(TimelineEntry::getPostId, Comparator.reverseOrder());
+
+    Long postId;
+    Long authorId;
+    LocalDateTime createdAt;
+}
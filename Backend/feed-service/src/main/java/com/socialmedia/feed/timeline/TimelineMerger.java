@@ -0,0 +1,74 @@
+package com.socialmedia.feed.timeline;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded k-way merge of sorted sources.
+ *
+ * <p>Each source must already be sorted by the given comparator, and the
+ * comparator must be a total order (as {@link TimelineEntry#NEWEST_FIRST}
+ * is). The merged sequence is then the same on every call, so pages taken
+ * at different offsets never overlap or skip entries. Entries that compare
+ * equal are emitted once, which absorbs a post that is both in a timeline
+ * and in a pulled source.</p>
+ */
+public final class TimelineMerger {
+
+    private TimelineMerger() {
+    }
+
+    /**
+     * Returns up to {@code limit} merged entries starting at {@code offset}.
+     * At most {@code offset + limit} entries are taken from each source.
+     */
+    public static <T> List<T> merge(List<? extends List<T>> sources, Comparator<? super T> order,
+                                    int offset, int limit) {
+        PriorityQueue<Cursor<T>> heap = new PriorityQueue<>(Math.max(1, sources.size()),
+                (a, b) -> order.compare(a.head(), b.head()));
+        for (List<T> source : sources) {
+            if (!source.isEmpty()) {
+                heap.add(new Cursor<>(source));
+            }
+        }
+
+        List<T> page = new ArrayList<>(limit);
+        T previous = null;
+        int position = 0;
+        while (!heap.isEmpty() && page.size() < limit) {
+            Cursor<T> cursor = heap.poll();
+            T next = cursor.head();
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+            if (previous != null && order.compare(previous, next) == 0) {
+                continue;
+            }
+            previous = next;
+            if (position++ >= offset) {
+                page.add(next);
+            }
+        }
+        return page;
+    }
+
+    private static final class Cursor<T> {
+
+        private final List<T> source;
+        private int index;
+
+        private Cursor(List<T> source) {
+            this.source = source;
+        }
+
+        private T head() {
+            return source.get(index);
+        }
+
+        private boolean advance() {
+            return ++index < source.size();
+        }
+    }
+}
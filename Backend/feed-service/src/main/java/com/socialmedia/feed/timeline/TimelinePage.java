@@ -0,0 +1,19 @@
+package com.socialmedia.feed.timeline;
+
+import com.socialmedia.feed.dto.PostResponse;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a hybrid timeline: the merged entries in feed order, plus the
+ * posts already fetched for pulled authors so they need not be hydrated again.
+ */
+@Value
+public class TimelinePage {
+
+    List<TimelineEntry> entries;
+    Map<Long, PostResponse> pulledPosts;
+    long totalElements;
+}
@@ -0,0 +1,102 @@
+package com.socialmedia.feed.timeline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * In-memory store of precomputed per-user timelines.
+ *
+ * <p>Only users who have read their feed recently have a timeline; fan-out
+ * updates for everyone else are dropped and their timeline is rebuilt from
+ * source on the next read. The number of timelines is bounded with LRU
+ * eviction and each timeline is rebuilt once it is older than {@code maxAge},
+ * which also bounds how long a missed fan-out event can leave it stale.</p>
+ */
+@Component
+@Slf4j
+public class TimelineStore {
+
+    private final int capacity;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final Map<Long, Timeline> timelines;
+
+    @Autowired
+    public TimelineStore(
+            @Value("${feed.timeline.capacity:500}") int capacity,
+            @Value("${feed.timeline.max-users:50000}") int maxUsers,
+            @Value("${feed.timeline.max-age:PT6H}") Duration maxAge) {
+        this(capacity, maxUsers, maxAge, Clock.systemUTC());
+    }
+
+    TimelineStore(int capacity, int maxUsers, Duration maxAge, Clock clock) {
+        this.capacity = capacity;
+        this.maxAge = maxAge;
+        this.clock = clock;
+        this.timelines = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Timeline> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the user's timeline if it exists and is still fresh.
+     */
+    public Optional<Timeline> get(Long userId) {
+        Timeline timeline = timelines.get(userId);
+        if (timeline == null) {
+            return Optional.empty();
+        }
+        if (timeline.getMaterializedAt().plus(maxAge).isBefore(clock.instant())) {
+            log.debug("Timeline for user {} expired, dropping", userId);
+            timelines.remove(userId, timeline);
+            return Optional.empty();
+        }
+        return Optional.of(timeline);
+    }
+
+    /**
+     * Replaces the user's timeline with the given entries.
+     */
+    public Timeline materialize(Long userId, Collection<TimelineEntry> entries) {
+        return materialize(userId, entries, Set.of());
+    }
+
+    /**
+     * Replaces the user's timeline with the given pushed entries and the
+     * set of followed accounts to merge at read time.
+     */
+    public Timeline materialize(Long userId, Collection<TimelineEntry> entries, Set<Long> pulledAuthors) {
+        Timeline timeline = new Timeline(capacity, Instant.now(clock));
+        timeline.addAll(entries);
+        timeline.addPulledAuthors(pulledAuthors);
+        timelines.put(userId, timeline);
+        return timeline;
+    }
+
+    public void invalidate(Long userId) {
+        timelines.remove(userId);
+    }
+
+    public int size() {
+        return timelines.size();
+    }
+}
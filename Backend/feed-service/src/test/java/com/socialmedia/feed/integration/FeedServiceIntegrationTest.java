@@ -1,6 +1,7 @@
 package com.socialmedia.feed.integration;
 
 import com.socialmedia.feed.FeedServiceApplication;
+import com.socialmedia.feed.cache.FeedPageCache;
 import com.socialmedia.feed.client.CommentServiceClient;
 import com.socialmedia.feed.client.FollowServiceClient;
 import com.socialmedia.feed.client.LikeServiceClient;
@@ -8,9 +9,11 @@ import com.socialmedia.feed.client.PostServiceClient;
 import com.socialmedia.feed.dto.FeedResponse;
 import com.socialmedia.feed.dto.PostListResponse;
 import com.socialmedia.feed.dto.PostResponse;
+import com.socialmedia.feed.timeline.TimelineStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.client.TestRestTemplate;
@@ -18,12 +21,15 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -37,11 +43,18 @@ import static org.mockito.Mockito.when;
     classes = FeedServiceApplication.class,
     webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
 )
+@AutoConfigureObservability(tracing = false)
 public class FeedServiceIntegrationTest {
 
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private TimelineStore timelineStore;
+
+    @Autowired
+    private FeedPageCache feedPageCache;
+
     @MockBean
     private FollowServiceClient followServiceClient;
 
@@ -60,6 +73,9 @@ public class FeedServiceIntegrationTest {
     void setUp() {
         headers = new HttpHeaders();
         headers.set("X-User-Id", "1");
+        // Each test sets up its own follow graph, so start from the pull path
+        timelineStore.invalidate(1L);
+        feedPageCache.invalidate(1L);
     }
 
     @Test
@@ -69,7 +85,7 @@ public class FeedServiceIntegrationTest {
         List<Long> followingIds = List.of(2L, 3L);
         
         when(followServiceClient.getFollowingIds(eq(currentUserId), anyString()))
-                .thenReturn(followingIds);
+                .thenReturn(Mono.just(followingIds));
         
         // Given: Posts from followed users
         PostResponse post1 = PostResponse.builder()
@@ -89,22 +105,22 @@ public class FeedServiceIntegrationTest {
                 .build();
         
         when(postServiceClient.getPostsByUser(eq(2L), anyInt(), anyInt(), anyString()))
-                .thenReturn(PostListResponse.builder()
+                .thenReturn(Mono.just(PostListResponse.builder()
                         .posts(List.of(post1))
                         .page(0)
                         .size(100)
                         .totalElements(1)
                         .totalPages(1)
-                        .build());
+                        .build()));
         
         when(postServiceClient.getPostsByUser(eq(3L), anyInt(), anyInt(), anyString()))
-                .thenReturn(PostListResponse.builder()
+                .thenReturn(Mono.just(PostListResponse.builder()
                         .posts(List.of(post2))
                         .page(0)
                         .size(100)
                         .totalElements(1)
                         .totalPages(1)
-                        .build());
+                        .build()));
         
         // Given: Metadata for posts
         Map<Long, Long> likeCounts = new HashMap<>();
@@ -112,11 +128,11 @@ public class FeedServiceIntegrationTest {
         likeCounts.put(102L, 3L);
         
         when(likeServiceClient.getBatchLikeCounts(anyList(), anyString()))
-                .thenReturn(likeCounts);
-        when(likeServiceClient.checkIfUserLiked(anyLong(), anyString()))
-                .thenReturn(false);
-        when(commentServiceClient.getCommentCount(anyLong(), anyString()))
-                .thenReturn(2L);
+                .thenReturn(Mono.just(likeCounts));
+        when(likeServiceClient.getLikedPostIds(anyLong(), anyList(), anyString()))
+                .thenReturn(Mono.just(Set.of()));
+        when(commentServiceClient.getBatchCommentCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of(101L, 2L, 102L, 2L)));
         
         // When: Request feed
         ResponseEntity<FeedResponse> response = restTemplate.exchange(
@@ -142,13 +158,62 @@ public class FeedServiceIntegrationTest {
         assertThat(feed.getPosts().get(0).getLikedByCurrentUser()).isNotNull();
     }
 
+    @Test
+    void testGetFeed_ReportsStageTimingsAndPublishesMetrics() {
+        // Given: User 1 follows user 2, who has one post
+        when(followServiceClient.getFollowingIds(eq(1L), anyString()))
+                .thenReturn(Mono.just(List.of(2L)));
+        when(postServiceClient.getPostsByUser(eq(2L), anyInt(), anyInt(), anyString()))
+                .thenReturn(Mono.just(PostListResponse.builder()
+                        .posts(List.of(PostResponse.builder()
+                                .id(201L)
+                                .userId(2L)
+                                .content("Timed post")
+                                .createdAt(LocalDateTime.now().minusMinutes(5))
+                                .build()))
+                        .totalElements(1)
+                        .totalPages(1)
+                        .build()));
+        when(likeServiceClient.getBatchLikeCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of()));
+        when(likeServiceClient.getLikedPostIds(anyLong(), anyList(), anyString()))
+                .thenReturn(Mono.just(Set.of()));
+        when(commentServiceClient.getBatchCommentCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of()));
+
+        // When: Request feed
+        ResponseEntity<FeedResponse> response = restTemplate.exchange(
+                "/api/feed?page=0&size=20",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                FeedResponse.class
+        );
+
+        // Then: Every stage of the pull path is reported to the client
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String serverTiming = response.getHeaders().getFirst("Server-Timing");
+        assertThat(serverTiming).startsWith("cache;desc=\"miss\"");
+        for (String stage : List.of("follow", "posts", "sort", "likes", "liked", "comments", "profiles", "total")) {
+            assertThat(serverTiming).containsPattern(stage + ";dur=\\d+\\.\\d");
+        }
+
+        // Then: The same stages are published for Prometheus
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody())
+                .contains("feed_stage_duration_seconds_bucket{stage=\"follow\"")
+                .contains("feed_generation_duration_seconds_count{mode=\"page\"")
+                .contains("feed_fanout_width_accounts_count")
+                .contains("feed_posts_returned_posts_sum");
+    }
+
     @Test
     void testGetFeed_WithNoFollows_ReturnsEmptyFeed() {
         // Given: User doesn't follow anyone
         Long currentUserId = 1L;
         
         when(followServiceClient.getFollowingIds(eq(currentUserId), anyString()))
-                .thenReturn(List.of());
+                .thenReturn(Mono.just(List.of()));
         
         // When: Request feed
         ResponseEntity<FeedResponse> response = restTemplate.exchange(
@@ -174,7 +239,7 @@ public class FeedServiceIntegrationTest {
         List<Long> followingIds = List.of(2L);
         
         when(followServiceClient.getFollowingIds(eq(currentUserId), anyString()))
-                .thenReturn(followingIds);
+                .thenReturn(Mono.just(followingIds));
         
         // Given: Multiple posts from followed user
         List<PostResponse> posts = List.of(
@@ -190,21 +255,21 @@ public class FeedServiceIntegrationTest {
         );
         
         when(postServiceClient.getPostsByUser(eq(2L), anyInt(), anyInt(), anyString()))
-                .thenReturn(PostListResponse.builder()
+                .thenReturn(Mono.just(PostListResponse.builder()
                         .posts(posts)
                         .page(0)
                         .size(100)
                         .totalElements(3)
                         .totalPages(1)
-                        .build());
+                        .build()));
         
         // Given: Metadata
         when(likeServiceClient.getBatchLikeCounts(anyList(), anyString()))
-                .thenReturn(new HashMap<>());
-        when(likeServiceClient.checkIfUserLiked(anyLong(), anyString()))
-                .thenReturn(false);
-        when(commentServiceClient.getCommentCount(anyLong(), anyString()))
-                .thenReturn(0L);
+                .thenReturn(Mono.just(new HashMap<>()));
+        when(likeServiceClient.getLikedPostIds(anyLong(), anyList(), anyString()))
+                .thenReturn(Mono.just(Set.of()));
+        when(commentServiceClient.getBatchCommentCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(new HashMap<>()));
         
         // When: Request first page with size 2
         ResponseEntity<FeedResponse> response = restTemplate.exchange(
@@ -237,4 +302,49 @@ public class FeedServiceIntegrationTest {
         // Then: Response is bad request (missing required header)
         assertThat(response.getStatusCode()).isIn(HttpStatus.BAD_REQUEST, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    @Test
+    void testStreamFeed_EmitsPostsThenPatchesThenEnd() {
+        // Given: User 1 follows user 2, who has one post
+        when(followServiceClient.getFollowingIds(eq(1L), anyString()))
+                .thenReturn(Mono.just(List.of(2L)));
+        PostResponse post = PostResponse.builder()
+                .id(101L)
+                .userId(2L)
+                .content("Post from user 2")
+                .createdAt(LocalDateTime.now().minusHours(1))
+                .updatedAt(LocalDateTime.now().minusHours(1))
+                .build();
+        when(postServiceClient.getPostsByUser(eq(2L), anyInt(), anyInt(), anyString()))
+                .thenReturn(Mono.just(PostListResponse.builder().posts(List.of(post)).build()));
+        when(likeServiceClient.getBatchLikeCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of(101L, 5L)));
+        when(likeServiceClient.getLikedPostIds(anyLong(), anyList(), anyString()))
+                .thenReturn(Mono.just(Set.of(101L)));
+        when(commentServiceClient.getBatchCommentCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of(101L, 2L)));
+
+        // When: Request the feed as NDJSON
+        HttpHeaders streamHeaders = new HttpHeaders();
+        streamHeaders.addAll(headers);
+        streamHeaders.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/feed/stream?page=0&size=20",
+                HttpMethod.GET,
+                new HttpEntity<>(streamHeaders),
+                String.class
+        );
+
+        // Then: One JSON event per line: the post, its patches, then the end event
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_NDJSON)).isTrue();
+        List<String> lines = response.getBody().lines().filter(line -> !line.isBlank()).toList();
+        assertThat(lines.get(0)).contains("\"type\":\"post\"").contains("\"id\":101");
+        assertThat(lines.subList(1, lines.size() - 1)).allMatch(line -> line.contains("\"type\":\"patch\""));
+        assertThat(lines.subList(1, lines.size() - 1))
+                .anyMatch(line -> line.contains("\"likeCount\":5"))
+                .anyMatch(line -> line.contains("\"commentCount\":2"))
+                .anyMatch(line -> line.contains("\"likedByCurrentUser\":true"));
+        assertThat(lines.get(lines.size() - 1)).contains("\"type\":\"end\"").contains("\"last\":true");
+    }
 }
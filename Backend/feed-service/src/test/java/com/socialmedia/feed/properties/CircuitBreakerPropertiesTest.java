@@ -0,0 +1,179 @@
+package com.socialmedia.feed.properties;
+
+import com.socialmedia.feed.client.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.jqwik.api.*;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Property-Based Tests for per-upstream circuit breakers
+ * Feature: social-media-backend
+ */
+public class CircuitBreakerPropertiesTest {
+
+    private static final int WINDOW_SIZE = 10;
+    private static final int MINIMUM_CALLS = 5;
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+    private static final int HALF_OPEN_CALLS = 2;
+
+    /**
+     * The breaker opens exactly when, with enough calls recorded, the
+     * failure share of the last calls reaches the threshold. While open,
+     * calls fail at once without reaching the upstream.
+     */
+    @Property(tries = 200)
+    void opensWhenFailureRateOfRecentCallsReachesThreshold(
+            @ForAll("outcomes") List<Boolean> outcomes) {
+
+        CircuitBreaker breaker = breaker(new MutableClock(), 100);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        int recorded = 0;
+        for (boolean failure : outcomes) {
+            if (breaker.getState() == CircuitBreaker.State.OPEN) {
+                break;
+            }
+            call(breaker, upstreamCalls, failure);
+            recorded++;
+            List<Boolean> window = outcomes.subList(Math.max(0, recorded - WINDOW_SIZE), recorded);
+            long failures = window.stream().filter(f -> f).count();
+            boolean shouldOpen = window.size() >= MINIMUM_CALLS && failures * 2 >= window.size();
+            assertThat(breaker.getState() == CircuitBreaker.State.OPEN).isEqualTo(shouldOpen);
+        }
+
+        if (breaker.getState() == CircuitBreaker.State.OPEN) {
+            int before = upstreamCalls.get();
+            assertThatThrownBy(() -> call(breaker, upstreamCalls, false))
+                    .isInstanceOf(CircuitBreaker.CallNotPermittedException.class);
+            assertThat(upstreamCalls).hasValue(before);
+        }
+    }
+
+    /**
+     * After the open duration a limited number of trial calls is let
+     * through; if they succeed the breaker closes, if one fails it opens
+     * again.
+     */
+    @Property(tries = 100)
+    void halfOpenTrialsDecideWhetherBreakerCloses(
+            @ForAll boolean trialFails) {
+
+        MutableClock clock = new MutableClock();
+        CircuitBreaker breaker = breaker(clock, 100);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            call(breaker, upstreamCalls, true);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        clock.advance(OPEN_DURATION);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        call(breaker, upstreamCalls, false);
+        call(breaker, upstreamCalls, trialFails);
+        assertThat(breaker.getState())
+                .isEqualTo(trialFails ? CircuitBreaker.State.OPEN : CircuitBreaker.State.CLOSED);
+    }
+
+    /**
+     * No more than the configured number of calls are in flight at once;
+     * calls beyond that are rejected immediately instead of queueing, and
+     * permits are returned when calls complete.
+     */
+    @Property(tries = 100)
+    void bulkheadRejectsCallsBeyondConcurrencyLimit(
+            @ForAll("maxConcurrentCalls") int maxConcurrentCalls) {
+
+        CircuitBreaker breaker = breaker(new MutableClock(), maxConcurrentCalls);
+        Sinks.Empty<Void> release = Sinks.empty();
+
+        for (int i = 0; i < maxConcurrentCalls; i++) {
+            breaker.protect(release.asMono()).subscribe();
+        }
+        AtomicReference<Throwable> rejected = new AtomicReference<>();
+        breaker.protect(Mono.just(1)).subscribe(value -> { }, rejected::set);
+        assertThat(rejected.get()).isInstanceOf(CircuitBreaker.CallNotPermittedException.class);
+
+        release.tryEmitEmpty();
+        assertThat(breaker.protect(Mono.just(1)).block()).isEqualTo(1);
+    }
+
+    // ========== Arbitraries (Generators) ==========
+
+    @Provide
+    Arbitrary<List<Boolean>> outcomes() {
+        return Arbitraries.of(true, false).list().ofMinSize(1).ofMaxSize(40);
+    }
+
+    @Provide
+    Arbitrary<Integer> maxConcurrentCalls() {
+        return Arbitraries.integers().between(1, 20);
+    }
+
+    // ========== Helpers ==========
+
+    private static CircuitBreaker breaker(Clock clock, int maxConcurrentCalls) {
+        return CircuitBreaker.builder()
+                .name("like-service")
+                .windowSize(WINDOW_SIZE)
+                .minimumCalls(MINIMUM_CALLS)
+                .failureRateThreshold(0.5)
+                .openDuration(OPEN_DURATION)
+                .halfOpenCalls(HALF_OPEN_CALLS)
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .callTimeout(Duration.ofSeconds(1))
+                .meterRegistry(new SimpleMeterRegistry())
+                .clock(clock)
+                .build();
+    }
+
+    private static void call(CircuitBreaker breaker, AtomicInteger upstreamCalls, boolean failure) {
+        Mono<Integer> upstream = Mono.fromCallable(() -> {
+            upstreamCalls.incrementAndGet();
+            if (failure) {
+                throw new IllegalStateException("upstream failed");
+            }
+            return 1;
+        });
+        breaker.protect(upstream)
+                .onErrorResume(e -> e instanceof IllegalStateException, e -> Mono.empty())
+                .block();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
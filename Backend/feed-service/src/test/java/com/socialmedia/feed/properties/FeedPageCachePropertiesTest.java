@@ -0,0 +1,107 @@
+package com.socialmedia.feed.properties;
+
+import com.socialmedia.feed.cache.FeedPageCache;
+import com.socialmedia.feed.dto.EnrichedPostResponse;
+import com.socialmedia.feed.dto.FeedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.jqwik.api.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property-Based Tests for the feed page cache
+ * Feature: social-media-backend
+ */
+public class FeedPageCachePropertiesTest {
+
+    /**
+     * However pages are added, the cache never holds more users or pages
+     * per user than configured, and every lookup is counted as a hit or a
+     * miss.
+     */
+    @Property(tries = 100)
+    void cacheStaysWithinBoundsAndCountsLookups(
+            @ForAll("userIds") List<Long> userIds,
+            @ForAll("pages") List<Integer> pages) {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FeedPageCache cache = new FeedPageCache(5, 2, Duration.ofMinutes(1), 10, registry);
+
+        int lookups = 0;
+        for (int i = 0; i < userIds.size(); i++) {
+            Long userId = userIds.get(i);
+            String key = FeedPageCache.pageKey(pages.get(i % pages.size()), 20);
+            if (cache.get(userId, key).isEmpty()) {
+                cache.put(userId, key, page(userId * 100 + i));
+            }
+            lookups++;
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(5 * 2);
+        double hits = registry.get("cache.gets").tag("result", "hit").counter().count();
+        double misses = registry.get("cache.gets").tag("result", "miss").counter().count();
+        assertThat(hits + misses).isEqualTo(lookups);
+        assertThat(registry.get("cache.size").gauge().value()).isEqualTo(cache.size());
+    }
+
+    /**
+     * Count changes on a cached post are tolerated until they add up to the
+     * threshold; then every user showing the post loses their pages, while
+     * users not showing it keep theirs.
+     */
+    @Property(tries = 100)
+    void countChangesInvalidateAtThreshold(
+            @ForAll("deltas") List<Long> deltas) {
+
+        long threshold = 10;
+        FeedPageCache cache = new FeedPageCache(100, 4, Duration.ofMinutes(1), threshold, new SimpleMeterRegistry());
+        String key = FeedPageCache.pageKey(0, 20);
+        cache.put(1L, key, page(7L, 8L));
+        cache.put(2L, key, page(7L));
+        cache.put(3L, key, page(9L));
+
+        long changed = 0;
+        for (Long delta : deltas) {
+            cache.onCountChanged(7L, delta);
+            changed += Math.abs(delta);
+            boolean expectCached = changed < threshold;
+            assertThat(cache.get(1L, key).isPresent()).isEqualTo(expectCached);
+            assertThat(cache.get(2L, key).isPresent()).isEqualTo(expectCached);
+            if (!expectCached) {
+                break;
+            }
+        }
+        assertThat(cache.get(3L, key)).isPresent();
+    }
+
+    // ========== Arbitraries (Generators) ==========
+
+    @Provide
+    Arbitrary<List<Long>> userIds() {
+        return Arbitraries.longs().between(1L, 20L).list().ofMinSize(1).ofMaxSize(100);
+    }
+
+    @Provide
+    Arbitrary<List<Integer>> pages() {
+        return Arbitraries.integers().between(0, 4).list().ofMinSize(1).ofMaxSize(10);
+    }
+
+    @Provide
+    Arbitrary<List<Long>> deltas() {
+        return Arbitraries.longs().between(-3L, 3L).list().ofMinSize(1).ofMaxSize(30);
+    }
+
+    // ========== Helpers ==========
+
+    private static FeedResponse page(Long... postIds) {
+        return FeedResponse.builder()
+                .posts(List.of(postIds).stream()
+                        .map(id -> EnrichedPostResponse.builder().id(id).build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.socialmedia.feed.properties;
 
+import com.socialmedia.feed.cache.FeedPageCache;
 import com.socialmedia.feed.client.CommentServiceClient;
 import com.socialmedia.feed.client.FollowServiceClient;
 import com.socialmedia.feed.client.LikeServiceClient;
@@ -7,18 +8,35 @@ import com.socialmedia.feed.client.PostServiceClient;
 import com.socialmedia.feed.client.UserServiceClient;
 import com.socialmedia.feed.dto.EnrichedPostResponse;
 import com.socialmedia.feed.dto.FeedResponse;
+import com.socialmedia.feed.dto.FeedStreamEvent;
 import com.socialmedia.feed.dto.PostListResponse;
 import com.socialmedia.feed.dto.PostResponse;
+import com.socialmedia.feed.dto.UserProfileResponse;
+import com.socialmedia.feed.metrics.FeedMetrics;
+import com.socialmedia.feed.metrics.StageTimings;
 import com.socialmedia.feed.service.FeedService;
+import com.socialmedia.feed.service.RankingService;
+import com.socialmedia.feed.service.TimelineService;
+import com.socialmedia.feed.timeline.FanoutPolicy;
+import com.socialmedia.feed.timeline.TimelineStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import net.jqwik.api.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 
@@ -40,7 +58,13 @@ public class FeedServicePropertiesTest {
             postServiceClient,
             likeServiceClient,
             commentServiceClient,
-            userServiceClient
+            userServiceClient,
+            new TimelineService(new TimelineStore(500, 1000, Duration.ofHours(1)),
+                    new FanoutPolicy(followServiceClient, 10_000, Duration.ofMinutes(10)),
+                    followServiceClient, postServiceClient, pageCache()),
+            pageCache(),
+            Mockito.mock(RankingService.class),
+            new FeedMetrics(new SimpleMeterRegistry())
         );
     }
     
@@ -71,18 +95,25 @@ public class FeedServicePropertiesTest {
         mockLikeServiceClient = Mockito.mock(LikeServiceClient.class);
         mockCommentServiceClient = Mockito.mock(CommentServiceClient.class);
         UserServiceClient mockUserServiceClient = Mockito.mock(UserServiceClient.class);
+        when(mockUserServiceClient.getUserProfiles(anyList(), anyString())).thenReturn(Mono.just(Map.of()));
         
         FeedService feedService = new FeedService(
             mockFollowServiceClient,
             mockPostServiceClient,
             mockLikeServiceClient,
             mockCommentServiceClient,
-            mockUserServiceClient
+            mockUserServiceClient,
+            new TimelineService(new TimelineStore(500, 1000, Duration.ofHours(1)),
+                    new FanoutPolicy(mockFollowServiceClient, 10_000, Duration.ofMinutes(10)),
+                    mockFollowServiceClient, mockPostServiceClient, pageCache()),
+            pageCache(),
+            Mockito.mock(RankingService.class),
+            new FeedMetrics(new SimpleMeterRegistry())
         );
         
         // Setup: Mock follow service to return the followed users
         when(mockFollowServiceClient.getFollowingIds(eq(currentUserId), anyString()))
-                .thenReturn(followedUserIds);
+                .thenReturn(Mono.just(followedUserIds));
         
         // Setup: Mock post service to return posts for each followed user
         for (Long userId : followedUserIds) {
@@ -95,16 +126,16 @@ public class FeedServicePropertiesTest {
                     .totalPages(1)
                     .build();
             when(mockPostServiceClient.getPostsByUser(eq(userId), anyInt(), anyInt(), anyString()))
-                    .thenReturn(postListResponse);
+                    .thenReturn(Mono.just(postListResponse));
         }
         
         // Setup: Mock like and comment services
         when(mockLikeServiceClient.getBatchLikeCounts(anyList(), anyString()))
-                .thenReturn(new HashMap<>());
-        when(mockLikeServiceClient.checkIfUserLiked(anyLong(), anyString()))
-                .thenReturn(false);
-        when(mockCommentServiceClient.getCommentCount(anyLong(), anyString()))
-                .thenReturn(0L);
+                .thenReturn(Mono.just(new HashMap<>()));
+        when(mockLikeServiceClient.getLikedPostIds(anyLong(), anyList(), anyString()))
+                .thenReturn(Mono.just(Set.of()));
+        when(mockCommentServiceClient.getBatchCommentCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(new HashMap<>()));
         
         // When: Generate feed
         FeedResponse feed = feedService.generateFeed(currentUserId, 0, 20, "test-token");
@@ -148,18 +179,25 @@ public class FeedServicePropertiesTest {
         mockLikeServiceClient = Mockito.mock(LikeServiceClient.class);
         mockCommentServiceClient = Mockito.mock(CommentServiceClient.class);
         UserServiceClient mockUserServiceClient = Mockito.mock(UserServiceClient.class);
+        when(mockUserServiceClient.getUserProfiles(anyList(), anyString())).thenReturn(Mono.just(Map.of()));
         
         FeedService feedService = new FeedService(
             mockFollowServiceClient,
             mockPostServiceClient,
             mockLikeServiceClient,
             mockCommentServiceClient,
-            mockUserServiceClient
+            mockUserServiceClient,
+            new TimelineService(new TimelineStore(500, 1000, Duration.ofHours(1)),
+                    new FanoutPolicy(mockFollowServiceClient, 10_000, Duration.ofMinutes(10)),
+                    mockFollowServiceClient, mockPostServiceClient, pageCache()),
+            pageCache(),
+            Mockito.mock(RankingService.class),
+            new FeedMetrics(new SimpleMeterRegistry())
         );
         
         // Setup: Mock follow service
         when(mockFollowServiceClient.getFollowingIds(eq(currentUserId), anyString()))
-                .thenReturn(followedUserIds);
+                .thenReturn(Mono.just(followedUserIds));
         
         // Setup: Mock post service to return only non-deleted posts (as it should)
         List<PostResponse> nonDeletedPosts = allPosts.stream()
@@ -180,16 +218,16 @@ public class FeedServicePropertiesTest {
                     .totalPages(1)
                     .build();
             when(mockPostServiceClient.getPostsByUser(eq(userId), anyInt(), anyInt(), anyString()))
-                    .thenReturn(postListResponse);
+                    .thenReturn(Mono.just(postListResponse));
         }
         
         // Setup: Mock like and comment services
         when(mockLikeServiceClient.getBatchLikeCounts(anyList(), anyString()))
-                .thenReturn(new HashMap<>());
-        when(mockLikeServiceClient.checkIfUserLiked(anyLong(), anyString()))
-                .thenReturn(false);
-        when(mockCommentServiceClient.getCommentCount(anyLong(), anyString()))
-                .thenReturn(0L);
+                .thenReturn(Mono.just(new HashMap<>()));
+        when(mockLikeServiceClient.getLikedPostIds(anyLong(), anyList(), anyString()))
+                .thenReturn(Mono.just(Set.of()));
+        when(mockCommentServiceClient.getBatchCommentCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(new HashMap<>()));
         
         // When: Generate feed
         FeedResponse feed = feedService.generateFeed(currentUserId, 0, 20, "test-token");
@@ -228,18 +266,25 @@ public class FeedServicePropertiesTest {
         mockLikeServiceClient = Mockito.mock(LikeServiceClient.class);
         mockCommentServiceClient = Mockito.mock(CommentServiceClient.class);
         UserServiceClient mockUserServiceClient = Mockito.mock(UserServiceClient.class);
+        when(mockUserServiceClient.getUserProfiles(anyList(), anyString())).thenReturn(Mono.just(Map.of()));
         
         FeedService feedService = new FeedService(
             mockFollowServiceClient,
             mockPostServiceClient,
             mockLikeServiceClient,
             mockCommentServiceClient,
-            mockUserServiceClient
+            mockUserServiceClient,
+            new TimelineService(new TimelineStore(500, 1000, Duration.ofHours(1)),
+                    new FanoutPolicy(mockFollowServiceClient, 10_000, Duration.ofMinutes(10)),
+                    mockFollowServiceClient, mockPostServiceClient, pageCache()),
+            pageCache(),
+            Mockito.mock(RankingService.class),
+            new FeedMetrics(new SimpleMeterRegistry())
         );
         
         // Setup: Mock follow service
         when(mockFollowServiceClient.getFollowingIds(eq(currentUserId), anyString()))
-                .thenReturn(followedUserIds);
+                .thenReturn(Mono.just(followedUserIds));
         
         // Setup: Mock post service
         for (Long userId : followedUserIds) {
@@ -252,24 +297,30 @@ public class FeedServicePropertiesTest {
                     .totalPages(1)
                     .build();
             when(mockPostServiceClient.getPostsByUser(eq(userId), anyInt(), anyInt(), anyString()))
-                    .thenReturn(postListResponse);
+                    .thenReturn(Mono.just(postListResponse));
         }
         
         // Setup: Mock like service with specific metadata
         Map<Long, Long> likeCounts = new HashMap<>();
+        Set<Long> likedPostIds = new HashSet<>();
         for (Map.Entry<Long, PostMetadata> entry : metadata.entrySet()) {
             likeCounts.put(entry.getKey(), entry.getValue().getLikeCount());
-            when(mockLikeServiceClient.checkIfUserLiked(eq(entry.getKey()), anyString()))
-                    .thenReturn(entry.getValue().isLikedByUser());
+            if (entry.getValue().isLikedByUser()) {
+                likedPostIds.add(entry.getKey());
+            }
         }
         when(mockLikeServiceClient.getBatchLikeCounts(anyList(), anyString()))
-                .thenReturn(likeCounts);
+                .thenReturn(Mono.just(likeCounts));
+        when(mockLikeServiceClient.getLikedPostIds(eq(currentUserId), anyList(), anyString()))
+                .thenReturn(Mono.just(likedPostIds));
         
         // Setup: Mock comment service with specific metadata
+        Map<Long, Long> commentCounts = new HashMap<>();
         for (Map.Entry<Long, PostMetadata> entry : metadata.entrySet()) {
-            when(mockCommentServiceClient.getCommentCount(eq(entry.getKey()), anyString()))
-                    .thenReturn(entry.getValue().getCommentCount());
+            commentCounts.put(entry.getKey(), entry.getValue().getCommentCount());
         }
+        when(mockCommentServiceClient.getBatchCommentCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(commentCounts));
         
         // When: Generate feed
         FeedResponse feed = feedService.generateFeed(currentUserId, 0, 20, "test-token");
@@ -279,7 +330,402 @@ public class FeedServicePropertiesTest {
             assertThat(post.getLikeCount()).isNotNull();
             assertThat(post.getCommentCount()).isNotNull();
             assertThat(post.getLikedByCurrentUser()).isNotNull();
+            assertThat(post.getCommentCount()).isEqualTo(commentCounts.getOrDefault(post.getId(), 0L));
+            assertThat(post.getLikedByCurrentUser()).isEqualTo(likedPostIds.contains(post.getId()));
+        }
+    }
+
+    /**
+     * Upstream calls for a page run concurrently and share one deadline:
+     * each followed user's posts only arrive once every post request has
+     * been sent, and a followed user whose posts never arrive is left out
+     * when the deadline passes.
+     */
+    @Property(tries = 5)
+    void feedFanOutIsConcurrentAndBoundedByDeadline(
+            @ForAll("userId") Long currentUserId,
+            @ForAll("severalFollowedUsers") List<Long> followedUserIds) {
+
+        mockFollowServiceClient = Mockito.mock(FollowServiceClient.class);
+        mockPostServiceClient = Mockito.mock(PostServiceClient.class);
+        mockLikeServiceClient = Mockito.mock(LikeServiceClient.class);
+        mockCommentServiceClient = Mockito.mock(CommentServiceClient.class);
+        UserServiceClient mockUserServiceClient = Mockito.mock(UserServiceClient.class);
+        when(mockUserServiceClient.getUserProfiles(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.<Long, UserProfileResponse>of()).delayElement(Duration.ofMillis(100)));
+
+        FeedService feedService = new FeedService(
+            mockFollowServiceClient,
+            mockPostServiceClient,
+            mockLikeServiceClient,
+            mockCommentServiceClient,
+            mockUserServiceClient,
+            new TimelineService(new TimelineStore(500, 1000, Duration.ofHours(1)),
+                    new FanoutPolicy(mockFollowServiceClient, 10_000, Duration.ofMinutes(10)),
+                    mockFollowServiceClient, mockPostServiceClient, pageCache()),
+            pageCache(),
+            Mockito.mock(RankingService.class),
+            new FeedMetrics(new SimpleMeterRegistry())
+        );
+        ReflectionTestUtils.setField(feedService, "deadline", Duration.ofMillis(1500));
+        Long slowUserId = followedUserIds.get(0);
+        // Released once every fast user's posts have been requested, so a
+        // fan-out that waited for one call before the next would miss them all
+        int fastUsers = followedUserIds.size() - 1;
+        AtomicInteger requested = new AtomicInteger();
+        Sinks.Empty<Void> allRequested = Sinks.empty();
+
+        when(mockFollowServiceClient.getFollowingIds(eq(currentUserId), anyString()))
+                .thenReturn(Mono.just(followedUserIds));
+        for (Long userId : followedUserIds) {
+            PostResponse post = PostResponse.builder()
+                    .id(userId)
+                    .userId(userId)
+                    .content("Post from " + userId)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build();
+            Mono<PostListResponse> posts = userId.equals(slowUserId)
+                    ? Mono.never()
+                    : Mono.just(PostListResponse.builder().posts(List.of(post)).build())
+                            .delayUntil(page -> allRequested.asMono())
+                            .doOnSubscribe(subscription -> {
+                                if (requested.incrementAndGet() == fastUsers) {
+                                    allRequested.tryEmitEmpty();
+                                }
+                            });
+            when(mockPostServiceClient.getPostsByUser(eq(userId), anyInt(), anyInt(), anyString()))
+                    .thenReturn(posts);
+        }
+        when(mockLikeServiceClient.getBatchLikeCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(new HashMap<>()));
+        when(mockLikeServiceClient.getLikedPostIds(anyLong(), anyList(), anyString()))
+                .thenReturn(Mono.just(Set.<Long>of()).delayElement(Duration.ofMillis(100)));
+        when(mockCommentServiceClient.getBatchCommentCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.<Long, Long>of()).delayElement(Duration.ofMillis(100)));
+
+        FeedResponse feed = feedService.generateFeed(currentUserId, 0, 20, "test-token");
+
+        assertThat(requested).hasValue(fastUsers);
+        assertThat(feed.getPosts())
+                .extracting(EnrichedPostResponse::getUserId)
+                .doesNotContain(slowUserId)
+                .containsExactlyInAnyOrderElementsOf(followedUserIds.subList(1, followedUserIds.size()));
+    }
+
+    /**
+     * A caller's deadline sooner than the feed budget bounds the page in
+     * its place, and a request whose caller has already given up makes no
+     * upstream calls at all.
+     */
+    @Property(tries = 5)
+    void callerDeadlineBoundsFanOut(
+            @ForAll("userId") Long currentUserId,
+            @ForAll("severalFollowedUsers") List<Long> followedUserIds) {
+
+        mockFollowServiceClient = Mockito.mock(FollowServiceClient.class);
+        mockPostServiceClient = Mockito.mock(PostServiceClient.class);
+        mockLikeServiceClient = Mockito.mock(LikeServiceClient.class);
+        mockCommentServiceClient = Mockito.mock(CommentServiceClient.class);
+        UserServiceClient mockUserServiceClient = Mockito.mock(UserServiceClient.class);
+        when(mockUserServiceClient.getUserProfiles(anyList(), anyString())).thenReturn(Mono.just(Map.of()));
+
+        FeedService feedService = new FeedService(
+            mockFollowServiceClient,
+            mockPostServiceClient,
+            mockLikeServiceClient,
+            mockCommentServiceClient,
+            mockUserServiceClient,
+            new TimelineService(new TimelineStore(500, 1000, Duration.ofHours(1)),
+                    new FanoutPolicy(mockFollowServiceClient, 10_000, Duration.ofMinutes(10)),
+                    mockFollowServiceClient, mockPostServiceClient, pageCache()),
+            pageCache(),
+            Mockito.mock(RankingService.class),
+            new FeedMetrics(new SimpleMeterRegistry())
+        );
+        // A budget that never runs out here: only the caller's deadline can end the page
+        ReflectionTestUtils.setField(feedService, "deadline", Duration.ofDays(1));
+        ReflectionTestUtils.setField(feedService, "timelineEnabled", false);
+        Long fastUserId = followedUserIds.get(0);
+
+        AtomicInteger followCalls = new AtomicInteger();
+        when(mockFollowServiceClient.getFollowingIds(eq(currentUserId), anyString()))
+                .thenReturn(Mono.fromCallable(() -> {
+                    followCalls.incrementAndGet();
+                    return followedUserIds;
+                }));
+        for (Long userId : followedUserIds) {
+            PostResponse post = PostResponse.builder()
+                    .id(userId)
+                    .userId(userId)
+                    .content("Post from " + userId)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build();
+            when(mockPostServiceClient.getPostsByUser(eq(userId), anyInt(), anyInt(), anyString()))
+                    .thenReturn(userId.equals(fastUserId)
+                            ? Mono.just(PostListResponse.builder().posts(List.of(post)).build())
+                            : Mono.never());
+        }
+        when(mockLikeServiceClient.getBatchLikeCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(new HashMap<>()));
+        when(mockLikeServiceClient.getLikedPostIds(anyLong(), anyList(), anyString()))
+                .thenReturn(Mono.just(Set.of()));
+        when(mockCommentServiceClient.getBatchCommentCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.of()));
+
+        // Only guards against a hang if the caller's deadline were ignored
+        FeedResponse feed = assertTimeoutPreemptively(Duration.ofSeconds(30), () ->
+                feedService.generateFeed(currentUserId, 0, 20, "test-token", new StageTimings(),
+                        Instant.now().plusMillis(500)));
+
+        assertThat(feed.getPosts())
+                .extracting(EnrichedPostResponse::getUserId)
+                .containsExactly(fastUserId);
+        assertThat(followCalls).hasValue(1);
+
+        FeedResponse late = feedService.generateFeed(currentUserId, 0, 20, "test-token", new StageTimings(),
+                Instant.now().minusMillis(1));
+
+        assertThat(late.getPosts()).isEmpty();
+        assertThat(followCalls).hasValue(1);
+    }
+
+    /**
+     * Non-blocking pages hold no thread while their upstream calls are in
+     * flight: hundreds of pages started from one thread are all waiting on
+     * follow-service at once. A page that blocked its thread would stall
+     * the rest, and follow-service here only answers once every page has
+     * asked.
+     */
+    @Property(tries = 3)
+    void concurrentFeedPagesShareThreads(@ForAll("severalFollowedUsers") List<Long> followedUserIds) {
+
+        mockFollowServiceClient = Mockito.mock(FollowServiceClient.class);
+        mockPostServiceClient = Mockito.mock(PostServiceClient.class);
+        mockLikeServiceClient = Mockito.mock(LikeServiceClient.class);
+        mockCommentServiceClient = Mockito.mock(CommentServiceClient.class);
+        UserServiceClient mockUserServiceClient = Mockito.mock(UserServiceClient.class);
+        when(mockUserServiceClient.getUserProfiles(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.<Long, UserProfileResponse>of()).delayElement(Duration.ofMillis(100)));
+
+        FeedService feedService = new FeedService(
+            mockFollowServiceClient,
+            mockPostServiceClient,
+            mockLikeServiceClient,
+            mockCommentServiceClient,
+            mockUserServiceClient,
+            new TimelineService(new TimelineStore(500, 1000, Duration.ofHours(1)),
+                    new FanoutPolicy(mockFollowServiceClient, 10_000, Duration.ofMinutes(10)),
+                    mockFollowServiceClient, mockPostServiceClient, pageCache()),
+            pageCache(),
+            Mockito.mock(RankingService.class),
+            new FeedMetrics(new SimpleMeterRegistry())
+        );
+        ReflectionTestUtils.setField(feedService, "timelineEnabled", false);
+
+        int pages = 500;
+        AtomicInteger waiting = new AtomicInteger();
+        Sinks.Empty<Void> allWaiting = Sinks.empty();
+        when(mockFollowServiceClient.getFollowingIds(anyLong(), anyString()))
+                .thenReturn(Mono.just(followedUserIds)
+                        .delayUntil(ids -> allWaiting.asMono())
+                        .doOnSubscribe(subscription -> {
+                            if (waiting.incrementAndGet() == pages) {
+                                allWaiting.tryEmitEmpty();
+                            }
+                        }));
+        for (Long userId : followedUserIds) {
+            PostResponse post = PostResponse.builder()
+                    .id(userId)
+                    .userId(userId)
+                    .content("Post from " + userId)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build();
+            when(mockPostServiceClient.getPostsByUser(eq(userId), anyInt(), anyInt(), anyString()))
+                    .thenReturn(Mono.just(PostListResponse.builder().posts(List.of(post)).build())
+                            .delayElement(Duration.ofMillis(200)));
+        }
+        when(mockLikeServiceClient.getBatchLikeCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(new HashMap<>()));
+        when(mockLikeServiceClient.getLikedPostIds(anyLong(), anyList(), anyString()))
+                .thenReturn(Mono.just(Set.<Long>of()).delayElement(Duration.ofMillis(100)));
+        when(mockCommentServiceClient.getBatchCommentCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.<Long, Long>of()).delayElement(Duration.ofMillis(100)));
+
+        List<FeedResponse> feeds = Flux.range(1, pages)
+                .flatMap(userId -> feedService.feed((long) userId, 0, 20, "test-token", new StageTimings(), null),
+                        pages)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertThat(waiting).hasValue(pages);
+        assertThat(feeds).hasSize(pages)
+                .allSatisfy(feed -> assertThat(feed.getPosts()).hasSize(followedUserIds.size()));
+    }
+
+    /**
+     * When like-service is unavailable, the page is still served: like
+     * counts and liked-by-me flags are null and listed as unavailable
+     * rather than reported as 0 and false, and the degraded page is not
+     * cached.
+     */
+    @Property(tries = 50)
+    void unavailableEnrichmentIsMarkedRatherThanDefaulted(
+            @ForAll("userId") Long currentUserId,
+            @ForAll("severalFollowedUsers") List<Long> followedUserIds) {
+
+        mockFollowServiceClient = Mockito.mock(FollowServiceClient.class);
+        mockPostServiceClient = Mockito.mock(PostServiceClient.class);
+        mockLikeServiceClient = Mockito.mock(LikeServiceClient.class);
+        mockCommentServiceClient = Mockito.mock(CommentServiceClient.class);
+        UserServiceClient mockUserServiceClient = Mockito.mock(UserServiceClient.class);
+        when(mockUserServiceClient.getUserProfiles(anyList(), anyString())).thenReturn(Mono.just(Map.of()));
+
+        FeedService feedService = new FeedService(
+            mockFollowServiceClient,
+            mockPostServiceClient,
+            mockLikeServiceClient,
+            mockCommentServiceClient,
+            mockUserServiceClient,
+            new TimelineService(new TimelineStore(500, 1000, Duration.ofHours(1)),
+                    new FanoutPolicy(mockFollowServiceClient, 10_000, Duration.ofMinutes(10)),
+                    mockFollowServiceClient, mockPostServiceClient, pageCache()),
+            pageCache(),
+            Mockito.mock(RankingService.class),
+            new FeedMetrics(new SimpleMeterRegistry())
+        );
+        ReflectionTestUtils.setField(feedService, "timelineEnabled", false);
+
+        when(mockFollowServiceClient.getFollowingIds(eq(currentUserId), anyString()))
+                .thenReturn(Mono.just(followedUserIds));
+        Map<Long, Long> commentCounts = new HashMap<>();
+        for (Long userId : followedUserIds) {
+            PostResponse post = PostResponse.builder()
+                    .id(userId)
+                    .userId(userId)
+                    .content("Post from " + userId)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build();
+            commentCounts.put(userId, userId % 7);
+            when(mockPostServiceClient.getPostsByUser(eq(userId), anyInt(), anyInt(), anyString()))
+                    .thenReturn(Mono.just(PostListResponse.builder().posts(List.of(post)).build()));
+        }
+        // What the client emits when the call fails or its circuit breaker is open
+        when(mockLikeServiceClient.getBatchLikeCounts(anyList(), anyString())).thenReturn(Mono.empty());
+        when(mockLikeServiceClient.getLikedPostIds(anyLong(), anyList(), anyString())).thenReturn(Mono.empty());
+        when(mockCommentServiceClient.getBatchCommentCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(commentCounts));
+
+        FeedResponse feed = feedService.generateFeed(currentUserId, 0, 20, "test-token");
+
+        assertThat(feed.getPosts()).hasSize(followedUserIds.size());
+        assertThat(feed.getUnavailable()).containsExactly("likeCount", "likedByCurrentUser");
+        for (EnrichedPostResponse post : feed.getPosts()) {
+            assertThat(post.getLikeCount()).isNull();
+            assertThat(post.getLikedByCurrentUser()).isNull();
+            assertThat(post.getCommentCount()).isEqualTo(commentCounts.get(post.getId()));
+        }
+
+        feedService.generateFeed(currentUserId, 0, 20, "test-token");
+        Mockito.verify(mockLikeServiceClient, Mockito.times(2)).getBatchLikeCounts(anyList(), anyString());
+    }
+
+    /**
+     * The streamed page carries the same page as the regular response:
+     * every post event comes before any patch, in feed order, and applying
+     * the patches yields the same enriched posts and paging fields.
+     */
+    @Property(tries = 50)
+    void streamedPageMatchesGeneratedPage(
+            @ForAll("userId") Long currentUserId,
+            @ForAll("followedUsersList") List<Long> followedUserIds,
+            @ForAll("postsMap") Map<Long, List<PostResponse>> userPosts) {
+
+        mockFollowServiceClient = Mockito.mock(FollowServiceClient.class);
+        mockPostServiceClient = Mockito.mock(PostServiceClient.class);
+        mockLikeServiceClient = Mockito.mock(LikeServiceClient.class);
+        mockCommentServiceClient = Mockito.mock(CommentServiceClient.class);
+        UserServiceClient mockUserServiceClient = Mockito.mock(UserServiceClient.class);
+
+        FeedService feedService = new FeedService(
+            mockFollowServiceClient,
+            mockPostServiceClient,
+            mockLikeServiceClient,
+            mockCommentServiceClient,
+            mockUserServiceClient,
+            new TimelineService(new TimelineStore(500, 1000, Duration.ofHours(1)),
+                    new FanoutPolicy(mockFollowServiceClient, 10_000, Duration.ofMinutes(10)),
+                    mockFollowServiceClient, mockPostServiceClient, pageCache()),
+            pageCache(),
+            Mockito.mock(RankingService.class),
+            new FeedMetrics(new SimpleMeterRegistry())
+        );
+        ReflectionTestUtils.setField(feedService, "timelineEnabled", false);
+
+        when(mockFollowServiceClient.getFollowingIds(eq(currentUserId), anyString()))
+                .thenReturn(Mono.just(followedUserIds));
+        Map<Long, UserProfileResponse> profiles = new HashMap<>();
+        for (Long userId : followedUserIds) {
+            List<PostResponse> posts = userPosts.getOrDefault(userId, List.of());
+            when(mockPostServiceClient.getPostsByUser(eq(userId), anyInt(), anyInt(), anyString()))
+                    .thenReturn(Mono.just(PostListResponse.builder().posts(posts).build()));
+            profiles.put(userId, UserProfileResponse.builder().userId(userId).name("user" + userId).build());
         }
+        when(mockUserServiceClient.getUserProfiles(anyList(), anyString())).thenReturn(Mono.just(profiles));
+        when(mockLikeServiceClient.getBatchLikeCounts(anyList(), anyString()))
+                .thenAnswer(invocation -> Mono.just(((List<Long>) invocation.getArgument(0)).stream()
+                        .collect(Collectors.toMap(id -> id, id -> id % 5, (a, b) -> a))));
+        when(mockLikeServiceClient.getLikedPostIds(anyLong(), anyList(), anyString()))
+                .thenAnswer(invocation -> Mono.just(((List<Long>) invocation.getArgument(1)).stream()
+                        .filter(id -> id % 2 == 0)
+                        .collect(Collectors.toSet())));
+        when(mockCommentServiceClient.getBatchCommentCounts(anyList(), anyString()))
+                .thenReturn(Mono.just(Map.<Long, Long>of()).delayElement(Duration.ofMillis(20)));
+
+        FeedResponse expected = feedService.generateFeed(currentUserId, 0, 5, "test-token");
+        Assume.that(expected.getPosts().stream().map(EnrichedPostResponse::getId).distinct().count()
+                == expected.getPosts().size());
+        List<FeedStreamEvent> events = feedService.streamFeed(currentUserId, 0, 5, "test-token")
+                .collectList()
+                .block();
+
+        List<FeedStreamEvent.Type> types = events.stream().map(FeedStreamEvent::getType).collect(Collectors.toList());
+        int posts = expected.getPosts().size();
+        assertThat(types.subList(0, posts)).allMatch(type -> type == FeedStreamEvent.Type.POST);
+        assertThat(types.subList(posts, types.size() - 1)).allMatch(type -> type == FeedStreamEvent.Type.PATCH);
+        assertThat(types.get(types.size() - 1)).isEqualTo(FeedStreamEvent.Type.END);
+
+        Map<Long, EnrichedPostResponse> assembled = new LinkedHashMap<>();
+        for (FeedStreamEvent event : events) {
+            if (event.getType() == FeedStreamEvent.Type.POST) {
+                PostResponse post = event.getPost();
+                assembled.put(post.getId(), EnrichedPostResponse.builder()
+                        .id(post.getId())
+                        .userId(post.getUserId())
+                        .content(post.getContent())
+                        .mediaUrl(post.getMediaUrl())
+                        .createdAt(post.getCreatedAt())
+                        .updatedAt(post.getUpdatedAt())
+                        .build());
+            } else if (event.getType() == FeedStreamEvent.Type.PATCH) {
+                EnrichedPostResponse post = assembled.get(event.getPostId());
+                Optional.ofNullable(event.getUsername()).ifPresent(post::setUsername);
+                Optional.ofNullable(event.getUserAvatarUrl()).ifPresent(post::setUserAvatarUrl);
+                Optional.ofNullable(event.getLikeCount()).ifPresent(post::setLikeCount);
+                Optional.ofNullable(event.getCommentCount()).ifPresent(post::setCommentCount);
+                Optional.ofNullable(event.getLikedByCurrentUser()).ifPresent(post::setLikedByCurrentUser);
+            }
+        }
+        assertThat(new ArrayList<>(assembled.values())).isEqualTo(expected.getPosts());
+
+        FeedStreamEvent end = events.get(events.size() - 1);
+        assertThat(end.getTotalElements()).isEqualTo(expected.getTotalElements());
+        assertThat(end.getLast()).isEqualTo(expected.isLast());
+        assertThat(end.getNextCursor()).isEqualTo(expected.getNextCursor());
+        assertThat(end.getUnavailable()).isEqualTo(expected.getUnavailable());
     }
 
     // ========== Arbitraries (Generators) ==========
@@ -296,6 +742,12 @@ public class FeedServicePropertiesTest {
                 .map(list -> list.stream().distinct().collect(Collectors.toList()));
     }
 
+    @Provide
+    Arbitrary<List<Long>> severalFollowedUsers() {
+        return Arbitraries.longs().between(1L, 10000L)
+                .list().uniqueElements().ofMinSize(4).ofMaxSize(10);
+    }
+
     @Provide
     Arbitrary<Map<Long, List<PostResponse>>> postsMap() {
         return Arbitraries.longs().between(1L, 10000L)
@@ -369,7 +821,7 @@ public class FeedServicePropertiesTest {
                         LocalDateTime.now().minusDays(daysAgo),
                         deleted
                 )
-        ).list().ofMinSize(1).ofMaxSize(10);
+        ).list().uniqueElements(PostWithDeletedFlag::getId).ofMinSize(1).ofMaxSize(10);
     }
 
     @Provide
@@ -444,4 +896,8 @@ public class FeedServicePropertiesTest {
         public Long getCommentCount() { return commentCount; }
         public boolean isLikedByUser() { return likedByUser; }
     }
+
+    private static FeedPageCache pageCache() {
+        return new FeedPageCache(1000, 4, Duration.ofSeconds(30), 10, new SimpleMeterRegistry());
+    }
 }
@@ -0,0 +1,161 @@
+package com.socialmedia.feed.properties;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.socialmedia.feed.client.CircuitBreaker;
+import com.socialmedia.feed.client.PostServiceClient;
+import com.socialmedia.feed.client.SingleFlight;
+import com.socialmedia.feed.dto.PostCursorResponse;
+import com.socialmedia.feed.dto.PostResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property-Based Tests for multi-author post lookups
+ * Feature: social-media-backend
+ */
+public class PostServiceClientPropertiesTest {
+
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    /**
+     * However many authors are followed and however large a page is asked
+     * for, every request stays within post-service's limits, and the page
+     * returned is the newest posts across all the authors.
+     */
+    @Property(tries = 20)
+    void lookupsOfManyAuthorsStayWithinLimitsAndMerge(
+            @ForAll @IntRange(min = 1, max = 12000) int followed,
+            @ForAll @IntRange(min = 1, max = 600) int size,
+            @ForAll long seed) {
+
+        Random random = new Random(seed);
+        List<PostResponse> posts = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            posts.add(PostResponse.builder()
+                    .id(id)
+                    .userId(1L + random.nextInt(15000))
+                    .createdAt(EPOCH.plusMinutes(random.nextInt(100_000)))
+                    .build());
+        }
+        List<Long> authorIds = new ArrayList<>();
+        for (long authorId = 1; authorId <= followed; authorId++) {
+            authorIds.add(authorId);
+        }
+        AtomicInteger rejected = new AtomicInteger();
+        PostServiceClient client = client(posts, rejected);
+
+        PostCursorResponse page = client.getRecentPostsByAuthors(authorIds, size, null, null, "token").block();
+
+        List<PostResponse> byFollowed = posts.stream()
+                .filter(post -> post.getUserId() <= followed)
+                .sorted(PostResponse.NEWEST_FIRST)
+                .toList();
+        int expectedSize = Math.min(size, 500);
+        assertThat(rejected).hasValue(0);
+        assertThat(page.getPosts()).extracting(PostResponse::getId)
+                .containsExactlyElementsOf(byFollowed.stream()
+                        .limit(expectedSize)
+                        .map(PostResponse::getId)
+                        .toList());
+        assertThat(page.isHasMore()).isEqualTo(byFollowed.size() > expectedSize);
+    }
+
+    // ========== Helpers ==========
+
+    /**
+     * A client whose post-service answers /api/posts/authors from the given
+     * posts and, like the real one, rejects requests over its limits.
+     */
+    private static PostServiceClient client(List<PostResponse> posts, AtomicInteger rejected) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> bodyOf(request.body()).map(body -> {
+                    try {
+                        JsonNode json = MAPPER.readTree(body);
+                        int size = json.get("size").asInt();
+                        if (json.get("authorIds").size() > 5000 || size > 500) {
+                            rejected.incrementAndGet();
+                            return ClientResponse.create(HttpStatus.BAD_REQUEST).build();
+                        }
+                        Set<Long> authors = new HashSet<>();
+                        json.get("authorIds").forEach(authorId -> authors.add(authorId.asLong()));
+                        List<PostResponse> matching = posts.stream()
+                                .filter(post -> authors.contains(post.getUserId()))
+                                .sorted(PostResponse.NEWEST_FIRST)
+                                .toList();
+                        PostCursorResponse page = PostCursorResponse.builder()
+                                .posts(matching.stream().limit(size).toList())
+                                .hasMore(matching.size() > size)
+                                .build();
+                        return ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body(MAPPER.writeValueAsString(page))
+                                .build();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }))
+                .build();
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder()
+                .name("post-service")
+                .windowSize(10)
+                .minimumCalls(10)
+                .failureRateThreshold(0.5)
+                .openDuration(Duration.ofSeconds(30))
+                .halfOpenCalls(1)
+                .maxConcurrentCalls(100)
+                .callTimeout(Duration.ofSeconds(10))
+                .meterRegistry(new SimpleMeterRegistry())
+                .build();
+        return new PostServiceClient(webClient, circuitBreaker, new SingleFlight(new SimpleMeterRegistry()));
+    }
+
+    private static Mono<String> bodyOf(BodyInserter<?, ? super MockClientHttpRequest> inserter) {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, "/");
+        BodyInserter.Context context = new BodyInserter.Context() {
+            @Override
+            public List<HttpMessageWriter<?>> messageWriters() {
+                return ExchangeStrategies.withDefaults().messageWriters();
+            }
+
+            @Override
+            public Optional<ServerHttpRequest> serverRequest() {
+                return Optional.empty();
+            }
+
+            @Override
+            public Map<String, Object> hints() {
+                return Map.of();
+            }
+        };
+        return inserter.insert(request, context).then(Mono.defer(request::getBodyAsString));
+    }
+}
@@ -0,0 +1,306 @@
+package com.socialmedia.feed.properties;
+
+import com.socialmedia.feed.cache.FeedPageCache;
+import com.socialmedia.feed.client.CommentServiceClient;
+import com.socialmedia.feed.client.FollowServiceClient;
+import com.socialmedia.feed.client.LikeServiceClient;
+import com.socialmedia.feed.client.PostServiceClient;
+import com.socialmedia.feed.client.UserServiceClient;
+import com.socialmedia.feed.dto.EngagementEvent;
+import com.socialmedia.feed.dto.EnrichedPostResponse;
+import com.socialmedia.feed.dto.FeedResponse;
+import com.socialmedia.feed.dto.PostCursorResponse;
+import com.socialmedia.feed.dto.PostResponse;
+import com.socialmedia.feed.metrics.FeedMetrics;
+import com.socialmedia.feed.ranking.AuthorAffinity;
+import com.socialmedia.feed.ranking.FeedScorer;
+import com.socialmedia.feed.ranking.RankedFeed;
+import com.socialmedia.feed.ranking.RankedFeedStore;
+import com.socialmedia.feed.ranking.RankingCandidate;
+import com.socialmedia.feed.ranking.WeightedFeedScorer;
+import com.socialmedia.feed.service.Deadline;
+import com.socialmedia.feed.service.FeedService;
+import com.socialmedia.feed.service.RankingService;
+import com.socialmedia.feed.service.TimelineService;
+import com.socialmedia.feed.timeline.FanoutPolicy;
+import com.socialmedia.feed.timeline.TimelineStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.jqwik.api.*;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Property-Based Tests for the ranked feed
+ * Feature: social-media-backend
+ */
+public class RankedFeedPropertiesTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    /**
+     * The bounded heap keeps exactly the best {@code capacity} candidates
+     * that a full sort would, in the same order.
+     */
+    @Property(tries = 100)
+    void rankingKeepsTheBestCandidatesInOrder(
+            @ForAll("candidates") List<RankingCandidate> candidates,
+            @ForAll("capacity") int capacity) {
+
+        FeedScorer scorer = defaultScorer();
+        RankedFeed ranked = RankedFeed.rank(candidates, scorer, capacity, NOW, Instant.EPOCH);
+
+        List<Long> expected = candidates.stream()
+                .sorted(Comparator.comparingDouble((RankingCandidate c) -> scorer.score(c, NOW)).reversed()
+                        .thenComparing(c -> c.getPost().getId(), Comparator.reverseOrder()))
+                .limit(capacity)
+                .map(c -> c.getPost().getId())
+                .collect(Collectors.toList());
+        assertThat(ids(ranked.page(0, capacity))).isEqualTo(expected);
+        assertThat(ranked.size()).isEqualTo(Math.min(capacity, candidates.size()));
+    }
+
+    /**
+     * The default scorer never ranks a post lower for having more likes,
+     * comments or author affinity, or for being newer.
+     */
+    @Property(tries = 200)
+    void defaultScoreIsMonotonicInEachSignal(
+            @ForAll("candidate") RankingCandidate candidate,
+            @ForAll("increment") long increment) {
+
+        FeedScorer scorer = defaultScorer();
+        double base = scorer.score(candidate, NOW);
+        PostResponse post = candidate.getPost();
+        PostResponse newer = PostResponse.builder()
+                .id(post.getId())
+                .userId(post.getUserId())
+                .createdAt(post.getCreatedAt().plusMinutes(increment))
+                .build();
+
+        assertThat(scorer.score(candidate.toBuilder().likeCount(candidate.getLikeCount() + increment).build(), NOW))
+                .isGreaterThan(base);
+        assertThat(scorer.score(candidate.toBuilder().commentCount(candidate.getCommentCount() + increment).build(),
+                NOW)).isGreaterThan(base);
+        assertThat(scorer.score(candidate.toBuilder()
+                .authorAffinity(candidate.getAuthorAffinity() + increment).build(), NOW)).isGreaterThan(base);
+        assertThat(scorer.score(candidate.toBuilder().post(newer).build(), NOW)).isGreaterThanOrEqualTo(base);
+    }
+
+    /**
+     * The first ranked read scores the candidates once; later pages are
+     * slices of that ranking, so together they list each kept post once in
+     * score order without calling the scorer or the count services again.
+     */
+    @Property(tries = 50)
+    void rankedPagesAreServedFromOneScoring(
+            @ForAll("posts") List<PostResponse> posts,
+            @ForAll("pageSize") int pageSize) {
+
+        Map<Long, Long> likeCounts = posts.stream()
+                .collect(Collectors.toMap(PostResponse::getId, post -> post.getId() % 7));
+        Fixture fixture = new Fixture(posts, likeCounts);
+
+        List<Long> served = new ArrayList<>();
+        int pages = (posts.size() + pageSize - 1) / pageSize;
+        for (int page = 0; page < pages; page++) {
+            FeedResponse response = fixture.feedService.generateRankedFeed(1L, page, pageSize, "token");
+            assertThat(response.getTotalElements()).isEqualTo(posts.size());
+            assertThat(response.getNextCursor()).isNull();
+            served.addAll(response.getPosts().stream()
+                    .map(EnrichedPostResponse::getId)
+                    .collect(Collectors.toList()));
+        }
+
+        List<Long> expected = posts.stream()
+                .sorted(Comparator.comparingDouble((PostResponse post) -> fixture.scorer.score(RankingCandidate.builder()
+                                .post(post)
+                                .likeCount(likeCounts.get(post.getId()))
+                                .build(), NOW)).reversed()
+                        .thenComparing(PostResponse::getId, Comparator.reverseOrder()))
+                .map(PostResponse::getId)
+                .collect(Collectors.toList());
+        assertThat(served).isEqualTo(expected);
+        assertThat(fixture.scored.get()).isEqualTo(posts.size());
+        verify(fixture.postClient, times(1)).getRecentPostsByAuthors(anyList(), anyInt(), any(), any(), anyString());
+    }
+
+    /**
+     * Liking or commenting on an author's posts raises that author's posts
+     * in the viewer's next ranking; removals and other viewers' engagement
+     * do not.
+     */
+    @Property(tries = 50)
+    void engagementRaisesAuthorAffinity(
+            @ForAll("interactions") int interactions) {
+
+        // Two equally old, unengaged posts by different authors
+        PostResponse favourite = PostResponse.builder().id(1L).userId(10L).createdAt(NOW).build();
+        PostResponse other = PostResponse.builder().id(2L).userId(20L).createdAt(NOW).build();
+        Fixture fixture = new Fixture(List.of(favourite, other), Map.of());
+        RankingService rankingService = fixture.rankingService;
+
+        assertThat(ids(rankingService.rank(1L, "token", deadline()).block().page(0, 2))).containsExactly(2L, 1L);
+
+        for (int i = 0; i < interactions; i++) {
+            rankingService.onEngagement(EngagementEvent.builder().postId(1L).userId(1L).likeDelta(1).build());
+            rankingService.onEngagement(EngagementEvent.builder().postId(2L).userId(1L).likeDelta(-1).build());
+            rankingService.onEngagement(EngagementEvent.builder().postId(2L).userId(99L).commentDelta(1).build());
+        }
+
+        assertThat(ids(rankingService.rank(1L, "token", deadline()).block().page(0, 2))).containsExactly(1L, 2L);
+    }
+
+    /**
+     * A half-life of zero or less is refused, and one under a second still
+     * decays scores rather than dividing by zero.
+     */
+    @Example
+    void halfLifeMustBePositive() {
+        assertThatThrownBy(() -> new WeightedFeedScorer(1.0, 2.0, 1.5, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new WeightedFeedScorer(1.0, 2.0, 1.5, Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        FeedScorer scorer = new WeightedFeedScorer(1.0, 2.0, 1.5, Duration.ofMillis(500));
+        RankingCandidate fresh = RankingCandidate.builder()
+                .post(PostResponse.builder().id(1L).userId(1L).createdAt(NOW).build())
+                .build();
+        RankingCandidate secondOld = RankingCandidate.builder()
+                .post(PostResponse.builder().id(2L).userId(1L).createdAt(NOW.minusSeconds(1)).build())
+                .build();
+        assertThat(scorer.score(fresh, NOW)).isEqualTo(1.0);
+        assertThat(scorer.score(secondOld, NOW)).isCloseTo(0.25, within(1e-9));
+    }
+
+    // ========== Arbitraries (Generators) ==========
+
+    @Provide
+    Arbitrary<RankingCandidate> candidate() {
+        return Combinators.combine(
+                Arbitraries.longs().between(1L, 1_000_000L),
+                Arbitraries.longs().between(0L, 10_000L),
+                Arbitraries.longs().between(0L, 1_000L),
+                Arbitraries.longs().between(0L, 50L),
+                Arbitraries.integers().between(0, 7 * 24 * 60)
+        ).as((id, likes, comments, affinity, ageMinutes) -> RankingCandidate.builder()
+                .post(PostResponse.builder()
+                        .id(id)
+                        .userId(id % 10)
+                        .createdAt(NOW.minusMinutes(ageMinutes))
+                        .build())
+                .likeCount(likes)
+                .commentCount(comments)
+                .authorAffinity(affinity)
+                .build());
+    }
+
+    @Provide
+    Arbitrary<List<RankingCandidate>> candidates() {
+        return candidate().list().ofMaxSize(100).uniqueElements(c -> c.getPost().getId());
+    }
+
+    @Provide
+    Arbitrary<Integer> capacity() {
+        return Arbitraries.integers().between(1, 50);
+    }
+
+    @Provide
+    Arbitrary<Long> increment() {
+        return Arbitraries.longs().between(1L, 1_000L);
+    }
+
+    @Provide
+    Arbitrary<List<PostResponse>> posts() {
+        return candidate().map(RankingCandidate::getPost)
+                .list().ofMinSize(1).ofMaxSize(40).uniqueElements(PostResponse::getId);
+    }
+
+    @Provide
+    Arbitrary<Integer> pageSize() {
+        return Arbitraries.integers().between(1, 15);
+    }
+
+    @Provide
+    Arbitrary<Integer> interactions() {
+        return Arbitraries.integers().between(1, 10);
+    }
+
+    // ========== Helpers ==========
+
+    private static FeedScorer defaultScorer() {
+        return new WeightedFeedScorer(1.0, 2.0, 1.5, Duration.ofHours(12));
+    }
+
+    private static Deadline deadline() {
+        return Deadline.after(Duration.ofSeconds(5));
+    }
+
+    private static List<Long> ids(List<PostResponse> posts) {
+        return posts.stream().map(PostResponse::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Feed and ranking services over mocked upstreams serving {@code posts}
+     * as the viewer's candidates, with a scorer that counts its calls and
+     * always scores as of {@link #NOW}.
+     */
+    private static final class Fixture {
+
+        final AtomicInteger scored = new AtomicInteger();
+        final FeedScorer scorer = defaultScorer();
+        final PostServiceClient postClient = Mockito.mock(PostServiceClient.class);
+        final RankingService rankingService;
+        final FeedService feedService;
+
+        Fixture(List<PostResponse> posts, Map<Long, Long> likeCounts) {
+            FollowServiceClient followClient = Mockito.mock(FollowServiceClient.class);
+            LikeServiceClient likeClient = Mockito.mock(LikeServiceClient.class);
+            CommentServiceClient commentClient = Mockito.mock(CommentServiceClient.class);
+            UserServiceClient userClient = Mockito.mock(UserServiceClient.class);
+
+            List<Long> authorIds = posts.stream().map(PostResponse::getUserId).distinct().collect(Collectors.toList());
+            when(followClient.getFollowingIds(eq(1L), anyString())).thenReturn(Mono.just(authorIds));
+            when(postClient.getRecentPostsByAuthors(anyList(), anyInt(), isNull(), isNull(), anyString()))
+                    .thenReturn(Mono.just(PostCursorResponse.builder().posts(posts).build()));
+            when(likeClient.getBatchLikeCounts(anyList(), anyString())).thenReturn(Mono.just(likeCounts));
+            when(likeClient.getLikedPostIds(anyLong(), anyList(), anyString())).thenReturn(Mono.just(Set.of()));
+            when(commentClient.getBatchCommentCounts(anyList(), anyString())).thenReturn(Mono.just(Map.of()));
+            when(userClient.getUserProfiles(anyList(), anyString())).thenReturn(Mono.just(Map.of()));
+
+            // Ranking uses the wall clock; score against a fixed instant instead
+            FeedScorer counting = (candidate, now) -> {
+                scored.incrementAndGet();
+                return scorer.score(candidate, NOW);
+            };
+            rankingService = new RankingService(
+                    new RankedFeedStore(100, Duration.ofMinutes(1), Duration.ofMinutes(30)),
+                    new AuthorAffinity(100, 100, 1000),
+                    counting, followClient, postClient, likeClient, commentClient);
+            FeedPageCache pageCache = new FeedPageCache(100, 4, Duration.ofMinutes(1), 10, new SimpleMeterRegistry());
+            feedService = new FeedService(followClient, postClient, likeClient, commentClient, userClient,
+                    new TimelineService(new TimelineStore(500, 1000, Duration.ofHours(1)),
+                            new FanoutPolicy(followClient, 10_000, Duration.ofMinutes(10)),
+                            followClient, postClient, pageCache),
+                    pageCache, rankingService, new FeedMetrics(new SimpleMeterRegistry()));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.socialmedia.feed.properties;
+
+import com.socialmedia.feed.client.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.jqwik.api.*;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property-Based Tests for upstream call coalescing
+ * Feature: social-media-backend
+ */
+public class SingleFlightPropertiesTest {
+
+    /**
+     * Identical calls made while one is in flight share its single upstream
+     * call and the same result object; the saved calls are counted. Once the
+     * call has completed, the next identical call goes upstream again.
+     */
+    @Property(tries = 100)
+    void identicalInFlightCallsShareOneUpstreamCall(
+            @ForAll("callers") int callers) {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SingleFlight singleFlight = new SingleFlight(registry);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        Sinks.One<List<Long>> response = Sinks.one();
+
+        List<AtomicReference<List<Long>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            AtomicReference<List<Long>> result = new AtomicReference<>();
+            results.add(result);
+            call(singleFlight, "token", () -> {
+                upstreamCalls.incrementAndGet();
+                return response.asMono();
+            }).subscribe(result::set);
+        }
+        List<Long> body = List.of(1L, 2L);
+        response.tryEmitValue(body);
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(results).allSatisfy(result -> assertThat(result.get()).isSameAs(body));
+        assertThat(registry.get("feed.client.calls").tag("result", "coalesced").counter().count())
+                .isEqualTo(callers - 1);
+
+        call(singleFlight, "token", () -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.just(List.of());
+        }).block();
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(registry.get("feed.client.calls").tag("result", "executed").counter().count())
+                .isEqualTo(2);
+    }
+
+    /**
+     * Calls made with different tokens are never coalesced, so no caller
+     * receives a result fetched with another caller's credentials.
+     */
+    @Property(tries = 100)
+    void callsWithDifferentScopesAreNotShared(
+            @ForAll("callers") int callers) {
+
+        SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry());
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        Sinks.One<List<Long>> response = Sinks.one();
+
+        for (int i = 0; i < callers; i++) {
+            call(singleFlight, "token-" + i, () -> {
+                upstreamCalls.incrementAndGet();
+                return response.asMono();
+            }).subscribe();
+        }
+        response.tryEmitValue(List.of());
+
+        assertThat(upstreamCalls).hasValue(callers);
+    }
+
+    /**
+     * A caller that stops waiting, e.g. at its deadline, does not cancel the
+     * shared call for the callers still waiting on it.
+     */
+    @Property(tries = 50)
+    void abandoningCallerDoesNotCancelSharedCall(
+            @ForAll("callers") int callers) {
+
+        SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry());
+        Sinks.One<List<Long>> response = Sinks.one();
+
+        List<Long> abandoned = call(singleFlight, "token", response::asMono)
+                .timeout(Duration.ofMillis(1), Mono.just(List.of(-1L)))
+                .block();
+        List<AtomicReference<List<Long>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            AtomicReference<List<Long>> result = new AtomicReference<>();
+            results.add(result);
+            call(singleFlight, "token", response::asMono).subscribe(result::set);
+        }
+        response.tryEmitValue(List.of(1L));
+
+        assertThat(abandoned).containsExactly(-1L);
+        assertThat(results).allSatisfy(result -> assertThat(result.get()).containsExactly(1L));
+    }
+
+    // ========== Arbitraries (Generators) ==========
+
+    @Provide
+    Arbitrary<Integer> callers() {
+        return Arbitraries.integers().between(2, 20);
+    }
+
+    // ========== Helpers ==========
+
+    private static Mono<List<Long>> call(SingleFlight singleFlight, String token,
+                                         Supplier<Mono<List<Long>>> upstream) {
+        return singleFlight.execute("post-service", "POST", "/api/posts/batch", List.of(),
+                Map.of("postIds", List.of(1L, 2L)), token, upstream);
+    }
+}
@@ -0,0 +1,476 @@
+package com.socialmedia.feed.properties;
+
+import com.socialmedia.feed.cache.FeedPageCache;
+import com.socialmedia.feed.client.CommentServiceClient;
+import com.socialmedia.feed.client.FollowServiceClient;
+import com.socialmedia.feed.client.LikeServiceClient;
+import com.socialmedia.feed.client.PostServiceClient;
+import com.socialmedia.feed.client.UserServiceClient;
+import com.socialmedia.feed.dto.EnrichedPostResponse;
+import com.socialmedia.feed.dto.FeedResponse;
+import com.socialmedia.feed.dto.PostCursorResponse;
+import com.socialmedia.feed.dto.PostListResponse;
+import com.socialmedia.feed.dto.PostResponse;
+import com.socialmedia.feed.dto.PostTimelineEvent;
+import com.socialmedia.feed.metrics.FeedMetrics;
+import com.socialmedia.feed.service.Deadline;
+import com.socialmedia.feed.service.FeedCursor;
+import com.socialmedia.feed.service.FeedService;
+import com.socialmedia.feed.service.RankingService;
+import com.socialmedia.feed.service.TimelineService;
+import com.socialmedia.feed.timeline.FanoutPolicy;
+import com.socialmedia.feed.timeline.Timeline;
+import com.socialmedia.feed.timeline.TimelineEntry;
+import com.socialmedia.feed.timeline.TimelineMerger;
+import com.socialmedia.feed.timeline.TimelinePage;
+import com.socialmedia.feed.timeline.TimelineStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.jqwik.api.*;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Property-Based Tests for precomputed timelines
+ * Feature: social-media-backend
+ */
+public class TimelinePropertiesTest {
+
+    /**
+     * A timeline keeps only the newest entries up to its capacity,
+     * in reverse chronological order, without duplicates.
+     */
+    @Property(tries = 100)
+    void timelineKeepsNewestEntriesInOrder(
+            @ForAll("entries") List<TimelineEntry> entries,
+            @ForAll("capacity") int capacity) {
+
+        Timeline timeline = new Timeline(capacity, Instant.now());
+        entries.forEach(timeline::add);
+
+        List<TimelineEntry> expected = entries.stream()
+                .distinct()
+                .sorted(TimelineEntry.NEWEST_FIRST)
+                .limit(capacity)
+                .collect(Collectors.toList());
+
+        assertThat(timeline.size()).isEqualTo(expected.size());
+        assertThat(timeline.slice(0, capacity)).containsExactlyElementsOf(expected);
+    }
+
+    /**
+     * Consecutive slices of a timeline cover it exactly once.
+     */
+    @Property(tries = 100)
+    void slicesPartitionTimeline(
+            @ForAll("entries") List<TimelineEntry> entries,
+            @ForAll("pageSize") int pageSize) {
+
+        Timeline timeline = new Timeline(1000, Instant.now());
+        timeline.addAll(entries);
+
+        List<TimelineEntry> paged = new ArrayList<>();
+        for (int offset = 0; offset < timeline.size(); offset += pageSize) {
+            paged.addAll(timeline.slice(offset, pageSize));
+        }
+
+        assertThat(paged).containsExactlyElementsOf(timeline.slice(0, timeline.size()));
+    }
+
+    /**
+     * Resuming strictly after the last entry of each slice covers the
+     * timeline exactly once, like offset slices do.
+     */
+    @Property(tries = 100)
+    void slicesAfterPositionPartitionTimeline(
+            @ForAll("entries") List<TimelineEntry> entries,
+            @ForAll("pageSize") int pageSize) {
+
+        Assume.that(!entries.isEmpty());
+
+        Timeline timeline = new Timeline(1000, Instant.now());
+        timeline.addAll(entries);
+
+        List<TimelineEntry> paged = new ArrayList<>(timeline.slice(0, pageSize));
+        while (paged.size() < timeline.size()) {
+            List<TimelineEntry> next = timeline.sliceAfter(paged.get(paged.size() - 1), pageSize);
+            assertThat(next).isNotEmpty();
+            paged.addAll(next);
+        }
+
+        assertThat(paged).containsExactlyElementsOf(timeline.slice(0, timeline.size()));
+    }
+
+    /**
+     * Removing an author (unfollow) drops exactly that author's posts.
+     */
+    @Property(tries = 100)
+    void removeAuthorDropsOnlyThatAuthor(
+            @ForAll("entries") List<TimelineEntry> entries,
+            @ForAll("authorId") Long authorId) {
+
+        Timeline timeline = new Timeline(1000, Instant.now());
+        timeline.addAll(entries);
+        int before = timeline.size();
+        long authored = timeline.slice(0, before).stream()
+                .filter(e -> e.getAuthorId().equals(authorId))
+                .count();
+
+        timeline.removeAuthor(authorId);
+
+        assertThat(timeline.size()).isEqualTo(before - authored);
+        assertThat(timeline.slice(0, before)).noneMatch(e -> e.getAuthorId().equals(authorId));
+    }
+
+    /**
+     * Once a user's timeline is materialized, later pages are served from it
+     * with a single batch post lookup instead of per-followee fetches, and in
+     * the same order the pull path produced.
+     */
+    @Property(tries = 50)
+    void secondReadIsServedFromTimeline(
+            @ForAll("entries") List<TimelineEntry> entries) {
+
+        Assume.that(!entries.isEmpty());
+
+        FollowServiceClient followClient = Mockito.mock(FollowServiceClient.class);
+        PostServiceClient postClient = Mockito.mock(PostServiceClient.class);
+        LikeServiceClient likeClient = Mockito.mock(LikeServiceClient.class);
+        CommentServiceClient commentClient = Mockito.mock(CommentServiceClient.class);
+        UserServiceClient userClient = Mockito.mock(UserServiceClient.class);
+        TimelineService timelineService = new TimelineService(
+                new TimelineStore(500, 1000, Duration.ofHours(1)),
+                new FanoutPolicy(followClient, 10_000, Duration.ofMinutes(10)), followClient, postClient, pageCache());
+        FeedService feedService = new FeedService(
+                followClient, postClient, likeClient, commentClient, userClient, timelineService, pageCache(),
+                Mockito.mock(RankingService.class), new FeedMetrics(new SimpleMeterRegistry()));
+        // The second read must reach the timeline rather than the page cache
+        ReflectionTestUtils.setField(feedService, "cacheEnabled", false);
+
+        Map<Long, PostResponse> postsById = entries.stream()
+                .distinct()
+                .collect(Collectors.toMap(TimelineEntry::getPostId, TimelinePropertiesTest::toPost, (a, b) -> a));
+        Map<Long, List<PostResponse>> postsByAuthor = postsById.values().stream()
+                .collect(Collectors.groupingBy(PostResponse::getUserId));
+
+        when(followClient.getFollowingIds(eq(1L), anyString()))
+                .thenReturn(Mono.just(new ArrayList<>(postsByAuthor.keySet())));
+        postsByAuthor.forEach((authorId, posts) ->
+                when(postClient.getPostsByUser(eq(authorId), anyInt(), anyInt(), any()))
+                        .thenReturn(Mono.just(PostListResponse.builder().posts(posts).build())));
+        when(postClient.getPostsByIds(anyList(), anyString())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return Mono.just(ids.stream().map(postsById::get).collect(Collectors.toList()));
+        });
+        when(followClient.getFollowStats(anyLong(), isNull())).thenReturn(Mono.empty());
+        when(likeClient.getBatchLikeCounts(anyList(), anyString())).thenReturn(Mono.just(new HashMap<>()));
+        when(likeClient.getLikedPostIds(anyLong(), anyList(), anyString())).thenReturn(Mono.just(Set.of()));
+        when(commentClient.getBatchCommentCounts(anyList(), anyString())).thenReturn(Mono.just(new HashMap<>()));
+        when(userClient.getUserProfiles(anyList(), anyString())).thenReturn(Mono.just(Map.of()));
+
+        FeedResponse pulled = feedService.generateFeed(1L, 0, 10, "token");
+        Mockito.clearInvocations(followClient, postClient);
+        FeedResponse fromTimeline = feedService.generateFeed(1L, 0, 10, "token");
+
+        verify(followClient, never()).getFollowingIds(anyLong(), anyString());
+        verify(postClient, never()).getPostsByUser(anyLong(), anyInt(), anyInt(), any());
+        assertThat(ids(fromTimeline)).isEqualTo(ids(pulled));
+        assertThat(fromTimeline.getTotalElements()).isEqualTo(postsById.size());
+    }
+
+    /**
+     * Reloading a page is served from the page cache without upstream
+     * calls, until a followed author posts.
+     */
+    @Property(tries = 30)
+    void reloadIsCachedUntilFollowedAuthorPosts(
+            @ForAll("entries") List<TimelineEntry> entries) {
+
+        Assume.that(!entries.isEmpty());
+
+        FollowServiceClient followClient = Mockito.mock(FollowServiceClient.class);
+        PostServiceClient postClient = Mockito.mock(PostServiceClient.class);
+        LikeServiceClient likeClient = Mockito.mock(LikeServiceClient.class);
+        CommentServiceClient commentClient = Mockito.mock(CommentServiceClient.class);
+        UserServiceClient userClient = Mockito.mock(UserServiceClient.class);
+        FeedPageCache pageCache = pageCache();
+        TimelineService timelineService = new TimelineService(
+                new TimelineStore(500, 1000, Duration.ofHours(1)),
+                new FanoutPolicy(followClient, 10_000, Duration.ofMinutes(10)), followClient, postClient, pageCache);
+        FeedService feedService = new FeedService(
+                followClient, postClient, likeClient, commentClient, userClient, timelineService, pageCache,
+                Mockito.mock(RankingService.class), new FeedMetrics(new SimpleMeterRegistry()));
+
+        Map<Long, PostResponse> postsById = new HashMap<>(entries.stream()
+                .distinct()
+                .collect(Collectors.toMap(TimelineEntry::getPostId, TimelinePropertiesTest::toPost, (a, b) -> a)));
+        Map<Long, List<PostResponse>> postsByAuthor = postsById.values().stream()
+                .collect(Collectors.groupingBy(PostResponse::getUserId));
+        Long author = postsByAuthor.keySet().iterator().next();
+
+        when(followClient.getFollowingIds(eq(1L), anyString()))
+                .thenReturn(Mono.just(new ArrayList<>(postsByAuthor.keySet())));
+        when(followClient.getFollowStats(anyLong(), isNull())).thenReturn(Mono.empty());
+        when(followClient.getFollowers(eq(author), anyInt(), anyInt(), isNull()))
+                .thenReturn(Mono.just(FollowServiceClient.FollowerListResponse.builder()
+                        .followerIds(List.of(1L)).totalPages(1).build()));
+        postsByAuthor.forEach((authorId, posts) ->
+                when(postClient.getPostsByUser(eq(authorId), anyInt(), anyInt(), any()))
+                        .thenReturn(Mono.just(PostListResponse.builder().posts(posts).build())));
+        when(postClient.getPostsByIds(anyList(), anyString())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return Mono.just(ids.stream().map(postsById::get).collect(Collectors.toList()));
+        });
+        when(likeClient.getBatchLikeCounts(anyList(), anyString())).thenReturn(Mono.just(new HashMap<>()));
+        when(likeClient.getLikedPostIds(anyLong(), anyList(), anyString())).thenReturn(Mono.just(Set.of()));
+        when(commentClient.getBatchCommentCounts(anyList(), anyString())).thenReturn(Mono.just(new HashMap<>()));
+        when(userClient.getUserProfiles(anyList(), anyString())).thenReturn(Mono.just(Map.of()));
+
+        FeedResponse first = feedService.generateFeed(1L, 0, 10, "token");
+        Mockito.clearInvocations(followClient, postClient, likeClient);
+        FeedResponse reload = feedService.generateFeed(1L, 0, 10, "token");
+
+        assertThat(reload).isSameAs(first);
+        Mockito.verifyNoInteractions(followClient, postClient, likeClient);
+
+        TimelineEntry newPost = new TimelineEntry(1000L, author, LocalDateTime.now().plusMinutes(1));
+        postsById.put(newPost.getPostId(), toPost(newPost));
+        timelineService.onPostCreated(PostTimelineEvent.builder()
+                .postId(newPost.getPostId()).authorId(author).createdAt(newPost.getCreatedAt()).build());
+        FeedResponse afterPost = feedService.generateFeed(1L, 0, 10, "token");
+
+        assertThat(ids(afterPost).get(0)).isEqualTo(newPost.getPostId());
+    }
+
+    /**
+     * Following nextCursor from the first page returns every post exactly
+     * once, newest first, moving from the timeline to post-service once the
+     * timeline runs out. A cursor survives its round trip as a token.
+     */
+    @Property(tries = 50)
+    void cursorPagesCoverFeedExactlyOnce(
+            @ForAll("entries") List<TimelineEntry> entries,
+            @ForAll("pageSize") int pageSize) {
+
+        Assume.that(!entries.isEmpty());
+
+        FollowServiceClient followClient = Mockito.mock(FollowServiceClient.class);
+        PostServiceClient postClient = Mockito.mock(PostServiceClient.class);
+        LikeServiceClient likeClient = Mockito.mock(LikeServiceClient.class);
+        CommentServiceClient commentClient = Mockito.mock(CommentServiceClient.class);
+        UserServiceClient userClient = Mockito.mock(UserServiceClient.class);
+        TimelineService timelineService = new TimelineService(
+                new TimelineStore(500, 1000, Duration.ofHours(1)),
+                new FanoutPolicy(followClient, 10_000, Duration.ofMinutes(10)), followClient, postClient, pageCache());
+        FeedService feedService = new FeedService(
+                followClient, postClient, likeClient, commentClient, userClient, timelineService, pageCache(),
+                Mockito.mock(RankingService.class), new FeedMetrics(new SimpleMeterRegistry()));
+
+        Map<Long, PostResponse> postsById = entries.stream()
+                .distinct()
+                .collect(Collectors.toMap(TimelineEntry::getPostId, TimelinePropertiesTest::toPost, (a, b) -> a));
+        Map<Long, List<PostResponse>> postsByAuthor = postsById.values().stream()
+                .collect(Collectors.groupingBy(PostResponse::getUserId));
+        Comparator<PostResponse> newestFirst = Comparator.comparing(
+                TimelinePropertiesTest::toEntry, TimelineEntry.NEWEST_FIRST);
+
+        when(followClient.getFollowingIds(eq(1L), anyString()))
+                .thenReturn(Mono.just(new ArrayList<>(postsByAuthor.keySet())));
+        when(followClient.getFollowStats(anyLong(), isNull())).thenReturn(Mono.empty());
+        postsByAuthor.forEach((authorId, posts) ->
+                when(postClient.getPostsByUser(eq(authorId), anyInt(), anyInt(), any()))
+                        .thenReturn(Mono.just(PostListResponse.builder().posts(posts).build())));
+        when(postClient.getPostsByIds(anyList(), anyString())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return Mono.just(ids.stream().map(postsById::get).collect(Collectors.toList()));
+        });
+        when(postClient.getRecentPostsByAuthors(anyList(), anyInt(), any(), any(), anyString())).thenAnswer(invocation -> {
+            List<Long> authorIds = invocation.getArgument(0);
+            int size = invocation.getArgument(1);
+            LocalDateTime beforeCreatedAt = invocation.getArgument(2);
+            Long beforeId = invocation.getArgument(3);
+            List<PostResponse> older = postsById.values().stream()
+                    .filter(post -> authorIds.contains(post.getUserId()))
+                    .filter(post -> beforeCreatedAt == null || TimelineEntry.NEWEST_FIRST.compare(
+                            toEntry(post), new TimelineEntry(beforeId, null, beforeCreatedAt)) > 0)
+                    .sorted(newestFirst)
+                    .collect(Collectors.toList());
+            return Mono.just(PostCursorResponse.builder()
+                    .posts(older.subList(0, Math.min(size, older.size())))
+                    .hasMore(older.size() > size)
+                    .build());
+        });
+        when(likeClient.getBatchLikeCounts(anyList(), anyString())).thenReturn(Mono.just(new HashMap<>()));
+        when(likeClient.getLikedPostIds(anyLong(), anyList(), anyString())).thenReturn(Mono.just(Set.of()));
+        when(commentClient.getBatchCommentCounts(anyList(), anyString())).thenReturn(Mono.just(new HashMap<>()));
+        when(userClient.getUserProfiles(anyList(), anyString())).thenReturn(Mono.just(Map.of()));
+
+        FeedResponse page = feedService.generateFeed(1L, 0, pageSize, "token");
+        List<Long> seen = new ArrayList<>(ids(page));
+        for (int pages = 1; page.getNextCursor() != null && pages <= postsById.size(); pages++) {
+            FeedCursor cursor = FeedCursor.decode(page.getNextCursor());
+            assertThat(FeedCursor.decode(cursor.encode())).isEqualTo(cursor);
+            page = feedService.generateFeedAfter(1L, page.getNextCursor(), pageSize, "token");
+            assertThat(page.getPosts()).hasSizeLessThanOrEqualTo(pageSize);
+            seen.addAll(ids(page));
+        }
+
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(seen).containsExactlyElementsOf(postsById.values().stream()
+                .sorted(newestFirst)
+                .map(PostResponse::getId)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Paging through a k-way merge yields every distinct entry of the
+     * sources exactly once, in timeline order.
+     */
+    @Property(tries = 100)
+    void mergedPagesCoverSourcesInOrder(
+            @ForAll("entries") List<TimelineEntry> pushed,
+            @ForAll("entries") List<TimelineEntry> pulled,
+            @ForAll("pageSize") int pageSize) {
+
+        List<List<TimelineEntry>> sources = List.of(
+                pushed.stream().distinct().sorted(TimelineEntry.NEWEST_FIRST).collect(Collectors.toList()),
+                pulled.stream().distinct().sorted(TimelineEntry.NEWEST_FIRST).collect(Collectors.toList()));
+        List<TimelineEntry> expected = sources.stream()
+                .flatMap(List::stream)
+                .distinct()
+                .sorted(TimelineEntry.NEWEST_FIRST)
+                .collect(Collectors.toList());
+
+        List<TimelineEntry> paged = new ArrayList<>();
+        for (int offset = 0; offset <= expected.size(); offset += pageSize) {
+            paged.addAll(TimelineMerger.merge(sources, TimelineEntry.NEWEST_FIRST, offset, pageSize));
+        }
+
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    /**
+     * Posts by an author above the follower threshold are not fanned out,
+     * yet still appear in followers' feeds through the read-time merge.
+     */
+    @Property(tries = 50)
+    void highFollowerPostsAreMergedAtReadTime(
+            @ForAll("entries") List<TimelineEntry> entries,
+            @ForAll("authorId") Long pulledAuthor) {
+
+        Assume.that(!entries.isEmpty());
+
+        FollowServiceClient followClient = Mockito.mock(FollowServiceClient.class);
+        PostServiceClient postClient = Mockito.mock(PostServiceClient.class);
+        TimelineStore store = new TimelineStore(500, 1000, Duration.ofHours(1));
+        TimelineService timelineService = new TimelineService(
+                store, new FanoutPolicy(followClient, 10_000, Duration.ofMinutes(10)), followClient, postClient, pageCache());
+
+        List<TimelineEntry> distinct = entries.stream().distinct().collect(Collectors.toList());
+        List<PostResponse> pulledPosts = distinct.stream()
+                .filter(e -> e.getAuthorId().equals(pulledAuthor))
+                .map(TimelinePropertiesTest::toPost)
+                .collect(Collectors.toList());
+        List<Long> followingIds = distinct.stream()
+                .map(TimelineEntry::getAuthorId)
+                .distinct()
+                .collect(Collectors.toList());
+
+        when(followClient.getFollowStats(anyLong(), isNull())).thenAnswer(invocation -> {
+            Long userId = invocation.getArgument(0);
+            return Mono.just(FollowServiceClient.FollowStatsResponse.builder()
+                    .userId(userId)
+                    .followerCount(userId.equals(pulledAuthor) ? 1_000_000 : 10)
+                    .build());
+        });
+        when(followClient.getFollowers(eq(pulledAuthor), anyInt(), anyInt(), isNull()))
+                .thenReturn(Mono.just(FollowServiceClient.FollowerListResponse.builder()
+                        .followerIds(List.of(1L)).totalPages(1).build()));
+        when(postClient.getPostsByUser(eq(pulledAuthor), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(PostListResponse.builder()
+                        .posts(pulledPosts)
+                        .totalElements(pulledPosts.size())
+                        .build()));
+
+        timelineService.materialize(1L, followingIds,
+                distinct.stream().map(TimelinePropertiesTest::toPost).collect(Collectors.toList())).block();
+        timelineService.onPostCreated(PostTimelineEvent.builder()
+                .postId(1000L).authorId(pulledAuthor).createdAt(LocalDateTime.now()).build());
+
+        Timeline timeline = store.get(1L).orElseThrow();
+        verify(followClient, never()).getFollowers(anyLong(), anyInt(), anyInt(), any());
+        assertThat(timeline.slice(0, 500)).noneMatch(e -> e.getAuthorId().equals(pulledAuthor));
+
+        TimelinePage page = timelineService.readPage(
+                timeline, 0, 500, "token", Deadline.after(Duration.ofSeconds(5))).block();
+        assertThat(page.getEntries()).containsExactlyElementsOf(
+                distinct.stream().sorted(TimelineEntry.NEWEST_FIRST).collect(Collectors.toList()));
+        assertThat(page.getPulledPosts().keySet()).containsExactlyInAnyOrderElementsOf(
+                pulledPosts.stream().map(PostResponse::getId).collect(Collectors.toList()));
+    }
+
+    // ========== Arbitraries (Generators) ==========
+
+    @Provide
+    Arbitrary<List<TimelineEntry>> entries() {
+        LocalDateTime base = LocalDateTime.now();
+        // Author and timestamp are derived from the post ID so duplicate IDs are identical
+        // entries, and timestamps are unique so the expected order is unambiguous
+        return Arbitraries.longs().between(1L, 500L)
+                .map(postId -> new TimelineEntry(postId, postId % 10 + 1, base.minusMinutes(postId * 7 % 1000)))
+                .list().ofMinSize(0).ofMaxSize(60);
+    }
+
+    @Provide
+    Arbitrary<Integer> capacity() {
+        return Arbitraries.integers().between(1, 50);
+    }
+
+    @Provide
+    Arbitrary<Integer> pageSize() {
+        return Arbitraries.integers().between(1, 25);
+    }
+
+    @Provide
+    Arbitrary<Long> authorId() {
+        return Arbitraries.longs().between(1L, 10L);
+    }
+
+    // ========== Helpers ==========
+
+    private static PostResponse toPost(TimelineEntry entry) {
+        return PostResponse.builder()
+                .id(entry.getPostId())
+                .userId(entry.getAuthorId())
+                .content("Post " + entry.getPostId())
+                .createdAt(entry.getCreatedAt())
+                .updatedAt(entry.getCreatedAt())
+                .build();
+    }
+
+    private static TimelineEntry toEntry(PostResponse post) {
+        return new TimelineEntry(post.getId(), post.getUserId(), post.getCreatedAt());
+    }
+
+    private static List<Long> ids(FeedResponse feed) {
+        return feed.getPosts().stream()
+                .map(EnrichedPostResponse::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static FeedPageCache pageCache() {
+        return new FeedPageCache(1000, 4, Duration.ofSeconds(30), 10, new SimpleMeterRegistry());
+    }
+}
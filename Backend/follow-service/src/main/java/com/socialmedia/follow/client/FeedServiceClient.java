@@ -0,0 +1,19 @@
+package com.socialmedia.follow.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * Feign client for the feed-service internal timeline API.
+ * Used to backfill or prune a follower's precomputed timeline when follows change.
+ */
+@FeignClient(name = "feed-service", url = "${services.feed-service.url:http://localhost:8087}")
+public interface FeedServiceClient {
+
+    @PostMapping("/internal/timeline/follows")
+    void followed(@RequestBody FollowTimelineEvent event);
+
+    @PostMapping("/internal/timeline/follows/removed")
+    void unfollowed(@RequestBody FollowTimelineEvent event);
+}
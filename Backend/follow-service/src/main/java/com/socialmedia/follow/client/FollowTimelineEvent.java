@@ -0,0 +1,16 @@
+package com.socialmedia.follow.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FollowTimelineEvent {
+
+    private Long followerId;
+    private Long followingId;
+}
@@ -0,0 +1,45 @@
+package com.socialmedia.follow.event;
+
+import com.socialmedia.follow.client.FeedServiceClient;
+import com.socialmedia.follow.client.FollowTimelineEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards committed follow changes to feed-service so the follower's timeline
+ * gains or loses the followed user's posts. Delivery is best-effort: feed-service
+ * periodically rebuilds timelines from source, so a missed event is not fatal.
+ */
+@Component
+public class FeedTimelineNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedTimelineNotifier.class);
+
+    private final FeedServiceClient feedServiceClient;
+
+    public FeedTimelineNotifier(FeedServiceClient feedServiceClient) {
+        this.feedServiceClient = feedServiceClient;
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onFollowChanged(FollowChangedEvent event) {
+        FollowTimelineEvent payload = FollowTimelineEvent.builder()
+                .followerId(event.getFollowerId())
+                .followingId(event.getFollowingId())
+                .build();
+        try {
+            if (event.getType() == FollowChangedEvent.Type.FOLLOWED) {
+                feedServiceClient.followed(payload);
+            } else {
+                feedServiceClient.unfollowed(payload);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to notify feed-service of {} {} -> {}: {}",
+                    event.getType(), event.getFollowerId(), event.getFollowingId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.socialmedia.follow.event;
+
+/**
+ * Published by FollowService when a follow relationship is created or removed.
+ * Delivered to listeners only after the surrounding transaction commits.
+ */
+public class FollowChangedEvent {
+
+    public enum Type {
+        FOLLOWED,
+        UNFOLLOWED
+    }
+
+    private final Type type;
+    private final Long followerId;
+    private final Long followingId;
+
+    public FollowChangedEvent(Type type, Long followerId, Long followingId) {
+        this.type = type;
+        this.followerId = followerId;
+        this.followingId = followingId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getFollowerId() {
+        return followerId;
+    }
+
+    public Long getFollowingId() {
+        return followingId;
+    }
+}
@@ -2,9 +2,11 @@ package com.socialmedia.follow.service;
 
 import com.socialmedia.follow.dto.*;
 import com.socialmedia.follow.entity.Follow;
+import com.socialmedia.follow.event.FollowChangedEvent;
 import com.socialmedia.follow.exception.BadRequestException;
 import com.socialmedia.follow.mapper.FollowMapper;
 import com.socialmedia.follow.repository.FollowRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -16,10 +18,13 @@ public class FollowService {
 
     private final FollowRepository followRepository;
     private final FollowMapper followMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public FollowService(FollowRepository followRepository, FollowMapper followMapper) {
+    public FollowService(FollowRepository followRepository, FollowMapper followMapper,
+                         ApplicationEventPublisher eventPublisher) {
         this.followRepository = followRepository;
         this.followMapper = followMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -40,6 +45,7 @@ public class FollowService {
         // Create new follow relationship
         Follow follow = followMapper.toEntity(followerId, followingId);
         Follow savedFollow = followRepository.save(follow);
+        eventPublisher.publishEvent(new FollowChangedEvent(FollowChangedEvent.Type.FOLLOWED, followerId, followingId));
         return followMapper.toResponse(savedFollow);
     }
 
@@ -48,6 +54,7 @@ public class FollowService {
         // Idempotent - no error if not following
         if (followRepository.existsByFollowerIdAndFollowingId(followerId, followingId)) {
             followRepository.deleteByFollowerIdAndFollowingId(followerId, followingId);
+            eventPublisher.publishEvent(new FollowChangedEvent(FollowChangedEvent.Type.UNFOLLOWED, followerId, followingId));
         }
     }
 
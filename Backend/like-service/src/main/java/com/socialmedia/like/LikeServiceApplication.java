@@ -3,9 +3,13 @@ package com.socialmedia.like;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableAsync
+@EnableScheduling
 public class LikeServiceApplication {
 
     public static void main(String[] args) {
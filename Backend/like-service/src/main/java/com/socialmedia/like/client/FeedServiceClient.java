@@ -0,0 +1,16 @@
+package com.socialmedia.like.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * Feign client for the feed-service internal engagement API.
+ * Used to report count changes so cached feed pages showing the post can be refreshed.
+ */
+@FeignClient(name = "feed-service", url = "${services.feed-service.url:http://localhost:8087}")
+public interface FeedServiceClient {
+
+    @PostMapping("/internal/engagement")
+    void countsChanged(@RequestBody EngagementEvent event);
+}
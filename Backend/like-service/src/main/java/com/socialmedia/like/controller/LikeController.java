@@ -1,6 +1,7 @@
 package com.socialmedia.like.controller;
 
 import com.socialmedia.like.dto.*;
+import com.socialmedia.like.exception.BadRequestException;
 import com.socialmedia.like.service.LikeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -44,6 +45,33 @@ public class LikeController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Apply queued likes and unlikes", description = "Apply a list of like and unlike operations in one transaction; the last operation on each post wins")
+    public ResponseEntity<BatchLikeResponse> applyLikeOperations(
+            @Valid @RequestBody BatchLikeRequest request,
+            @RequestHeader("X-User-Id") Long userId) {
+
+        log.info("User {} applying {} like operations", userId, request.getOperations().size());
+
+        BatchLikeResponse response = likeService.applyLikeOperations(request.getOperations(), userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending posts", description = "Get the posts with the most net likes over a recent window, such as 1h or 24h")
+    public ResponseEntity<TrendingPostsResponse> getTrendingPosts(
+            @RequestParam(required = false) String window,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("Getting top {} trending posts over {}", limit, window);
+
+        if (limit < 1 || limit > 100) {
+            throw new BadRequestException("Limit must be between 1 and 100");
+        }
+        TrendingPostsResponse response = likeService.getTrendingPosts(window, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{postId}/count")
     @Operation(summary = "Get like count for a post", description = "Get the total number of likes for a post")
     public ResponseEntity<LikeCountResponse> getLikeCount(@PathVariable Long postId) {
@@ -65,6 +93,34 @@ public class LikeController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{postId}/likers")
+    @Operation(summary = "Get users who liked a post", description = "Page through the users who liked a post in ascending ID order; pass nextCursor as after for the next page")
+    public ResponseEntity<LikersPageResponse> getLikers(
+            @PathVariable Long postId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.info("Getting likers of post {} after {}", postId, after);
+
+        if (size < 1 || size > 1000) {
+            throw new BadRequestException("Size must be between 1 and 1000");
+        }
+        LikersPageResponse response = likeService.getLikers(postId, after, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{postId}/likers/intersect")
+    @Operation(summary = "Check which users liked a post", description = "Return the given users (e.g. the caller's followees) who liked a post")
+    public ResponseEntity<LikerIntersectionResponse> getLikersAmong(
+            @PathVariable Long postId,
+            @Valid @RequestBody LikerIntersectionRequest request) {
+
+        log.info("Intersecting likers of post {} with {} users", postId, request.getUserIds().size());
+
+        LikerIntersectionResponse response = likeService.getLikersAmong(postId, request.getUserIds());
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/batch/counts")
     @Operation(summary = "Get like counts for multiple posts", description = "Get like counts for a batch of posts")
     public ResponseEntity<BatchLikeCountResponse> getBatchLikeCounts(
@@ -75,4 +131,16 @@ public class LikeController {
         BatchLikeCountResponse response = likeService.getBatchLikeCounts(request.getPostIds());
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/batch/check")
+    @Operation(summary = "Check which posts the user liked", description = "Return the subset of a batch of posts that the current user has liked")
+    public ResponseEntity<BatchLikeCheckResponse> checkIfUserLikedPosts(
+            @Valid @RequestBody BatchLikeCheckRequest request,
+            @RequestHeader("X-User-Id") Long userId) {
+
+        log.info("Checking if user {} liked {} posts", userId, request.getPostIds().size());
+
+        BatchLikeCheckResponse response = likeService.checkIfUserLikedPosts(request.getPostIds(), userId);
+        return ResponseEntity.ok(response);
+    }
 }
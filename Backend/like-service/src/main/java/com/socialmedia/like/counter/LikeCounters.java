@@ -0,0 +1,301 @@
+package com.socialmedia.like.counter;
+
+import com.socialmedia.like.entity.PostLikeCount;
+import com.socialmedia.like.event.LikeChangedEvent;
+import com.socialmedia.like.repository.PostLikeCountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-post like counts kept in memory and written back to post_like_counts
+ * in batches, so a like costs one row in likes instead of also updating a
+ * hot count row, and count reads do not touch the database.
+ *
+ * <p>Posts are spread over {@code like.counters.stripes} stripes by ID.
+ * Committed likes and unlikes add to a post's counter without locking and
+ * mark it dirty. Every {@code like.counters.flush-interval}, each stripe in
+ * turn adds the changes of its dirty posts since their last flush to the
+ * stored counts, so several instances can flush the same post without
+ * losing each other's likes. Loading a post's count from the table and
+ * flushing hold the stripe's lock, so a loaded count is never missing or
+ * double-counting this instance's flushes.</p>
+ *
+ * <p>A post not in memory is loaded from the table when first read.
+ * After each flush, posts with no change left to write are dropped and
+ * reloaded on demand, so counts read here catch up with the flushes of
+ * other instances within an interval.</p>
+ *
+ * <p>At startup, an empty table is first filled with counts taken from
+ * likes, so likes made before the table existed are not read as zero.
+ * Changes not yet flushed are lost if the process dies; {@link #rebuild()}
+ * repairs the table from the likes, at startup only when
+ * {@code like.counters.rebuild-on-startup} is set.</p>
+ */
+@Component
+@Slf4j
+public class LikeCounters {
+
+    private final PostLikeCountRepository repository;
+    private final Stripe[] stripes;
+    private final boolean rebuildOnStartup;
+
+    @Autowired
+    public LikeCounters(
+            PostLikeCountRepository repository,
+            @Value("${like.counters.stripes:16}") int stripes,
+            @Value("${like.counters.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.repository = repository;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    /** Runs before the counters serve reads. */
+    @PostConstruct
+    void prepareTable() {
+        if (rebuildOnStartup) {
+            rebuild();
+            log.info("Recomputed post like counts from likes");
+            return;
+        }
+        int backfilled = repository.backfillFromLikes();
+        if (backfilled > 0) {
+            log.info("Backfilled like counts of {} posts from likes", backfilled);
+        }
+    }
+
+    /**
+     * Recomputes post_like_counts from the likes table and drops every
+     * counter. A like committed while this runs may be counted twice, so
+     * it is a repair to run while writes are stopped.
+     */
+    public void rebuild() {
+        lockAll();
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.counters.clear();
+                stripe.dirty.clear();
+            }
+            repository.recomputeFromLikes();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Applies a committed like change. Runs on the committing thread, so
+     * the liker's next read of the count includes it.
+     */
+    @TransactionalEventListener
+    public void onLikeChanged(LikeChangedEvent event) {
+        add(event.getPostId(), event.getDelta());
+    }
+
+    void add(Long postId, long delta) {
+        Stripe stripe = stripeOf(postId);
+        stripe.counters.compute(postId, (id, counter) -> {
+            Counter updated = counter != null ? counter : new Counter();
+            updated.delta.addAndGet(delta);
+            return updated;
+        });
+        stripe.dirty.add(postId);
+    }
+
+    public long get(Long postId) {
+        Counter counter = stripeOf(postId).counters.get(postId);
+        if (counter != null && counter.loaded) {
+            return counter.value();
+        }
+        return getAll(List.of(postId)).get(postId);
+    }
+
+    /**
+     * The like counts of the given posts, with one query for those not in
+     * memory.
+     */
+    public Map<Long, Long> getAll(Collection<Long> postIds) {
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        Map<Integer, List<Long>> missingByStripe = new TreeMap<>();
+        for (Long postId : postIds) {
+            Counter counter = stripeOf(postId).counters.get(postId);
+            if (counter != null && counter.loaded) {
+                counts.put(postId, counter.value());
+            } else {
+                missingByStripe.computeIfAbsent(stripeIndex(postId), i -> new ArrayList<>()).add(postId);
+            }
+        }
+        if (missingByStripe.isEmpty()) {
+            return counts;
+        }
+        // Ascending stripe order, so concurrent batch loads cannot deadlock
+        List<Stripe> locked = new ArrayList<>();
+        try {
+            for (Integer index : missingByStripe.keySet()) {
+                stripes[index].lock.lock();
+                locked.add(stripes[index]);
+            }
+            List<Long> missing = missingByStripe.values().stream().flatMap(List::stream).toList();
+            load(missing);
+            for (Long postId : missing) {
+                counts.put(postId, stripeOf(postId).counters.get(postId).value());
+            }
+        } finally {
+            locked.forEach(stripe -> stripe.lock.unlock());
+        }
+        return counts;
+    }
+
+    @Scheduled(fixedDelayString = "${like.counters.flush-interval:PT5S}")
+    public void flush() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                flush(stripe);
+                evictFlushed(stripe);
+            } catch (Exception e) {
+                log.warn("Failed to flush like counts, will retry: {}", e.getMessage());
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /** Adds the unflushed changes of a stripe's dirty posts to the table. Caller holds its lock. */
+    private void flush(Stripe stripe) {
+        if (stripe.dirty.isEmpty()) {
+            return;
+        }
+        List<Long> postIds = new ArrayList<>();
+        for (Long postId : stripe.dirty) {
+            // Removed before the delta is read: a change made after the
+            // read marks the post dirty again
+            stripe.dirty.remove(postId);
+            postIds.add(postId);
+        }
+        // In post order, so instances flushing the same posts lock their rows alike
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (Long postId : postIds) {
+            Counter counter = stripe.counters.get(postId);
+            if (counter != null && counter.unflushed() != 0) {
+                deltas.put(postId, counter.unflushed());
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            repository.addAll(deltas);
+        } catch (RuntimeException e) {
+            stripe.dirty.addAll(postIds);
+            throw e;
+        }
+        deltas.forEach((postId, delta) -> stripe.counters.get(postId).flushed += delta);
+        log.debug("Flushed like count changes of {} posts", deltas.size());
+    }
+
+    /** Drops the counters of a stripe with nothing left to write. Caller holds its lock. */
+    private void evictFlushed(Stripe stripe) {
+        for (Long postId : stripe.counters.keySet()) {
+            // Atomic with add(), so a change racing with this keeps the counter
+            stripe.counters.computeIfPresent(postId, (id, counter) ->
+                    counter.unflushed() == 0 && !stripe.dirty.contains(id) ? null : counter);
+        }
+    }
+
+    /**
+     * Ensures the given posts have loaded counters. Caller holds the locks
+     * of their stripes, so no flush changes the rows read here.
+     */
+    private void load(List<Long> postIds) {
+        List<Long> unloaded = postIds.stream()
+                .filter(postId -> {
+                    Counter counter = stripeOf(postId).counters.get(postId);
+                    return counter == null || !counter.loaded;
+                })
+                .toList();
+        if (unloaded.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> stored = new HashMap<>();
+        for (PostLikeCount row : repository.findAllById(unloaded)) {
+            stored.put(row.getPostId(), row.getLikeCount());
+        }
+        for (Long postId : unloaded) {
+            // The row already holds the changes this counter has flushed
+            Counter counter = stripeOf(postId).counters.computeIfAbsent(postId, id -> new Counter());
+            counter.base = stored.getOrDefault(postId, 0L) - counter.flushed;
+            counter.loaded = true;
+        }
+    }
+
+    private Stripe stripeOf(Long postId) {
+        return stripes[stripeIndex(postId)];
+    }
+
+    private int stripeIndex(Long postId) {
+        return Math.floorMod(Long.hashCode(postId), stripes.length);
+    }
+
+    private void lockAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.unlock();
+        }
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+        final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * A post's count: the stored count when loaded, less what this counter
+     * had flushed by then, plus every change since the counter was created.
+     */
+    private static final class Counter {
+        final AtomicLong delta = new AtomicLong();
+        volatile long base;
+        volatile boolean loaded;
+        /** The part of {@code delta} added to the table; written under the stripe lock. */
+        volatile long flushed;
+
+        long value() {
+            return base + delta.get();
+        }
+
+        long unflushed() {
+            return delta.get() - flushed;
+        }
+    }
+}
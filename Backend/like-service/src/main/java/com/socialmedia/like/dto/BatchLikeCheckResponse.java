@@ -0,0 +1,18 @@
+package com.socialmedia.like.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchLikeCheckResponse {
+
+    private Long userId;
+    private List<Long> likedPostIds;
+}
@@ -0,0 +1,25 @@
+package com.socialmedia.like.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Likes and unlikes queued by a client, oldest first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchLikeRequest {
+
+    @NotEmpty(message = "Operations list cannot be empty")
+    @Size(max = 500, message = "At most 500 operations can be applied at once")
+    private List<@Valid LikeOperation> operations;
+}
@@ -0,0 +1,19 @@
+package com.socialmedia.like.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchLikeResponse {
+
+    private Long userId;
+    /** One result per requested operation, in request order. */
+    private List<LikeOperationResult> results;
+}
@@ -0,0 +1,6 @@
+package com.socialmedia.like.dto;
+
+public enum LikeAction {
+    LIKE,
+    UNLIKE
+}
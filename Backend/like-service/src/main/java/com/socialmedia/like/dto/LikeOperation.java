@@ -0,0 +1,20 @@
+package com.socialmedia.like.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LikeOperation {
+
+    @NotNull(message = "Post ID is required")
+    private Long postId;
+
+    @NotNull(message = "Action is required")
+    private LikeAction action;
+}
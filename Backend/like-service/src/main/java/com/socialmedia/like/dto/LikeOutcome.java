@@ -0,0 +1,17 @@
+package com.socialmedia.like.dto;
+
+/**
+ * What one operation of a bulk like request did.
+ */
+public enum LikeOutcome {
+    /** The like was added. */
+    LIKED,
+    /** The user already liked the post; nothing changed. */
+    ALREADY_LIKED,
+    /** The like was removed. */
+    UNLIKED,
+    /** The user did not like the post; nothing changed. */
+    NOT_LIKED,
+    /** A later operation in the same request on the same post was applied instead. */
+    SUPERSEDED
+}
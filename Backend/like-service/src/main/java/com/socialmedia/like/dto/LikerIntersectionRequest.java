@@ -0,0 +1,21 @@
+package com.socialmedia.like.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LikerIntersectionRequest {
+
+    @NotNull(message = "User IDs list is required")
+    @Size(max = 10000, message = "At most 10000 user IDs can be intersected at once")
+    private List<Long> userIds;
+}
@@ -0,0 +1,21 @@
+package com.socialmedia.like.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LikerIntersectionResponse {
+
+    private Long postId;
+    /** Everyone who liked the post, not only the requested users. */
+    private Long likerCount;
+    /** The requested users who liked the post, in ascending order. */
+    private List<Long> userIds;
+}
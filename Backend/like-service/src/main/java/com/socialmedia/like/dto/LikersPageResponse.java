@@ -0,0 +1,22 @@
+package com.socialmedia.like.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LikersPageResponse {
+
+    private Long postId;
+    private Long likerCount;
+    /** Users who liked the post, in ascending ID order. */
+    private List<Long> userIds;
+    /** Pass as {@code after} to get the next page; null on the last page. */
+    private Long nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.socialmedia.like.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingPost {
+
+    private Long postId;
+    /** Likes minus unlikes within the window. */
+    private Long likes;
+}
@@ -0,0 +1,20 @@
+package com.socialmedia.like.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingPostsResponse {
+
+    /** The window, as an ISO-8601 duration such as PT1H. */
+    private String window;
+    /** Most liked first; ties go to the newer (higher) post ID. */
+    private List<TrendingPost> posts;
+}
@@ -0,0 +1,43 @@
+package com.socialmedia.like.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Net likes of a post in one time bucket, as last snapshotted by
+ * TrendingPosts so the trending windows survive a restart. A bucket is
+ * numbered by its start time divided by the bucket width.
+ */
+@Entity
+@Table(name = "like_trend_buckets")
+@IdClass(LikeTrendBucket.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LikeTrendBucket {
+
+    @Id
+    @Column(name = "bucket")
+    private Long bucket;
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "likes", nullable = false)
+    private Long likes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long bucket;
+        private Long postId;
+    }
+}
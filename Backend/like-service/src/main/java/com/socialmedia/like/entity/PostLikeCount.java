@@ -0,0 +1,32 @@
+package com.socialmedia.like.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post's like count as last flushed by LikeCounters. Written only by
+ * that component, so it may trail the likes table by one flush interval.
+ */
+@Entity
+@Table(name = "post_like_counts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostLikeCount {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "like_count", nullable = false)
+    private Long likeCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
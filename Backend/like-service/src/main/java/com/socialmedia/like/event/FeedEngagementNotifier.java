@@ -0,0 +1,39 @@
+package com.socialmedia.like.event;
+
+import com.socialmedia.like.client.EngagementEvent;
+import com.socialmedia.like.client.FeedServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards committed like changes to feed-service so cached feed pages
+ * showing the post are refreshed, and the acting user's interest in the
+ * post's author counts towards their ranked feed. Delivery is best-effort:
+ * cached pages expire on their own, so a missed event only delays the new
+ * count.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeedEngagementNotifier {
+
+    private final FeedServiceClient feedServiceClient;
+
+    @Async
+    @TransactionalEventListener
+    public void onLikeChanged(LikeChangedEvent event) {
+        try {
+            feedServiceClient.countsChanged(EngagementEvent.builder()
+                    .postId(event.getPostId())
+                    .userId(event.getUserId())
+                    .likeDelta(event.getDelta())
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to notify feed-service of like change on post {}: {}",
+                    event.getPostId(), e.getMessage());
+        }
+    }
+}
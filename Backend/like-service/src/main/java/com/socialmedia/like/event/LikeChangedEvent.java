@@ -0,0 +1,17 @@
+package com.socialmedia.like.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by LikeService when a like is added (+1) or removed (-1).
+ * Delivered to listeners only after the surrounding transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class LikeChangedEvent {
+
+    private final Long postId;
+    private final Long userId;
+    private final long delta;
+}
@@ -0,0 +1,187 @@
+package com.socialmedia.like.index;
+
+import com.socialmedia.like.event.LikeChangedEvent;
+import com.socialmedia.like.repository.LikeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.PeekableLongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The users who liked each post, as a compressed (Roaring) bitmap of user
+ * IDs per post, so "who liked this" pages and "which of these users liked
+ * it" checks are answered from memory.
+ *
+ * <p>The index is built from the likes table at startup and kept current
+ * from {@link LikeChangedEvent}s. As in LikeCounters, a change is applied
+ * after its transaction commits, so readers never see a like that could
+ * still roll back.</p>
+ *
+ * <p>Posts are spread over {@code like.likers.stripes} stripes, each
+ * guarded by a read-write lock. Every like is held in memory; one liker
+ * costs a few bytes once a post has many. An instance sees only the
+ * changes it commits, so this assumes a single like-service instance.</p>
+ */
+@Component
+@Slf4j
+public class LikerIndex {
+
+    private final LikeRepository likeRepository;
+    private final Stripe[] stripes;
+
+    @Autowired
+    public LikerIndex(LikeRepository likeRepository, @Value("${like.likers.stripes:16}") int stripes) {
+        this.likeRepository = likeRepository;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    @PostConstruct
+    void buildOnStartup() {
+        long started = System.nanoTime();
+        rebuild();
+        log.info("Indexed likers of {} posts in {} ms", postCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Reloads the index from the likes table. Changes committed while the
+     * table is read may be lost, so this is meant for startup and for
+     * repairs while writes are stopped.
+     */
+    public void rebuild() {
+        List<Map<Long, Roaring64Bitmap>> rebuilt = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            rebuilt.add(new HashMap<>());
+        }
+        likeRepository.forEachLike((postId, userId) -> rebuilt.get(stripeIndex(postId))
+                .computeIfAbsent(postId, id -> new Roaring64Bitmap())
+                .addLong(userId));
+        for (int i = 0; i < stripes.length; i++) {
+            rebuilt.get(i).values().forEach(Roaring64Bitmap::runOptimize);
+            stripes[i].lock.writeLock().lock();
+            try {
+                stripes[i].likers = rebuilt.get(i);
+            } finally {
+                stripes[i].lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /** Applies a committed like change. */
+    @TransactionalEventListener
+    public void onLikeChanged(LikeChangedEvent event) {
+        Long postId = event.getPostId();
+        Long userId = event.getUserId();
+        Stripe stripe = stripeOf(postId);
+        stripe.lock.writeLock().lock();
+        try {
+            if (event.getDelta() > 0) {
+                stripe.likers.computeIfAbsent(postId, id -> new Roaring64Bitmap()).addLong(userId);
+            } else {
+                Roaring64Bitmap likers = stripe.likers.get(postId);
+                if (likers != null) {
+                    likers.removeLong(userId);
+                    if (likers.isEmpty()) {
+                        stripe.likers.remove(postId);
+                    }
+                }
+            }
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    public long likerCount(Long postId) {
+        Stripe stripe = stripeOf(postId);
+        stripe.lock.readLock().lock();
+        try {
+            Roaring64Bitmap likers = stripe.likers.get(postId);
+            return likers != null ? likers.getLongCardinality() : 0;
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The given users who liked the post, in ascending order without
+     * duplicates.
+     */
+    public List<Long> likersAmong(Long postId, Collection<Long> userIds) {
+        Stripe stripe = stripeOf(postId);
+        stripe.lock.readLock().lock();
+        try {
+            Roaring64Bitmap likers = stripe.likers.get(postId);
+            if (likers == null || userIds.isEmpty()) {
+                return List.of();
+            }
+            return userIds.stream().distinct().filter(likers::contains).sorted().toList();
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} users who liked the post, in ascending order,
+     * starting after {@code afterUserId} (from the lowest ID when null).
+     */
+    public List<Long> likersAfter(Long postId, Long afterUserId, int limit) {
+        Stripe stripe = stripeOf(postId);
+        stripe.lock.readLock().lock();
+        try {
+            Roaring64Bitmap likers = stripe.likers.get(postId);
+            if (likers == null || (afterUserId != null && afterUserId == Long.MAX_VALUE)) {
+                return List.of();
+            }
+            PeekableLongIterator iterator = afterUserId != null
+                    ? likers.getLongIteratorFrom(afterUserId + 1)
+                    : likers.getLongIterator();
+            List<Long> page = new ArrayList<>(Math.min(limit, 1024));
+            while (page.size() < limit && iterator.hasNext()) {
+                page.add(iterator.next());
+            }
+            return page;
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    private int postCount() {
+        int posts = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                posts += stripe.likers.size();
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return posts;
+    }
+
+    private Stripe stripeOf(Long postId) {
+        return stripes[stripeIndex(postId)];
+    }
+
+    private int stripeIndex(Long postId) {
+        return Math.floorMod(Long.hashCode(postId), stripes.length);
+    }
+
+    private static final class Stripe {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        /** Posts with at least one like; guarded by {@code lock}. */
+        Map<Long, Roaring64Bitmap> likers = new HashMap<>();
+    }
+}
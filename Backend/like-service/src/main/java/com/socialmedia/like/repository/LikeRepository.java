@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LikeRepository extends JpaRepository<Like, Long> {
+public interface LikeRepository extends JpaRepository<Like, Long>, LikeRepositoryCustom {
 
     @Query("SELECT l FROM Like l WHERE l.postId = :postId AND l.userId = :userId")
     Optional<Like> findByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
@@ -21,6 +21,13 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     @Query("SELECT l.postId, COUNT(l) FROM Like l WHERE l.postId IN :postIds GROUP BY l.postId")
     List<Object[]> countByPostIds(@Param("postIds") List<Long> postIds);
 
+    /**
+     * Returns the subset of {@code postIds} the user has liked. Each
+     * (post_id, user_id) pair is a point lookup on uk_likes_post_user.
+     */
+    @Query("SELECT l.postId FROM Like l WHERE l.userId = :userId AND l.postId IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") List<Long> postIds);
+
     boolean existsByPostIdAndUserId(Long postId, Long userId);
 
     void deleteByPostIdAndUserId(Long postId, Long userId);
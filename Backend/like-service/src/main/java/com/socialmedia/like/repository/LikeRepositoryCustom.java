@@ -0,0 +1,52 @@
+package com.socialmedia.like.repository;
+
+import com.socialmedia.like.entity.Like;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Access to likes over plain JDBC: a like or unlike that reports whether
+ * it changed anything, one user's likes and unlikes of many posts, each
+ * set as one batch, and a streaming scan of every like.
+ */
+public interface LikeRepositoryCustom {
+
+    /**
+     * Inserts the like unless the user already likes the post, in one
+     * statement, and returns the row either way. A concurrent insert of
+     * the same pair waits on uk_likes_post_user and then returns the
+     * committed row instead of failing.
+     */
+    LikeRow insertOrGet(Long postId, Long userId, LocalDateTime createdAt);
+
+    /**
+     * Deletes the like if present, in one statement. Returns the deleted
+     * row's ID, or empty if there was none.
+     */
+    Optional<Long> deleteIfPresent(Long postId, Long userId);
+
+    /**
+     * Inserts a like of each post, skipping posts the user already likes.
+     * Returns, per post, 1 if a like was inserted and 0 if it existed.
+     */
+    int[] insertAllIfAbsent(Long userId, List<Long> postIds);
+
+    /**
+     * Deletes the user's like of each post. Returns, per post, 1 if a like
+     * was deleted and 0 if there was none.
+     */
+    int[] deleteAllIfPresent(Long userId, List<Long> postIds);
+
+    /**
+     * Passes the post and user ID of every like to {@code action}, reading
+     * them in chunks rather than all at once.
+     */
+    void forEachLike(BiConsumer<Long, Long> action);
+
+    /** A like row, and whether the statement that returned it inserted it. */
+    record LikeRow(Like like, boolean inserted) {
+    }
+}
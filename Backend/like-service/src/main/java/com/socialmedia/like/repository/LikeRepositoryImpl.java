@@ -0,0 +1,75 @@
+package com.socialmedia.like.repository;
+
+import com.socialmedia.like.entity.Like;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Statements are batched without reWriteBatchedInserts, which would merge
+ * them and report no per-row update counts.
+ */
+@RequiredArgsConstructor
+class LikeRepositoryImpl implements LikeRepositoryCustom {
+
+    // The no-op update locks and returns an existing row; xmax is 0 only
+    // on a row version this statement inserted
+    private static final String INSERT_OR_GET = "INSERT INTO likes (post_id, user_id, created_at) "
+            + "VALUES (?, ?, ?) ON CONFLICT (post_id, user_id) DO UPDATE SET post_id = EXCLUDED.post_id "
+            + "RETURNING id, post_id, user_id, created_at, (xmax = 0) AS inserted";
+    private static final String INSERT_IF_ABSENT = "INSERT INTO likes (post_id, user_id, created_at) "
+            + "VALUES (?, ?, ?) ON CONFLICT (post_id, user_id) DO NOTHING";
+    private static final String DELETE_IF_PRESENT = "DELETE FROM likes WHERE post_id = ? AND user_id = ?";
+    private static final String DELETE_RETURNING_ID = DELETE_IF_PRESENT + " RETURNING id";
+
+    private static final int SCAN_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public LikeRow insertOrGet(Long postId, Long userId, LocalDateTime createdAt) {
+        return jdbcTemplate.queryForObject(INSERT_OR_GET, (row, rowNum) -> new LikeRow(
+                Like.builder()
+                        .id(row.getLong("id"))
+                        .postId(row.getLong("post_id"))
+                        .userId(row.getLong("user_id"))
+                        .createdAt(row.getObject("created_at", LocalDateTime.class))
+                        .build(),
+                row.getBoolean("inserted")), postId, userId, createdAt);
+    }
+
+    @Override
+    public Optional<Long> deleteIfPresent(Long postId, Long userId) {
+        return jdbcTemplate.query(DELETE_RETURNING_ID, (row, rowNum) -> row.getLong("id"), postId, userId)
+                .stream().findFirst();
+    }
+
+    @Override
+    public int[] insertAllIfAbsent(Long userId, List<Long> postIds) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        return jdbcTemplate.batchUpdate(INSERT_IF_ABSENT,
+                postIds.stream().map(postId -> new Object[]{postId, userId, createdAt}).toList());
+    }
+
+    @Override
+    public int[] deleteAllIfPresent(Long userId, List<Long> postIds) {
+        return jdbcTemplate.batchUpdate(DELETE_IF_PRESENT,
+                postIds.stream().map(postId -> new Object[]{postId, userId}).toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachLike(BiConsumer<Long, Long> action) {
+        // PostgreSQL only fetches in chunks inside a transaction
+        JdbcTemplate scan = new JdbcTemplate(jdbcTemplate.getDataSource());
+        scan.setFetchSize(SCAN_FETCH_SIZE);
+        scan.query("SELECT post_id, user_id FROM likes",
+                (RowCallbackHandler) row -> action.accept(row.getLong(1), row.getLong(2)));
+    }
+}
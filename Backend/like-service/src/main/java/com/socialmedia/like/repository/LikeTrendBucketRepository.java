@@ -0,0 +1,23 @@
+package com.socialmedia.like.repository;
+
+import com.socialmedia.like.entity.LikeTrendBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface LikeTrendBucketRepository
+        extends JpaRepository<LikeTrendBucket, LikeTrendBucket.Key>, LikeTrendBucketRepositoryCustom {
+
+    List<LikeTrendBucket> findByBucketGreaterThan(Long bucket);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LikeTrendBucket b WHERE b.bucket <= :bucket")
+    int deleteUpTo(@Param("bucket") Long bucket);
+}
@@ -0,0 +1,12 @@
+package com.socialmedia.like.repository;
+
+import java.util.Map;
+
+public interface LikeTrendBucketRepositoryCustom {
+
+    /**
+     * Replaces the rows of a bucket with the given net likes per post, as
+     * one JDBC batch in one transaction.
+     */
+    void replaceBucket(long bucket, Map<Long, Long> likes);
+}
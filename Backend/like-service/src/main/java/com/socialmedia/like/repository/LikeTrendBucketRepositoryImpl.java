@@ -0,0 +1,24 @@
+package com.socialmedia.like.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class LikeTrendBucketRepositoryImpl implements LikeTrendBucketRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void replaceBucket(long bucket, Map<Long, Long> likes) {
+        jdbcTemplate.update("DELETE FROM like_trend_buckets WHERE bucket = ?", bucket);
+        List<Object[]> rows = new ArrayList<>(likes.size());
+        likes.forEach((postId, count) -> rows.add(new Object[]{bucket, postId, count}));
+        jdbcTemplate.batchUpdate("INSERT INTO like_trend_buckets (bucket, post_id, likes) VALUES (?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,9 @@
+package com.socialmedia.like.repository;
+
+import com.socialmedia.like.entity.PostLikeCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostLikeCountRepository extends JpaRepository<PostLikeCount, Long>, PostLikeCountRepositoryCustom {
+}
@@ -0,0 +1,29 @@
+package com.socialmedia.like.repository;
+
+import java.util.Map;
+
+/**
+ * Bulk writes to post_like_counts that JPA would turn into a select and an
+ * insert or update per row.
+ */
+public interface PostLikeCountRepositoryCustom {
+
+    /**
+     * Adds a change to the like count of each post, inserting rows for
+     * posts that have none, as one JDBC batch in the map's order.
+     */
+    void addAll(Map<Long, Long> deltas);
+
+    /**
+     * Fills the table with a count per post taken from the likes table,
+     * only while it has no rows. Returns the rows inserted, 0 once the
+     * table is in use. Instances running this at once insert each post
+     * once.
+     */
+    int backfillFromLikes();
+
+    /**
+     * Replaces every row with a count taken from the likes table.
+     */
+    void recomputeFromLikes();
+}
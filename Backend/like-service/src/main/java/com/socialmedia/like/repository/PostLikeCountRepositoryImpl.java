@@ -0,0 +1,52 @@
+package com.socialmedia.like.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class PostLikeCountRepositoryImpl implements PostLikeCountRepositoryCustom {
+
+    private static final String ADD = """
+            INSERT INTO post_like_counts (post_id, like_count, updated_at)
+            VALUES (?, ?, now())
+            ON CONFLICT (post_id) DO UPDATE
+            SET like_count = post_like_counts.like_count + EXCLUDED.like_count, updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void addAll(Map<Long, Long> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((postId, delta) -> rows.add(new Object[]{postId, delta}));
+        jdbcTemplate.batchUpdate(ADD, rows);
+    }
+
+    @Override
+    @Transactional
+    public int backfillFromLikes() {
+        return jdbcTemplate.update("""
+                INSERT INTO post_like_counts (post_id, like_count, updated_at)
+                SELECT post_id, COUNT(*), now() FROM likes
+                WHERE NOT EXISTS (SELECT 1 FROM post_like_counts)
+                GROUP BY post_id
+                ON CONFLICT (post_id) DO NOTHING
+                """);
+    }
+
+    @Override
+    @Transactional
+    public void recomputeFromLikes() {
+        jdbcTemplate.update("DELETE FROM post_like_counts");
+        jdbcTemplate.update("""
+                INSERT INTO post_like_counts (post_id, like_count, updated_at)
+                SELECT post_id, COUNT(*), now() FROM likes GROUP BY post_id
+                """);
+    }
+}
@@ -1,18 +1,26 @@
 package com.socialmedia.like.service;
 
+import com.socialmedia.like.counter.LikeCounters;
 import com.socialmedia.like.dto.*;
-import com.socialmedia.like.entity.Like;
+import com.socialmedia.like.event.LikeChangedEvent;
+import com.socialmedia.like.exception.BadRequestException;
+import com.socialmedia.like.index.LikerIndex;
 import com.socialmedia.like.mapper.LikeMapper;
 import com.socialmedia.like.repository.LikeRepository;
+import com.socialmedia.like.trending.TrendingPosts;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,41 +29,41 @@ public class LikeService {
 
     private final LikeRepository likeRepository;
     private final LikeMapper likeMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LikeCounters likeCounters;
+    private final LikerIndex likerIndex;
+    private final TrendingPosts trendingPosts;
 
     /**
-     * Like a post (idempotent - creates if not exists)
+     * Like a post (idempotent - creates if not exists), as a single
+     * statement that returns the new or existing like; repeated or
+     * concurrent likes of the same post by the same user leave the
+     * existing like in place.
      */
     @Transactional
     public LikeResponse likePost(Long postId, Long userId) {
         log.debug("User {} attempting to like post {}", userId, postId);
 
-        // Check if like already exists (idempotent)
-        Optional<Like> existingLike = likeRepository.findByPostIdAndUserId(postId, userId);
-        
-        if (existingLike.isPresent()) {
+        LikeRepository.LikeRow likeRow = likeRepository.insertOrGet(postId, userId, LocalDateTime.now());
+
+        if (likeRow.inserted()) {
+            eventPublisher.publishEvent(new LikeChangedEvent(postId, userId, 1));
+            log.info("User {} liked post {}", userId, postId);
+        } else {
             log.debug("Like already exists for user {} on post {}", userId, postId);
-            return likeMapper.toResponse(existingLike.get());
         }
-
-        // Create new like
-        Like like = likeMapper.toEntity(postId, userId);
-        Like savedLike = likeRepository.save(like);
-        
-        log.info("User {} liked post {}", userId, postId);
-        return likeMapper.toResponse(savedLike);
+        return likeMapper.toResponse(likeRow.like());
     }
 
     /**
-     * Unlike a post (idempotent - deletes if exists)
+     * Unlike a post (idempotent - deletes if exists), as a single delete
      */
     @Transactional
     public void unlikePost(Long postId, Long userId) {
         log.debug("User {} attempting to unlike post {}", userId, postId);
 
-        Optional<Like> existingLike = likeRepository.findByPostIdAndUserId(postId, userId);
-        
-        if (existingLike.isPresent()) {
-            likeRepository.delete(existingLike.get());
+        if (likeRepository.deleteIfPresent(postId, userId).isPresent()) {
+            eventPublisher.publishEvent(new LikeChangedEvent(postId, userId, -1));
             log.info("User {} unliked post {}", userId, postId);
         } else {
             log.debug("No like found for user {} on post {} - idempotent operation", userId, postId);
@@ -63,13 +71,71 @@ public class LikeService {
     }
 
     /**
-     * Get like count for a post
+     * Apply a user's queued likes and unlikes in one transaction. When the
+     * same post appears more than once, the last operation wins and the
+     * earlier ones are reported as superseded. Likes and unlikes are each
+     * written as one JDBC batch, in post ID order so that concurrent
+     * batches lock rows in the same order.
+     */
+    @Transactional
+    public BatchLikeResponse applyLikeOperations(List<LikeOperation> operations, Long userId) {
+        log.debug("User {} applying {} like operations", userId, operations.size());
+
+        Map<Long, Integer> lastIndexByPost = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            lastIndexByPost.put(operations.get(i).getPostId(), i);
+        }
+        List<Long> likes = new ArrayList<>();
+        List<Long> unlikes = new ArrayList<>();
+        lastIndexByPost.forEach((postId, index) ->
+                (operations.get(index).getAction() == LikeAction.LIKE ? likes : unlikes).add(postId));
+        likes.sort(null);
+        unlikes.sort(null);
+
+        Map<Long, LikeOutcome> outcomes = new HashMap<>();
+        int[] inserted = likes.isEmpty() ? new int[0] : likeRepository.insertAllIfAbsent(userId, likes);
+        for (int i = 0; i < likes.size(); i++) {
+            outcomes.put(likes.get(i), inserted[i] > 0 ? LikeOutcome.LIKED : LikeOutcome.ALREADY_LIKED);
+        }
+        int[] deleted = unlikes.isEmpty() ? new int[0] : likeRepository.deleteAllIfPresent(userId, unlikes);
+        for (int i = 0; i < unlikes.size(); i++) {
+            outcomes.put(unlikes.get(i), deleted[i] > 0 ? LikeOutcome.UNLIKED : LikeOutcome.NOT_LIKED);
+        }
+        outcomes.forEach((postId, outcome) -> {
+            if (outcome == LikeOutcome.LIKED || outcome == LikeOutcome.UNLIKED) {
+                eventPublisher.publishEvent(
+                        new LikeChangedEvent(postId, userId, outcome == LikeOutcome.LIKED ? 1 : -1));
+            }
+        });
+
+        List<LikeOperationResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            LikeOperation operation = operations.get(i);
+            results.add(LikeOperationResult.builder()
+                    .postId(operation.getPostId())
+                    .action(operation.getAction())
+                    .outcome(lastIndexByPost.get(operation.getPostId()) == i
+                            ? outcomes.get(operation.getPostId())
+                            : LikeOutcome.SUPERSEDED)
+                    .build());
+        }
+
+        log.info("User {} applied {} like operations: {} liked, {} unliked", userId, operations.size(),
+                outcomes.values().stream().filter(LikeOutcome.LIKED::equals).count(),
+                outcomes.values().stream().filter(LikeOutcome.UNLIKED::equals).count());
+        return BatchLikeResponse.builder()
+                .userId(userId)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Get like count for a post (from the in-memory counters)
      */
-    @Transactional(readOnly = true)
     public LikeCountResponse getLikeCount(Long postId) {
         log.debug("Getting like count for post {}", postId);
         
-        Long count = likeRepository.countByPostId(postId);
+        long count = likeCounters.get(postId);
         
         return LikeCountResponse.builder()
                 .postId(postId)
@@ -93,30 +159,88 @@ public class LikeService {
     }
 
     /**
-     * Get like counts for multiple posts (batch operation)
+     * Get like counts for multiple posts (batch operation, from the
+     * in-memory counters; posts without likes count 0)
      */
-    @Transactional(readOnly = true)
     public BatchLikeCountResponse getBatchLikeCounts(List<Long> postIds) {
         log.debug("Getting like counts for {} posts", postIds.size());
         
-        List<Object[]> results = likeRepository.countByPostIds(postIds);
-        
-        Map<Long, Long> likeCounts = new HashMap<>();
-        
-        // Initialize all post IDs with 0 count
-        for (Long postId : postIds) {
-            likeCounts.put(postId, 0L);
+        return BatchLikeCountResponse.builder()
+                .likeCounts(likeCounters.getAll(postIds))
+                .build();
+    }
+
+    /**
+     * Check which of the given posts a user liked (batch operation)
+     */
+    @Transactional(readOnly = true)
+    public BatchLikeCheckResponse checkIfUserLikedPosts(List<Long> postIds, Long userId) {
+        log.debug("Checking if user {} liked {} posts", userId, postIds.size());
+
+        List<Long> likedPostIds = likeRepository.findLikedPostIds(userId, postIds);
+
+        return BatchLikeCheckResponse.builder()
+                .userId(userId)
+                .likedPostIds(likedPostIds)
+                .build();
+    }
+
+    /**
+     * Which of the given users liked a post, e.g. the caller's followees
+     * (from the in-memory liker index)
+     */
+    public LikerIntersectionResponse getLikersAmong(Long postId, List<Long> userIds) {
+        log.debug("Intersecting likers of post {} with {} users", postId, userIds.size());
+
+        return LikerIntersectionResponse.builder()
+                .postId(postId)
+                .likerCount(likerIndex.likerCount(postId))
+                .userIds(likerIndex.likersAmong(postId, userIds))
+                .build();
+    }
+
+    /**
+     * Page through the users who liked a post in ascending ID order, after
+     * the given cursor (from the in-memory liker index)
+     */
+    public LikersPageResponse getLikers(Long postId, Long after, int size) {
+        log.debug("Getting likers of post {} after {}", postId, after);
+
+        List<Long> likers = likerIndex.likersAfter(postId, after, size + 1);
+        List<Long> page = likers.size() > size ? likers.subList(0, size) : likers;
+
+        return LikersPageResponse.builder()
+                .postId(postId)
+                .likerCount(likerIndex.likerCount(postId))
+                .userIds(page)
+                .nextCursor(likers.size() > size ? page.get(size - 1) : null)
+                .build();
+    }
+
+    /**
+     * Posts with the most net likes in a trending window (from memory).
+     * The window is given as e.g. "1h" or "PT1H"; the default is the
+     * shortest configured window.
+     */
+    public TrendingPostsResponse getTrendingPosts(String window, int limit) {
+        log.debug("Getting top {} trending posts over {}", limit, window);
+
+        List<Duration> windows = trendingPosts.windows();
+        Duration selected;
+        try {
+            selected = window != null
+                    ? DurationStyle.detectAndParse(window)
+                    : windows.stream().min(Duration::compareTo).orElseThrow();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid trending window: " + window);
         }
-        
-        // Update with actual counts
-        for (Object[] result : results) {
-            Long postId = (Long) result[0];
-            Long count = (Long) result[1];
-            likeCounts.put(postId, count);
+        if (!windows.contains(selected)) {
+            throw new BadRequestException("Trending window must be one of " + windows);
         }
-        
-        return BatchLikeCountResponse.builder()
-                .likeCounts(likeCounts)
+
+        return TrendingPostsResponse.builder()
+                .window(selected.toString())
+                .posts(trendingPosts.top(selected, limit))
                 .build();
     }
 }
@@ -0,0 +1,346 @@
+package com.socialmedia.like.trending;
+
+import com.socialmedia.like.dto.TrendingPost;
+import com.socialmedia.like.entity.LikeTrendBucket;
+import com.socialmedia.like.event.LikeChangedEvent;
+import com.socialmedia.like.repository.LikeTrendBucketRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Posts with the most net likes over sliding windows (by default the last
+ * hour and day), kept in memory so the trending list is not a GROUP BY
+ * over recent likes.
+ *
+ * <p>Committed likes and unlikes are counted in time buckets of
+ * {@code like.trending.bucket} width. Each window keeps per-post totals of
+ * its buckets and an ordered set of its leading posts, both updated on
+ * every change and when a bucket leaves the window, so reading the top
+ * posts is a walk of that set. Windows slide one bucket at a time, so a
+ * window covers between its length less one bucket and its length.</p>
+ *
+ * <p>The ordered set holds at most twice {@code like.trending.top-k}
+ * posts, which is also the most a caller can ask for, so a change costs a
+ * hash lookup and a few steps in a small tree whatever the number of
+ * posts. A post that drops below the last one held leaves the set; when
+ * fewer than top-k posts remain while others were left out, the set is
+ * refilled with a pass over the window's totals. That pass is linear in
+ * the posts liked in the window, but needs top-k posts to have fallen out
+ * since the last one.</p>
+ *
+ * <p>Buckets changed since the last snapshot are written to
+ * like_trend_buckets every {@code like.trending.snapshot-interval} and on
+ * shutdown, and read back at startup; a crash loses at most one interval
+ * of changes. A snapshot replaces whole buckets, so this assumes a single
+ * like-service instance.</p>
+ */
+@Component
+@Slf4j
+public class TrendingPosts {
+
+    private final LikeTrendBucketRepository repository;
+    private final Clock clock;
+    private final long bucketMillis;
+    private final List<Window> windows = new ArrayList<>();
+    private final long retainedBuckets;
+    private final int topK;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    /** Net likes per post, by bucket number; guarded by {@code lock}. */
+    private final Map<Long, Map<Long, Long>> buckets = new HashMap<>();
+    private final Set<Long> unsavedBuckets = new HashSet<>();
+    private long currentBucket;
+
+    @Autowired
+    public TrendingPosts(
+            LikeTrendBucketRepository repository,
+            @Value("${like.trending.bucket:PT5M}") Duration bucket,
+            @Value("${like.trending.windows:PT1H,PT24H}") List<Duration> windows,
+            @Value("${like.trending.top-k:100}") int topK) {
+        this(repository, bucket, windows, topK, Clock.systemUTC());
+    }
+
+    @Builder
+    TrendingPosts(LikeTrendBucketRepository repository, Duration bucket, List<Duration> windows, int topK,
+                  Clock clock) {
+        if (windows.isEmpty()) {
+            throw new IllegalArgumentException("At least one trending window is required");
+        }
+        if (topK < 1) {
+            throw new IllegalArgumentException("Trending top-k must be positive");
+        }
+        this.repository = repository;
+        this.clock = clock;
+        this.bucketMillis = bucket.toMillis();
+        this.topK = topK;
+        for (Duration window : windows) {
+            if (window.toMillis() % bucketMillis != 0) {
+                throw new IllegalArgumentException(
+                        "Trending window " + window + " is not a multiple of the bucket width " + bucket);
+            }
+            this.windows.add(new Window(window, window.toMillis() / bucketMillis, topK));
+        }
+        this.retainedBuckets = this.windows.stream().mapToLong(Window::buckets).max().getAsLong();
+        this.currentBucket = bucketAt(clock.millis());
+    }
+
+    /**
+     * Reads back the snapshotted buckets still inside the longest window.
+     * Runs at startup.
+     */
+    @PostConstruct
+    public void restore() {
+        lock.lock();
+        try {
+            advance();
+            int rows = 0;
+            for (LikeTrendBucket row : repository.findByBucketGreaterThan(currentBucket - retainedBuckets)) {
+                if (row.getBucket() <= currentBucket) {
+                    add(row.getBucket(), row.getPostId(), row.getLikes());
+                    rows++;
+                }
+            }
+            log.info("Restored {} trending like counts over the last {} buckets", rows, retainedBuckets);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLikeChanged(LikeChangedEvent event) {
+        lock.lock();
+        try {
+            advance();
+            add(currentBucket, event.getPostId(), event.getDelta());
+            unsavedBuckets.add(currentBucket);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Duration> windows() {
+        return windows.stream().map(Window::length).toList();
+    }
+
+    /** The most posts {@link #top} returns. */
+    public int topK() {
+        return topK;
+    }
+
+    /**
+     * Up to {@code limit} posts with the most net likes in the window, most
+     * liked first, and never more than {@link #topK()}. The window must be
+     * one of {@link #windows()}.
+     */
+    public List<TrendingPost> top(Duration window, int limit) {
+        Window selected = windows.stream()
+                .filter(candidate -> candidate.length().equals(window))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown trending window: " + window));
+        lock.lock();
+        try {
+            advance();
+            return selected.ranking().stream()
+                    .limit(Math.min(limit, topK))
+                    .map(ranked -> TrendingPost.builder().postId(ranked.postId()).likes(ranked.likes()).build())
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the buckets changed since the last snapshot and deletes those
+     * older than the longest window.
+     */
+    @Scheduled(fixedDelayString = "${like.trending.snapshot-interval:PT1M}")
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            Map<Long, Map<Long, Long>> unsaved = new HashMap<>();
+            long oldestRetained;
+            lock.lock();
+            try {
+                advance();
+                for (Long bucket : unsavedBuckets) {
+                    Map<Long, Long> likes = buckets.get(bucket);
+                    unsaved.put(bucket, likes != null ? new HashMap<>(likes) : Map.of());
+                }
+                unsavedBuckets.clear();
+                oldestRetained = currentBucket - retainedBuckets + 1;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                unsaved.forEach(repository::replaceBucket);
+                repository.deleteUpTo(oldestRetained - 1);
+            } catch (RuntimeException e) {
+                lock.lock();
+                try {
+                    unsavedBuckets.addAll(unsaved.keySet());
+                } finally {
+                    lock.unlock();
+                }
+                log.warn("Failed to snapshot trending like counts, will retry: {}", e.getMessage());
+            }
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    /** Adds net likes to a bucket and to the windows covering it. Caller holds the lock. */
+    private void add(long bucket, long postId, long delta) {
+        Map<Long, Long> likes = buckets.computeIfAbsent(bucket, b -> new HashMap<>());
+        if (likes.merge(postId, delta, Long::sum) == 0) {
+            likes.remove(postId);
+        }
+        for (Window window : windows) {
+            if (bucket > currentBucket - window.buckets()) {
+                window.add(postId, delta);
+            }
+        }
+    }
+
+    /**
+     * Moves to the current bucket, taking the buckets that slide out of
+     * each window off its totals. Caller holds the lock.
+     */
+    private void advance() {
+        long now = bucketAt(clock.millis());
+        if (now - currentBucket >= retainedBuckets) {
+            // Idle for longer than any window: nothing is left in them
+            buckets.clear();
+            windows.forEach(Window::clear);
+            currentBucket = now;
+            return;
+        }
+        while (currentBucket < now) {
+            currentBucket++;
+            for (Window window : windows) {
+                Map<Long, Long> leaving = buckets.get(currentBucket - window.buckets());
+                if (leaving != null) {
+                    leaving.forEach((postId, likes) -> window.add(postId, -likes));
+                }
+            }
+            buckets.remove(currentBucket - retainedBuckets);
+        }
+    }
+
+    private long bucketAt(long epochMillis) {
+        return Math.floorDiv(epochMillis, bucketMillis);
+    }
+
+    private record Ranked(long postId, long likes) implements Comparable<Ranked> {
+        @Override
+        public int compareTo(Ranked other) {
+            int byLikes = Long.compare(other.likes, likes);
+            return byLikes != 0 ? byLikes : Long.compare(other.postId, postId);
+        }
+    }
+
+    /**
+     * One sliding window: net likes per post over its buckets, and its
+     * leading posts in order. Every post with positive likes that is not
+     * in {@code ranking} ranks after the last one that is; {@code complete}
+     * is set while no such post exists.
+     */
+    private static final class Window {
+        final Duration length;
+        final long buckets;
+        final int topK;
+        final int capacity;
+        final Map<Long, Long> totals = new HashMap<>();
+        final NavigableSet<Ranked> ranking = new TreeSet<>();
+        boolean complete = true;
+
+        Window(Duration length, long buckets, int topK) {
+            this.length = length;
+            this.buckets = buckets;
+            this.topK = topK;
+            this.capacity = 2 * topK;
+        }
+
+        Duration length() {
+            return length;
+        }
+
+        long buckets() {
+            return buckets;
+        }
+
+        NavigableSet<Ranked> ranking() {
+            return ranking;
+        }
+
+        void add(long postId, long delta) {
+            long before = totals.getOrDefault(postId, 0L);
+            long after = before + delta;
+            if (after == 0) {
+                totals.remove(postId);
+            } else {
+                totals.put(postId, after);
+            }
+            Ranked last = ranking.isEmpty() ? null : ranking.last();
+            if (before > 0) {
+                ranking.remove(new Ranked(postId, before));
+            }
+            Ranked updated = new Ranked(postId, after);
+            // Only a post ahead of every post left out may rank
+            if (after > 0 && (complete || updated.compareTo(last) <= 0)) {
+                ranking.add(updated);
+                if (ranking.size() > capacity) {
+                    ranking.pollLast();
+                    complete = false;
+                }
+            }
+            if (!complete && ranking.size() < topK) {
+                refill();
+            }
+        }
+
+        /** Ranks the leading posts again from the totals. */
+        private void refill() {
+            ranking.clear();
+            complete = true;
+            for (Map.Entry<Long, Long> total : totals.entrySet()) {
+                if (total.getValue() > 0) {
+                    ranking.add(new Ranked(total.getKey(), total.getValue()));
+                    if (ranking.size() > capacity) {
+                        ranking.pollLast();
+                        complete = false;
+                    }
+                }
+            }
+        }
+
+        void clear() {
+            totals.clear();
+            ranking.clear();
+            complete = true;
+        }
+    }
+}
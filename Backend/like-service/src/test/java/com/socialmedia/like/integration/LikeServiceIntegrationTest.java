@@ -1,8 +1,12 @@
 package com.socialmedia.like.integration;
 
+import com.socialmedia.like.counter.LikeCounters;
 import com.socialmedia.like.dto.*;
 import com.socialmedia.like.entity.Like;
+import com.socialmedia.like.entity.PostLikeCount;
+import com.socialmedia.like.index.LikerIndex;
 import com.socialmedia.like.repository.LikeRepository;
+import com.socialmedia.like.repository.PostLikeCountRepository;
 import com.socialmedia.like.service.LikeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,11 +18,18 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest
 @Testcontainers
@@ -43,9 +54,20 @@ class LikeServiceIntegrationTest {
     @Autowired
     private LikeRepository likeRepository;
 
+    @Autowired
+    private PostLikeCountRepository postLikeCountRepository;
+
+    @Autowired
+    private LikeCounters likeCounters;
+
+    @Autowired
+    private LikerIndex likerIndex;
+
     @BeforeEach
     void setUp() {
         likeRepository.deleteAll();
+        likeCounters.rebuild();
+        likerIndex.rebuild();
     }
 
     @Test
@@ -88,6 +110,35 @@ class LikeServiceIntegrationTest {
         assertThat(count).isEqualTo(1L);
     }
 
+    @Test
+    void testLikePost_ConcurrentRepeatedTaps() throws Exception {
+        // Given
+        Long postId = 1L;
+        Long userId = 100L;
+
+        // When - the same like arrives on several threads at once
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<LikeResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> likeService.likePost(postId, userId)));
+            }
+            // Then - none fails, every tap returns the one like, and it is counted once
+            Set<Long> likeIds = new HashSet<>();
+            for (Future<LikeResponse> response : responses) {
+                assertThat(response.get().getPostId()).isEqualTo(postId);
+                assertThat(response.get().getCreatedAt()).isNotNull();
+                likeIds.add(response.get().getId());
+            }
+            assertThat(likeIds).hasSize(1).doesNotContainNull();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(likeRepository.countByPostId(postId)).isEqualTo(1L);
+        assertThat(likeService.getLikeCount(postId).getCount()).isEqualTo(1L);
+    }
+
     @Test
     void testUnlikePost_RemovesLikeRecord() {
         // Given - a user has liked a post
@@ -121,6 +172,24 @@ class LikeServiceIntegrationTest {
         assertThat(like).isEmpty();
     }
 
+    @Test
+    void testDeleteIfPresent_ReturnsDeletedIdOnce() {
+        // Given - a user has liked a post, and another user the same post
+        Long postId = 1L;
+        Long likeId = likeService.likePost(postId, 100L).getId();
+        likeService.likePost(postId, 200L);
+
+        // When - the like is deleted twice
+        Optional<Long> first = likeRepository.deleteIfPresent(postId, 100L);
+        Optional<Long> second = likeRepository.deleteIfPresent(postId, 100L);
+
+        // Then - only the first delete finds it, and the other like stays
+        assertThat(first).contains(likeId);
+        assertThat(second).isEmpty();
+        assertThat(likeRepository.findByPostIdAndUserId(postId, 100L)).isEmpty();
+        assertThat(likeRepository.findByPostIdAndUserId(postId, 200L)).isPresent();
+    }
+
     @Test
     void testGetLikeCount_ReturnsAccurateCount() {
         // Given - multiple users like a post
@@ -190,4 +259,145 @@ class LikeServiceIntegrationTest {
         assertThat(response.getLikeCounts().get(post2)).isEqualTo(1L);
         assertThat(response.getLikeCounts().get(post3)).isEqualTo(0L);
     }
+
+    @Test
+    void testFlushLikeCounts_WritesCountsAndReloads() {
+        // Given - likes counted in memory
+        Long postId = 1L;
+        likeService.likePost(postId, 100L);
+        likeService.likePost(postId, 101L);
+        likeService.likePost(postId, 102L);
+        likeService.unlikePost(postId, 101L);
+
+        // When
+        likeCounters.flush();
+
+        // Then - the table holds the count, and a fresh counter loads it
+        assertThat(postLikeCountRepository.findById(postId))
+                .map(PostLikeCount::getLikeCount)
+                .contains(2L);
+        assertThat(likeService.getLikeCount(postId).getCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void testBackfillLikeCounts_FillsEmptyTableOnce() {
+        // Given - likes written before post_like_counts existed
+        likeRepository.save(Like.builder().postId(1L).userId(100L).build());
+        likeRepository.save(Like.builder().postId(1L).userId(101L).build());
+        likeRepository.save(Like.builder().postId(2L).userId(100L).build());
+        postLikeCountRepository.deleteAll();
+
+        // When
+        int backfilled = postLikeCountRepository.backfillFromLikes();
+
+        // Then - each liked post gets its count, and a table in use is left alone
+        assertThat(backfilled).isEqualTo(2);
+        assertThat(postLikeCountRepository.findById(1L)).map(PostLikeCount::getLikeCount).contains(2L);
+        assertThat(postLikeCountRepository.findById(2L)).map(PostLikeCount::getLikeCount).contains(1L);
+
+        likeRepository.save(Like.builder().postId(3L).userId(100L).build());
+        assertThat(postLikeCountRepository.backfillFromLikes()).isZero();
+        assertThat(postLikeCountRepository.findById(3L)).isEmpty();
+    }
+
+    @Test
+    void testApplyLikeOperations_LastOperationPerPostWins() {
+        // Given - user 100 already likes posts 1 and 2
+        Long userId = 100L;
+        likeService.likePost(1L, userId);
+        likeService.likePost(2L, userId);
+
+        // When - replaying a queue that touches post 3 twice
+        List<LikeOperation> operations = List.of(
+                new LikeOperation(1L, LikeAction.LIKE),
+                new LikeOperation(2L, LikeAction.UNLIKE),
+                new LikeOperation(3L, LikeAction.LIKE),
+                new LikeOperation(4L, LikeAction.UNLIKE),
+                new LikeOperation(3L, LikeAction.UNLIKE),
+                new LikeOperation(3L, LikeAction.LIKE));
+        BatchLikeResponse response = likeService.applyLikeOperations(operations, userId);
+
+        // Then - one outcome per operation, in request order
+        assertThat(response.getUserId()).isEqualTo(userId);
+        assertThat(response.getResults()).extracting(LikeOperationResult::getOutcome).containsExactly(
+                LikeOutcome.ALREADY_LIKED,
+                LikeOutcome.UNLIKED,
+                LikeOutcome.SUPERSEDED,
+                LikeOutcome.NOT_LIKED,
+                LikeOutcome.SUPERSEDED,
+                LikeOutcome.LIKED);
+        assertThat(likeRepository.existsByPostIdAndUserId(1L, userId)).isTrue();
+        assertThat(likeRepository.existsByPostIdAndUserId(2L, userId)).isFalse();
+        assertThat(likeRepository.existsByPostIdAndUserId(3L, userId)).isTrue();
+        assertThat(likeService.getBatchLikeCounts(List.of(1L, 2L, 3L)).getLikeCounts())
+                .containsEntry(1L, 1L)
+                .containsEntry(2L, 0L)
+                .containsEntry(3L, 1L);
+    }
+
+    @Test
+    void testGetLikers_PagesThroughLikersAndIntersects() {
+        // Given - five users like a post, then one unlikes it
+        Long postId = 1L;
+        for (long userId = 101L; userId <= 105L; userId++) {
+            likeService.likePost(postId, userId);
+        }
+        likeService.unlikePost(postId, 103L);
+
+        // When - paging two at a time
+        LikersPageResponse first = likeService.getLikers(postId, null, 2);
+        LikersPageResponse second = likeService.getLikers(postId, first.getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getLikerCount()).isEqualTo(4L);
+        assertThat(first.getUserIds()).containsExactly(101L, 102L);
+        assertThat(second.getUserIds()).containsExactly(104L, 105L);
+        assertThat(second.getNextCursor()).isNull();
+
+        // And the index agrees with the table after a rebuild
+        likerIndex.rebuild();
+        LikerIntersectionResponse followed = likeService.getLikersAmong(postId, List.of(105L, 103L, 200L, 101L));
+        assertThat(followed.getUserIds()).containsExactly(101L, 105L);
+    }
+
+    @Test
+    void testGetTrendingPosts_RanksByNetLikesInWindow() {
+        // Given - posts liked this hour; trending counts persist across
+        // tests, so these use post IDs of their own
+        for (long userId = 100L; userId < 105L; userId++) {
+            likeService.likePost(9001L, userId);
+        }
+        for (long userId = 100L; userId < 104L; userId++) {
+            likeService.likePost(9002L, userId);
+            likeService.likePost(9003L, userId);
+        }
+        likeService.unlikePost(9003L, 100L);
+        likeService.unlikePost(9003L, 101L);
+
+        // When
+        TrendingPostsResponse response = likeService.getTrendingPosts("1h", 100);
+
+        // Then - most net likes first
+        assertThat(response.getWindow()).isEqualTo("PT1H");
+        assertThat(response.getPosts())
+                .filteredOn(post -> post.getPostId() > 9000L)
+                .extracting(TrendingPost::getPostId, TrendingPost::getLikes)
+                .containsExactly(tuple(9001L, 5L), tuple(9002L, 4L), tuple(9003L, 2L));
+    }
+
+    @Test
+    void testCheckIfUserLikedPosts_ReturnsLikedSubset() {
+        // Given - user 100 liked posts 1 and 3, another user liked post 2
+        Long userId = 100L;
+        likeService.likePost(1L, userId);
+        likeService.likePost(3L, userId);
+        likeService.likePost(2L, 101L);
+
+        // When
+        BatchLikeCheckResponse response = likeService.checkIfUserLikedPosts(Arrays.asList(1L, 2L, 3L, 4L), userId);
+
+        // Then
+        assertThat(response.getUserId()).isEqualTo(userId);
+        assertThat(response.getLikedPostIds()).containsExactlyInAnyOrder(1L, 3L);
+    }
 }
@@ -0,0 +1,125 @@
+package com.socialmedia.like.properties;
+
+import com.socialmedia.like.counter.LikeCounters;
+import com.socialmedia.like.entity.PostLikeCount;
+import com.socialmedia.like.event.LikeChangedEvent;
+import com.socialmedia.like.repository.PostLikeCountRepository;
+import net.jqwik.api.*;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+class LikeCountersPropertiesTest {
+
+    /**
+     * Instances sharing post_like_counts each add their own changes to it,
+     * flushing in any interleaving: once all have flushed, the table and
+     * every instance's reads hold the sum of all changes.
+     */
+    @Property(tries = 100)
+    void flushesFromSeveralInstancesAddUp(@ForAll("steps") List<Step> steps) {
+        Map<Long, Long> table = new HashMap<>();
+        List<LikeCounters> instances = List.of(counters(table, null), counters(table, null));
+        Map<Long, Long> expected = new HashMap<>();
+
+        for (Step step : steps) {
+            LikeCounters instance = instances.get(step.instance());
+            if (step.flush()) {
+                instance.flush();
+            } else {
+                instance.onLikeChanged(new LikeChangedEvent(step.postId(), 1L, step.delta()));
+                expected.merge(step.postId(), step.delta(), Long::sum);
+            }
+        }
+        instances.forEach(LikeCounters::flush);
+
+        for (long postId = 1; postId <= 5; postId++) {
+            long count = expected.getOrDefault(postId, 0L);
+            assertThat(table.getOrDefault(postId, 0L)).isEqualTo(count);
+            for (LikeCounters instance : instances) {
+                assertThat(instance.get(postId)).isEqualTo(count);
+            }
+            assertThat(counters(table, null).get(postId)).isEqualTo(count);
+        }
+    }
+
+    /**
+     * A failed flush leaves its changes to the next one, which writes them
+     * once.
+     */
+    @Example
+    void failedFlushIsRetriedOnce() {
+        Map<Long, Long> table = new HashMap<>(Map.of(1L, 10L));
+        AtomicBoolean failNext = new AtomicBoolean(true);
+        LikeCounters instance = counters(table, failNext);
+
+        assertThat(instance.get(1L)).isEqualTo(10L);
+        instance.onLikeChanged(new LikeChangedEvent(1L, 1L, 1));
+        instance.onLikeChanged(new LikeChangedEvent(1L, 2L, 1));
+
+        instance.flush();
+        assertThat(table).containsEntry(1L, 10L);
+        assertThat(instance.get(1L)).isEqualTo(12L);
+
+        instance.flush();
+        instance.flush();
+        assertThat(table).containsEntry(1L, 12L);
+        assertThat(instance.get(1L)).isEqualTo(12L);
+    }
+
+    // ========== Generators ==========
+
+    @Provide
+    Arbitrary<List<Step>> steps() {
+        return Combinators.combine(
+                        Arbitraries.integers().between(0, 1),
+                        Arbitraries.longs().between(1L, 5L),
+                        Arbitraries.of(1L, 1L, -1L),
+                        Arbitraries.frequency(Tuple.of(5, false), Tuple.of(1, true)))
+                .as(Step::new)
+                .list().ofMaxSize(100);
+    }
+
+    // ========== Helpers ==========
+
+    /**
+     * Counters over an in-memory post_like_counts table. While
+     * {@code failNext} is set, the next write fails and clears it.
+     */
+    private static LikeCounters counters(Map<Long, Long> table, AtomicBoolean failNext) {
+        PostLikeCountRepository repository = Mockito.mock(PostLikeCountRepository.class);
+        when(repository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> postIds = invocation.getArgument(0);
+            List<PostLikeCount> rows = new ArrayList<>();
+            for (Long postId : postIds) {
+                if (table.containsKey(postId)) {
+                    rows.add(new PostLikeCount(postId, table.get(postId), LocalDateTime.now()));
+                }
+            }
+            return rows;
+        });
+        doAnswer(invocation -> {
+            if (failNext != null && failNext.getAndSet(false)) {
+                throw new IllegalStateException("database unavailable");
+            }
+            Map<Long, Long> deltas = invocation.getArgument(0);
+            deltas.forEach((postId, delta) -> table.merge(postId, delta, Long::sum));
+            return null;
+        }).when(repository).addAll(anyMap());
+        return new LikeCounters(repository, 4, false);
+    }
+
+    record Step(int instance, long postId, long delta, boolean flush) {
+    }
+}
@@ -1,10 +1,14 @@
 package com.socialmedia.like.properties;
 
+import com.socialmedia.like.counter.LikeCounters;
 import com.socialmedia.like.dto.LikeCheckResponse;
 import com.socialmedia.like.dto.LikeCountResponse;
 import com.socialmedia.like.dto.LikeResponse;
 import com.socialmedia.like.entity.Like;
+import com.socialmedia.like.entity.PostLikeCount;
+import com.socialmedia.like.index.LikerIndex;
 import com.socialmedia.like.repository.LikeRepository;
+import com.socialmedia.like.repository.PostLikeCountRepository;
 import com.socialmedia.like.service.LikeService;
 import net.jqwik.api.*;
 import org.assertj.core.api.Assertions;
@@ -45,9 +49,20 @@ class LikeServicePropertiesTest {
     @Autowired
     private LikeRepository likeRepository;
 
+    @Autowired
+    private PostLikeCountRepository postLikeCountRepository;
+
+    @Autowired
+    private LikeCounters likeCounters;
+
+    @Autowired
+    private LikerIndex likerIndex;
+
     @BeforeEach
     void setUp() {
         likeRepository.deleteAll();
+        likeCounters.rebuild();
+        likerIndex.rebuild();
     }
 
     // Feature: social-media-backend, Property 48: Like creates record
@@ -149,6 +164,30 @@ class LikeServicePropertiesTest {
         Assertions.assertThat(dbCount).isEqualTo((long) userIds.size());
     }
 
+    // Like counts flushed from memory match the likes table
+    @Property(tries = 50)
+    @Label("flushedLikeCountShouldMatchLikes")
+    void flushedLikeCountShouldMatchLikes(
+            @ForAll("validPostId") Long postId,
+            @ForAll("userIdList") java.util.List<Long> userIds) {
+
+        // Given users like a post and the first of them unlikes it
+        for (Long userId : userIds) {
+            likeService.likePost(postId, userId);
+        }
+        likeService.unlikePost(postId, userIds.get(0));
+
+        // When the counters are flushed
+        likeCounters.flush();
+
+        // Then the stored count equals the likes in the database
+        long dbCount = likeRepository.countByPostId(postId);
+        Assertions.assertThat(postLikeCountRepository.findById(postId))
+                .map(PostLikeCount::getLikeCount)
+                .contains(dbCount);
+        Assertions.assertThat(likeService.getLikeCount(postId).getCount()).isEqualTo(dbCount);
+    }
+
     // Arbitraries for generating test data
 
     @Provide
@@ -0,0 +1,191 @@
+package com.socialmedia.like.properties;
+
+import com.socialmedia.like.event.LikeChangedEvent;
+import com.socialmedia.like.index.LikerIndex;
+import com.socialmedia.like.repository.LikeRepository;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+import org.mockito.Mockito;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+class LikerIndexPropertiesTest {
+
+    /**
+     * After any sequence of likes and unlikes, each post's bitmap holds
+     * exactly the users whose last change was a like: counts, pages walked
+     * to the end and intersections all agree with that set.
+     */
+    @Property(tries = 100)
+    void likersMatchLastChangePerUser(
+            @ForAll("changes") List<Change> changes,
+            @ForAll("userIds") List<Long> candidates,
+            @ForAll @IntRange(min = 1, max = 7) int pageSize) {
+
+        LikerIndex index = new LikerIndex(likesTable(List.of()), 4);
+        Map<Long, NavigableSet<Long>> expected = new HashMap<>();
+
+        for (Change change : changes) {
+            index.onLikeChanged(new LikeChangedEvent(change.postId(), change.userId(), change.liked() ? 1 : -1));
+            NavigableSet<Long> likers = expected.computeIfAbsent(change.postId(), id -> new TreeSet<>());
+            if (change.liked()) {
+                likers.add(change.userId());
+            } else {
+                likers.remove(change.userId());
+            }
+        }
+
+        for (long postId = 1; postId <= 3; postId++) {
+            NavigableSet<Long> likers = expected.getOrDefault(postId, new TreeSet<>());
+            assertThat(index.likerCount(postId)).isEqualTo(likers.size());
+            assertThat(allPages(index, postId, pageSize)).containsExactlyElementsOf(likers);
+            assertThat(index.likersAmong(postId, candidates))
+                    .containsExactlyElementsOf(candidates.stream().filter(likers::contains).distinct().sorted().toList());
+        }
+    }
+
+    /**
+     * Rebuilding replaces whatever the index held with the likes table,
+     * and pages start strictly after the given user.
+     */
+    @Example
+    void rebuildLoadsLikesTable() {
+        List<long[]> rows = new ArrayList<>(List.of(
+                new long[]{1, 30}, new long[]{1, 10}, new long[]{1, 20}, new long[]{2, Long.MAX_VALUE}));
+        LikerIndex index = new LikerIndex(likesTable(rows), 4);
+        index.onLikeChanged(new LikeChangedEvent(3L, 5L, 1));
+
+        index.rebuild();
+
+        assertThat(index.likerCount(3L)).isZero();
+        assertThat(index.likersAfter(1L, null, 10)).containsExactly(10L, 20L, 30L);
+        assertThat(index.likersAfter(1L, 10L, 10)).containsExactly(20L, 30L);
+        assertThat(index.likersAfter(1L, 15L, 1)).containsExactly(20L);
+        assertThat(index.likersAfter(2L, 1L, 10)).containsExactly(Long.MAX_VALUE);
+        assertThat(index.likersAfter(2L, Long.MAX_VALUE, 10)).isEmpty();
+        assertThat(index.likersAmong(1L, List.of(30L, 40L, 10L, 30L))).containsExactly(10L, 30L);
+
+        rows.clear();
+        index.rebuild();
+
+        assertThat(index.likerCount(1L)).isZero();
+        assertThat(index.likersAfter(1L, null, 10)).isEmpty();
+    }
+
+    /**
+     * A like published inside a transaction is invisible until that
+     * transaction commits, and one that rolls back never shows up.
+     */
+    @Example
+    void onlyCommittedChangesAreApplied() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(TransactionalEventListenerFactory.class);
+            context.registerBean(LikerIndex.class, () -> new LikerIndex(likesTable(List.of()), 4));
+            context.refresh();
+            LikerIndex index = context.getBean(LikerIndex.class);
+            TransactionTemplate transaction = new TransactionTemplate(new NoOpTransactionManager());
+
+            transaction.executeWithoutResult(status -> {
+                context.publishEvent(new LikeChangedEvent(1L, 10L, 1));
+                assertThat(index.likerCount(1L)).isZero();
+            });
+            assertThat(index.likersAfter(1L, null, 10)).containsExactly(10L);
+
+            transaction.executeWithoutResult(status -> {
+                context.publishEvent(new LikeChangedEvent(1L, 20L, 1));
+                context.publishEvent(new LikeChangedEvent(1L, 10L, -1));
+                status.setRollbackOnly();
+            });
+            assertThat(index.likersAfter(1L, null, 10)).containsExactly(10L);
+        }
+    }
+
+    // ========== Generators ==========
+
+    @Provide
+    Arbitrary<List<Change>> changes() {
+        Arbitrary<Long> postIds = Arbitraries.longs().between(1L, 3L);
+        return Combinators.combine(postIds, userId(), Arbitraries.of(true, true, false))
+                .as(Change::new)
+                .list().ofMaxSize(200);
+    }
+
+    @Provide
+    Arbitrary<List<Long>> userIds() {
+        return userId().list().ofMinSize(1).ofMaxSize(20);
+    }
+
+    private static Arbitrary<Long> userId() {
+        // Small IDs share a bitmap container; large ones cover the upper bits
+        return Arbitraries.frequencyOf(
+                Tuple.of(4, Arbitraries.longs().between(1L, 40L)),
+                Tuple.of(1, Arbitraries.longs().between(Long.MAX_VALUE - 5, Long.MAX_VALUE)),
+                Tuple.of(1, Arbitraries.longs().between(1L, Long.MAX_VALUE)));
+    }
+
+    // ========== Helpers ==========
+
+    /** A repository whose likes table is the given (post, user) rows. */
+    private static LikeRepository likesTable(List<long[]> rows) {
+        LikeRepository repository = Mockito.mock(LikeRepository.class);
+        doAnswer(invocation -> {
+            BiConsumer<Long, Long> action = invocation.getArgument(0);
+            rows.forEach(row -> action.accept(row[0], row[1]));
+            return null;
+        }).when(repository).forEachLike(any());
+        return repository;
+    }
+
+    private static List<Long> allPages(LikerIndex index, Long postId, int pageSize) {
+        List<Long> all = new ArrayList<>();
+        Long after = null;
+        while (true) {
+            List<Long> page = index.likersAfter(postId, after, pageSize);
+            all.addAll(page);
+            if (page.size() < pageSize) {
+                return all;
+            }
+            after = page.get(page.size() - 1);
+        }
+    }
+
+    record Change(long postId, long userId, boolean liked) {
+    }
+
+    /** Runs transaction synchronization without a resource behind it. */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
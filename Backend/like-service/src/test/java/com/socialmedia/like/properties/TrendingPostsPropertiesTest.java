@@ -0,0 +1,221 @@
+package com.socialmedia.like.properties;
+
+import com.socialmedia.like.dto.TrendingPost;
+import com.socialmedia.like.entity.LikeTrendBucket;
+import com.socialmedia.like.event.LikeChangedEvent;
+import com.socialmedia.like.repository.LikeTrendBucketRepository;
+import com.socialmedia.like.trending.TrendingPosts;
+import net.jqwik.api.*;
+import org.mockito.Mockito;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+class TrendingPostsPropertiesTest {
+
+    private static final Duration BUCKET = Duration.ofMinutes(5);
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final Duration QUARTER = Duration.ofMinutes(15);
+    private static final int TOP_K = 3;
+
+    /**
+     * The top posts of each window are those with the most net likes in the
+     * buckets it covers, however many posts are left out of the kept
+     * ranking, and once a bucket slides out its likes no longer count.
+     */
+    @Property(tries = 50)
+    void topPostsMatchLikesInsideEachWindow(@ForAll("steps") List<Step> steps) {
+        MutableClock clock = new MutableClock();
+        TrendingPosts trending = trending(repository(new HashMap<>()), clock);
+        trending.restore();
+        List<Change> changes = new ArrayList<>();
+
+        for (Step step : steps) {
+            clock.advance(Duration.ofMinutes(step.minutesLater()));
+            trending.onLikeChanged(new LikeChangedEvent(step.postId(), 1L, step.delta()));
+            changes.add(new Change(bucketAt(clock), step.postId(), step.delta()));
+
+            for (Duration window : List.of(QUARTER, HOUR)) {
+                assertThat(trending.top(window, TOP_K))
+                        .isEqualTo(expectedTop(changes, bucketAt(clock), window));
+            }
+        }
+    }
+
+    /**
+     * Likes leave a window one bucket at a time and are gone from every
+     * window once the longest has slid past them.
+     */
+    @Example
+    void likesExpireAsWindowsSlide() {
+        MutableClock clock = new MutableClock();
+        TrendingPosts trending = trending(repository(new HashMap<>()), clock);
+        trending.restore();
+
+        trending.onLikeChanged(new LikeChangedEvent(1L, 1L, 1));
+        clock.advance(Duration.ofMinutes(10));
+        trending.onLikeChanged(new LikeChangedEvent(2L, 1L, 1));
+        trending.onLikeChanged(new LikeChangedEvent(2L, 2L, 1));
+
+        assertThat(trending.top(QUARTER, TOP_K)).containsExactly(post(2L, 2), post(1L, 1));
+
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(trending.top(QUARTER, TOP_K)).containsExactly(post(2L, 2));
+        assertThat(trending.top(HOUR, TOP_K)).containsExactly(post(2L, 2), post(1L, 1));
+
+        clock.advance(Duration.ofMinutes(50));
+        assertThat(trending.top(HOUR, TOP_K)).containsExactly(post(2L, 2));
+
+        clock.advance(Duration.ofHours(2));
+        assertThat(trending.top(HOUR, TOP_K)).isEmpty();
+    }
+
+    /**
+     * A snapshot keeps only the buckets inside the longest window, and an
+     * instance restored from it ranks every window as the original did.
+     */
+    @Property(tries = 30)
+    void restoredWindowsMatchSnapshottedOnes(@ForAll("steps") List<Step> steps) {
+        MutableClock clock = new MutableClock();
+        Map<LikeTrendBucket.Key, Long> table = new HashMap<>();
+        LikeTrendBucketRepository repository = repository(table);
+        TrendingPosts trending = trending(repository, clock);
+        trending.restore();
+
+        for (Step step : steps) {
+            clock.advance(Duration.ofMinutes(step.minutesLater()));
+            trending.onLikeChanged(new LikeChangedEvent(step.postId(), 1L, step.delta()));
+        }
+        trending.snapshot();
+
+        long oldestRetained = bucketAt(clock) - HOUR.dividedBy(BUCKET) + 1;
+        assertThat(table.keySet()).allSatisfy(key -> assertThat(key.getBucket()).isGreaterThanOrEqualTo(oldestRetained));
+
+        TrendingPosts restored = trending(repository, clock);
+        restored.restore();
+
+        for (Duration window : List.of(QUARTER, HOUR)) {
+            assertThat(restored.top(window, TOP_K)).isEqualTo(trending.top(window, TOP_K));
+        }
+    }
+
+    // ========== Generators ==========
+
+    @Provide
+    Arbitrary<List<Step>> steps() {
+        Arbitrary<Long> postIds = Arbitraries.longs().between(1L, 20L);
+        Arbitrary<Long> deltas = Arbitraries.frequency(Tuple.of(3, 1L), Tuple.of(1, -1L));
+        Arbitrary<Integer> minutesLater = Arbitraries.frequencyOf(
+                Tuple.of(30, Arbitraries.integers().between(0, 4)),
+                Tuple.of(1, Arbitraries.just(70)));
+        return Combinators.combine(postIds, deltas, minutesLater).as(Step::new)
+                .list().ofMinSize(1).ofMaxSize(200);
+    }
+
+    // ========== Helpers ==========
+
+    private static TrendingPosts trending(LikeTrendBucketRepository repository, Clock clock) {
+        return TrendingPosts.builder()
+                .repository(repository)
+                .bucket(BUCKET)
+                .windows(List.of(QUARTER, HOUR))
+                .topK(TOP_K)
+                .clock(clock)
+                .build();
+    }
+
+    /** A repository over an in-memory like_trend_buckets table. */
+    private static LikeTrendBucketRepository repository(Map<LikeTrendBucket.Key, Long> table) {
+        LikeTrendBucketRepository repository = Mockito.mock(LikeTrendBucketRepository.class);
+        when(repository.findByBucketGreaterThan(anyLong())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return table.entrySet().stream()
+                    .filter(row -> row.getKey().getBucket() > after)
+                    .map(row -> new LikeTrendBucket(row.getKey().getBucket(), row.getKey().getPostId(), row.getValue()))
+                    .toList();
+        });
+        doAnswer(invocation -> {
+            long bucket = invocation.getArgument(0);
+            Map<Long, Long> likes = invocation.getArgument(1);
+            table.keySet().removeIf(key -> key.getBucket() == bucket);
+            likes.forEach((postId, count) -> table.put(new LikeTrendBucket.Key(bucket, postId), count));
+            return null;
+        }).when(repository).replaceBucket(anyLong(), anyMap());
+        when(repository.deleteUpTo(anyLong())).thenAnswer(invocation -> {
+            long upTo = invocation.getArgument(0);
+            int before = table.size();
+            table.keySet().removeIf(key -> key.getBucket() <= upTo);
+            return before - table.size();
+        });
+        return repository;
+    }
+
+    private static List<TrendingPost> expectedTop(List<Change> changes, long currentBucket, Duration window) {
+        long buckets = window.dividedBy(BUCKET);
+        Map<Long, Long> totals = new HashMap<>();
+        for (Change change : changes) {
+            if (change.bucket() > currentBucket - buckets) {
+                totals.merge(change.postId(), change.delta(), Long::sum);
+            }
+        }
+        return totals.entrySet().stream()
+                .filter(total -> total.getValue() > 0)
+                .sorted(Map.Entry.<Long, Long>comparingByValue()
+                        .thenComparing(Map.Entry.comparingByKey())
+                        .reversed())
+                .limit(TOP_K)
+                .map(total -> post(total.getKey(), total.getValue()))
+                .toList();
+    }
+
+    private static TrendingPost post(long postId, long likes) {
+        return TrendingPost.builder().postId(postId).likes(likes).build();
+    }
+
+    private static long bucketAt(Clock clock) {
+        return Math.floorDiv(clock.millis(), BUCKET.toMillis());
+    }
+
+    record Step(long postId, long delta, int minutesLater) {
+    }
+
+    private record Change(long bucket, long postId, long delta) {
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
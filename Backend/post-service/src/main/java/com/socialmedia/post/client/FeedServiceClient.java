@@ -0,0 +1,19 @@
+package com.socialmedia.post.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * Feign client for the feed-service internal timeline API.
+ * Used to push post lifecycle changes into followers' precomputed timelines.
+ */
+@FeignClient(name = "feed-service", url = "${services.feed-service.url:http://localhost:8087}")
+public interface FeedServiceClient {
+
+    @PostMapping("/internal/timeline/posts")
+    void postCreated(@RequestBody PostTimelineEvent event);
+
+    @PostMapping("/internal/timeline/posts/deleted")
+    void postDeleted(@RequestBody PostTimelineEvent event);
+}
@@ -0,0 +1,19 @@
+package com.socialmedia.post.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostTimelineEvent {
+
+    private Long postId;
+    private Long authorId;
+    private LocalDateTime createdAt;
+}
@@ -1,6 +1,9 @@
 package com.socialmedia.post.controller;
 
+import com.socialmedia.post.dto.AuthorPostsRequest;
+import com.socialmedia.post.dto.BatchPostRequest;
 import com.socialmedia.post.dto.CreatePostRequest;
+import com.socialmedia.post.dto.PostCursorResponse;
 import com.socialmedia.post.dto.PostListResponse;
 import com.socialmedia.post.dto.PostResponse;
 import com.socialmedia.post.dto.UpdatePostRequest;
@@ -16,6 +19,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/posts")
 @RequiredArgsConstructor
@@ -80,4 +85,24 @@ public class PostController {
         PostListResponse response = postService.getPostsByUserId(userId, pageable);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get posts by IDs", description = "Retrieve multiple posts by their IDs, skipping deleted or missing posts")
+    @ApiResponse(responseCode = "200", description = "Posts retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid request data")
+    public ResponseEntity<List<PostResponse>> getPostsByIds(@Valid @RequestBody BatchPostRequest request) {
+        List<PostResponse> response = postService.getPostsByIds(request.getPostIds());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/authors")
+    @Operation(summary = "Get recent posts by authors",
+            description = "Retrieve the newest posts across several authors, newest first. "
+                    + "Pass the returned nextCreatedAt/nextId back as beforeCreatedAt/beforeId for the next page")
+    @ApiResponse(responseCode = "200", description = "Posts retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid request data")
+    public ResponseEntity<PostCursorResponse> getRecentPostsByAuthors(@Valid @RequestBody AuthorPostsRequest request) {
+        PostCursorResponse response = postService.getRecentPostsByAuthors(request);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,46 @@
+package com.socialmedia.post.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Request for the newest posts across several authors. Without a cursor
+ * the first page is returned; with one, only posts strictly older than
+ * ({@code beforeCreatedAt}, {@code beforeId}) are.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthorPostsRequest {
+
+    @NotEmpty(message = "Author IDs list cannot be empty")
+    @Size(max = 5000, message = "At most 5000 author IDs can be requested at once")
+    private List<Long> authorIds;
+
+    @Min(value = 1, message = "Size must be at least 1")
+    @Max(value = 500, message = "Size must not exceed 500")
+    @Builder.Default
+    private int size = 20;
+
+    private LocalDateTime beforeCreatedAt;
+
+    private Long beforeId;
+
+    @AssertTrue(message = "beforeCreatedAt and beforeId must be given together")
+    @JsonIgnore
+    public boolean isCursorComplete() {
+        return (beforeCreatedAt == null) == (beforeId == null);
+    }
+}
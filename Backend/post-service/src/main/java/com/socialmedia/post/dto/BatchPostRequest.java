@@ -0,0 +1,21 @@
+package com.socialmedia.post.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchPostRequest {
+
+    @NotEmpty(message = "Post IDs list cannot be empty")
+    @Size(max = 500, message = "At most 500 post IDs can be requested at once")
+    private List<Long> postIds;
+}
@@ -0,0 +1,26 @@
+package com.socialmedia.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of posts in (createdAt, id) descending order. The next page is
+ * requested with {@code nextCreatedAt}/{@code nextId} as the cursor; both
+ * are null when there are no more posts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostCursorResponse {
+
+    private List<PostResponse> posts;
+    private LocalDateTime nextCreatedAt;
+    private Long nextId;
+    private boolean hasMore;
+}
@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+// The partial (user_id, created_at DESC, id DESC) index used by feed reads
+// is created in schema.sql, as JPA cannot declare partial indexes.
 @Entity
 @Table(name = "posts", indexes = {
     @Index(name = "idx_posts_user_id", columnList = "user_id"),
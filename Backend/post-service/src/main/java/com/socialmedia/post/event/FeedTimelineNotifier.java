@@ -0,0 +1,42 @@
+package com.socialmedia.post.event;
+
+import com.socialmedia.post.client.FeedServiceClient;
+import com.socialmedia.post.client.PostTimelineEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards committed post changes to feed-service so it can update
+ * followers' timelines. Delivery is best-effort: feed-service rebuilds
+ * stale timelines from post-service, so a missed event is not fatal.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeedTimelineNotifier {
+
+    private final FeedServiceClient feedServiceClient;
+
+    @Async
+    @TransactionalEventListener
+    public void onPostLifecycleEvent(PostLifecycleEvent event) {
+        PostTimelineEvent payload = PostTimelineEvent.builder()
+                .postId(event.getPostId())
+                .authorId(event.getAuthorId())
+                .createdAt(event.getCreatedAt())
+                .build();
+        try {
+            if (event.getType() == PostLifecycleEvent.Type.CREATED) {
+                feedServiceClient.postCreated(payload);
+            } else {
+                feedServiceClient.postDeleted(payload);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to notify feed-service of {} post {}: {}",
+                    event.getType(), event.getPostId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.socialmedia.post.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by PostService when a post is created or deleted.
+ * Delivered to listeners only after the surrounding transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class PostLifecycleEvent {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long postId;
+    private final Long authorId;
+    private final LocalDateTime createdAt;
+}
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +20,31 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     @Query("SELECT p FROM Post p WHERE p.userId = :userId AND p.deleted = false ORDER BY p.createdAt DESC")
     Page<Post> findByUserIdAndNotDeleted(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT p FROM Post p WHERE p.id IN :ids AND p.deleted = false")
+    List<Post> findAllByIdInAndNotDeleted(@Param("ids") List<Long> ids);
+
+    // Each author's newest posts are read from idx_posts_user_created_active
+    // (see schema.sql), at most :limit per author, and only those are merged.
+    // An IN list with the same ORDER BY would sort every live post of every
+    // author instead.
+    @Query(value = "SELECT p.* FROM (SELECT DISTINCT unnest(ARRAY[:userIds]) AS uid) a " +
+                   "CROSS JOIN LATERAL (SELECT * FROM posts " +
+                   "WHERE user_id = a.uid AND deleted = false " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit) p " +
+                   "ORDER BY p.created_at DESC, p.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Post> findRecentByUserIds(@Param("userIds") List<Long> userIds, @Param("limit") int limit);
+
+    @Query(value = "SELECT p.* FROM (SELECT DISTINCT unnest(ARRAY[:userIds]) AS uid) a " +
+                   "CROSS JOIN LATERAL (SELECT * FROM posts " +
+                   "WHERE user_id = a.uid AND deleted = false " +
+                   "AND (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit) p " +
+                   "ORDER BY p.created_at DESC, p.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Post> findRecentByUserIdsBefore(@Param("userIds") List<Long> userIds,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         @Param("limit") int limit);
 }
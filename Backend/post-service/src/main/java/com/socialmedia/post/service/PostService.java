@@ -1,15 +1,19 @@
 package com.socialmedia.post.service;
 
+import com.socialmedia.post.dto.AuthorPostsRequest;
 import com.socialmedia.post.dto.CreatePostRequest;
+import com.socialmedia.post.dto.PostCursorResponse;
 import com.socialmedia.post.dto.PostListResponse;
 import com.socialmedia.post.dto.PostResponse;
 import com.socialmedia.post.dto.UpdatePostRequest;
 import com.socialmedia.post.entity.Post;
+import com.socialmedia.post.event.PostLifecycleEvent;
 import com.socialmedia.post.exception.AuthorizationException;
 import com.socialmedia.post.exception.ResourceNotFoundException;
 import com.socialmedia.post.mapper.PostMapper;
 import com.socialmedia.post.repository.PostRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,6 +28,7 @@ public class PostService {
 
     private final PostRepository postRepository;
     private final PostMapper postMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public PostResponse createPost(CreatePostRequest request, Long userId) {
@@ -34,6 +39,8 @@ public class PostService {
 
         Post post = postMapper.toEntity(request, userId);
         Post savedPost = postRepository.save(post);
+        eventPublisher.publishEvent(new PostLifecycleEvent(PostLifecycleEvent.Type.CREATED,
+                savedPost.getId(), savedPost.getUserId(), savedPost.getCreatedAt()));
         return postMapper.toResponse(savedPost);
     }
 
@@ -65,6 +72,8 @@ public class PostService {
         // Soft delete: mark as deleted
         post.setDeleted(true);
         postRepository.save(post);
+        eventPublisher.publishEvent(new PostLifecycleEvent(PostLifecycleEvent.Type.DELETED,
+                post.getId(), post.getUserId(), post.getCreatedAt()));
     }
 
     @Transactional(readOnly = true)
@@ -74,6 +83,42 @@ public class PostService {
         return postMapper.toResponse(post);
     }
 
+    @Transactional(readOnly = true)
+    public List<PostResponse> getPostsByIds(List<Long> postIds) {
+        return postRepository.findAllByIdInAndNotDeleted(postIds).stream()
+                .map(postMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the newest posts across the given authors, resuming after the
+     * request's cursor if it has one. One extra row is read to tell whether
+     * another page exists, so no count query is needed.
+     */
+    @Transactional(readOnly = true)
+    public PostCursorResponse getRecentPostsByAuthors(AuthorPostsRequest request) {
+        int size = request.getSize();
+        int limit = size + 1;
+        List<Post> rows = request.getBeforeCreatedAt() == null
+                ? postRepository.findRecentByUserIds(request.getAuthorIds(), limit)
+                : postRepository.findRecentByUserIdsBefore(request.getAuthorIds(),
+                        request.getBeforeCreatedAt(), request.getBeforeId(), limit);
+
+        boolean hasMore = rows.size() > size;
+        List<PostResponse> posts = rows.stream()
+                .limit(size)
+                .map(postMapper::toResponse)
+                .collect(Collectors.toList());
+        PostResponse last = hasMore ? posts.get(posts.size() - 1) : null;
+
+        return PostCursorResponse.builder()
+                .posts(posts)
+                .nextCreatedAt(last != null ? last.getCreatedAt() : null)
+                .nextId(last != null ? last.getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public PostListResponse getPostsByUserId(Long userId, Pageable pageable) {
         Page<Post> postPage = postRepository.findByUserIdAndNotDeleted(userId, pageable);
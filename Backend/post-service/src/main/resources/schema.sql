@@ -0,0 +1,14 @@
+-- Runs after Hibernate has created or updated the tables
+-- (spring.jpa.defer-datasource-initialization), so only objects that
+-- JPA annotations cannot express belong here.
+
+-- Newest-first reads of one or more authors' live posts
+-- (PostRepository.findRecentByUserIds*, findByUserIdAndNotDeleted).
+-- Partial, so deleted rows never enter the index. Built CONCURRENTLY so
+-- the first start after an upgrade does not block writes to posts while it
+-- builds; later starts find it and skip. A build interrupted part-way
+-- leaves an INVALID index behind that IF NOT EXISTS will not replace: drop
+-- it by hand and restart.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_user_created_active
+    ON posts (user_id, created_at DESC, id DESC)
+    WHERE deleted = false;
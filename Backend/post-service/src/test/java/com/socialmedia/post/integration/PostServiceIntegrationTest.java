@@ -1,6 +1,8 @@
 package com.socialmedia.post.integration;
 
+import com.socialmedia.post.dto.AuthorPostsRequest;
 import com.socialmedia.post.dto.CreatePostRequest;
+import com.socialmedia.post.dto.PostCursorResponse;
 import com.socialmedia.post.dto.PostListResponse;
 import com.socialmedia.post.dto.PostResponse;
 import com.socialmedia.post.dto.UpdatePostRequest;
@@ -21,6 +23,9 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 @SpringBootTest
@@ -265,4 +270,60 @@ class PostServiceIntegrationTest {
         assertThat(response.getPosts().get(1).getId()).isEqualTo(post2.getId());
         assertThat(response.getPosts().get(2).getId()).isEqualTo(post1.getId());
     }
+
+    @Test
+    void shouldPageRecentPostsAcrossAuthorsWithCursor() throws InterruptedException {
+        // Given - interleaved posts by two followed authors and one other author
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            expectedIds.add(0, postService.createPost(
+                    CreatePostRequest.builder().content("Author 1 post " + i).build(), 1L).getId());
+            Thread.sleep(5);
+            postService.createPost(CreatePostRequest.builder().content("Other post " + i).build(), 3L);
+            Thread.sleep(5);
+            expectedIds.add(0, postService.createPost(
+                    CreatePostRequest.builder().content("Author 2 post " + i).build(), 2L).getId());
+            Thread.sleep(5);
+        }
+        Long deletedId = postService.createPost(CreatePostRequest.builder().content("Deleted").build(), 2L).getId();
+        postService.deletePost(deletedId, 2L);
+
+        // When - page through with a page size of 4
+        PostCursorResponse first = postService.getRecentPostsByAuthors(AuthorPostsRequest.builder()
+                .authorIds(List.of(1L, 2L))
+                .size(4)
+                .build());
+        PostCursorResponse second = postService.getRecentPostsByAuthors(AuthorPostsRequest.builder()
+                .authorIds(List.of(1L, 2L))
+                .size(4)
+                .beforeCreatedAt(first.getNextCreatedAt())
+                .beforeId(first.getNextId())
+                .build());
+
+        // Then - newest first, no deleted or foreign posts, no overlap
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getPosts()).extracting(PostResponse::getId)
+                .containsExactlyElementsOf(expectedIds.subList(0, 4));
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextId()).isNull();
+        assertThat(second.getPosts()).extracting(PostResponse::getId)
+                .containsExactlyElementsOf(expectedIds.subList(4, 6));
+    }
+
+    @Test
+    void shouldReturnEachPostOnceWhenAnAuthorIsListedTwice() {
+        // Given
+        Long older = postService.createPost(CreatePostRequest.builder().content("Older").build(), 1L).getId();
+        Long newer = postService.createPost(CreatePostRequest.builder().content("Newer").build(), 1L).getId();
+
+        // When
+        PostCursorResponse response = postService.getRecentPostsByAuthors(AuthorPostsRequest.builder()
+                .authorIds(List.of(1L, 1L))
+                .size(10)
+                .build());
+
+        // Then
+        assertThat(response.isHasMore()).isFalse();
+        assertThat(response.getPosts()).extracting(PostResponse::getId).containsExactly(newer, older);
+    }
 }
@@ -0,0 +1,45 @@
+package com.socialmedia.user.config;
+
+import com.socialmedia.user.exception.DeadlineExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Rejects requests that arrive after their caller's deadline.
+ *
+ * <p>api-gateway stamps each request with a {@value #DEADLINE_HEADER}
+ * header holding epoch milliseconds. Nobody is waiting for the answer to
+ * a request received after it, so it is refused with 504 instead of being
+ * run. A missing or malformed header sets no deadline.</p>
+ */
+@Configuration
+public class RequestDeadlineConfig implements WebMvcConfigurer {
+
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                String deadline = request.getHeader(DEADLINE_HEADER);
+                if (deadline != null && hasPassed(deadline)) {
+                    throw new DeadlineExceededException("Request deadline passed before it was handled");
+                }
+                return true;
+            }
+        });
+    }
+
+    private static boolean hasPassed(String deadline) {
+        try {
+            return Long.parseLong(deadline.trim()) <= System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.socialmedia.user.controller;
 
+import com.socialmedia.user.dto.BatchUserProfileRequest;
 import com.socialmedia.user.dto.UserProfileRequest;
 import com.socialmedia.user.dto.UserProfileResponse;
 import com.socialmedia.user.dto.UserSearchResponse;
@@ -14,6 +15,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -58,6 +61,18 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Get user profiles by user IDs", description = "Retrieve the profiles of multiple users in one request, skipping users without a profile")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Profiles retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid request data")
+    })
+    public ResponseEntity<List<UserProfileResponse>> getProfilesByUserIds(
+            @Valid @RequestBody BatchUserProfileRequest request) {
+        List<UserProfileResponse> response = userService.getProfilesByUserIds(request.getUserIds());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/me")
     @Operation(summary = "Get current user profile", description = "Retrieve the profile of the authenticated user")
     @ApiResponses(value = {
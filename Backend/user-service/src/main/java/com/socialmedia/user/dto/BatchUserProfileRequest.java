@@ -0,0 +1,24 @@
+package com.socialmedia.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Batch user profile lookup request")
+public class BatchUserProfileRequest {
+
+    @NotEmpty(message = "User IDs list cannot be empty")
+    @Size(max = 500, message = "At most 500 user IDs can be requested at once")
+    @Schema(description = "User IDs to look up", example = "[1, 2, 3]")
+    private List<Long> userIds;
+}
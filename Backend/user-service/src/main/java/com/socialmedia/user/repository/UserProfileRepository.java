@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,6 +16,9 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
 
     Optional<UserProfile> findByUserId(Long userId);
 
+    @Query("SELECT up FROM UserProfile up WHERE up.userId IN :userIds")
+    List<UserProfile> findAllByUserIdIn(@Param("userIds") List<Long> userIds);
+
     @Query("SELECT up FROM UserProfile up WHERE LOWER(up.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     Page<UserProfile> searchByName(@Param("name") String name, Pageable pageable);
 
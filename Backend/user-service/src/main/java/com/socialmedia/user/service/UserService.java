@@ -62,6 +62,13 @@ public class UserService {
         return userMapper.toResponse(profile);
     }
 
+    @Transactional(readOnly = true)
+    public List<UserProfileResponse> getProfilesByUserIds(List<Long> userIds) {
+        return userProfileRepository.findAllByUserIdIn(userIds).stream()
+                .map(userMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public UserProfileResponse getCurrentUserProfile(Long currentUserId) {
         return getProfileByUserId(currentUserId);
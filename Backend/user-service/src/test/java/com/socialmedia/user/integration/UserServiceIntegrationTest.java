@@ -1,6 +1,7 @@
 package com.socialmedia.user.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.socialmedia.user.dto.BatchUserProfileRequest;
 import com.socialmedia.user.dto.UserProfileRequest;
 import com.socialmedia.user.dto.UserProfileResponse;
 import com.socialmedia.user.repository.UserProfileRepository;
@@ -17,6 +18,8 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.List;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -225,6 +228,47 @@ class UserServiceIntegrationTest {
                 .andExpect(jsonPath("$.bio").value("This is me"));
     }
 
+    @Test
+    void shouldGetProfilesByUserIds() throws Exception {
+        // Given - Create profiles for two of three requested users
+        Long userId1 = 9L;
+        Long userId2 = 10L;
+        Long userIdWithoutProfile = 11L;
+
+        mockMvc.perform(post("/api/users")
+                .header("X-User-Id", userId1.toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        UserProfileRequest.builder().name("Batch One").build())))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/users")
+                .header("X-User-Id", userId2.toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        UserProfileRequest.builder().name("Batch Two").build())))
+                .andExpect(status().isCreated());
+
+        BatchUserProfileRequest request = BatchUserProfileRequest.builder()
+                .userIds(List.of(userId1, userId2, userIdWithoutProfile))
+                .build();
+
+        // When / Then - Only existing profiles are returned
+        mockMvc.perform(post("/api/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[?(@.userId == 9)].name").value("Batch One"))
+                .andExpect(jsonPath("$[?(@.userId == 10)].name").value("Batch Two"));
+
+        // Empty request is rejected
+        mockMvc.perform(post("/api/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BatchUserProfileRequest.builder().userIds(List.of()).build())))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldHandlePaginationCorrectly() throws Exception {
         // Given - Create 15 profiles